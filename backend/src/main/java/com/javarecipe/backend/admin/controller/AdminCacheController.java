@@ -0,0 +1,94 @@
+package com.javarecipe.backend.admin.controller;
+
+import com.javarecipe.backend.interaction.service.UserInteractionFilters;
+import com.javarecipe.backend.notification.service.UnreadNotificationCounter;
+import com.javarecipe.backend.recipe.service.RecipeDetailCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/caches")
+@PreAuthorize("hasRole('ROLE_ADMIN')")
+public class AdminCacheController {
+
+    private final RecipeDetailCache recipeDetailCache;
+    private final UserInteractionFilters userInteractionFilters;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    @Autowired
+    public AdminCacheController(RecipeDetailCache recipeDetailCache,
+                                UserInteractionFilters userInteractionFilters,
+                                UnreadNotificationCounter unreadNotificationCounter) {
+        this.recipeDetailCache = recipeDetailCache;
+        this.userInteractionFilters = userInteractionFilters;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+    }
+
+    /**
+     * Hit, miss and eviction statistics of the recipe detail cache
+     */
+    @GetMapping("/recipe-detail")
+    public ResponseEntity<Map<String, Object>> getRecipeDetailCacheStats() {
+        return ResponseEntity.ok(recipeDetailCache.getStats());
+    }
+
+    /**
+     * Drop every cached recipe detail view
+     */
+    @DeleteMapping("/recipe-detail")
+    public ResponseEntity<Map<String, String>> clearRecipeDetailCache() {
+        recipeDetailCache.invalidateAll();
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Recipe detail cache cleared");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Users held by the like/favorite Bloom filters and the memory they use
+     */
+    @GetMapping("/interaction-filters")
+    public ResponseEntity<Map<String, Object>> getInteractionFilterStats() {
+        return ResponseEntity.ok(userInteractionFilters.getStats());
+    }
+
+    /**
+     * Size and fill of one user's like/favorite Bloom filters
+     */
+    @GetMapping("/interaction-filters/users/{userId}")
+    public ResponseEntity<?> getUserInteractionFilterStats(@PathVariable Long userId) {
+        return userInteractionFilters.getUserStats(userId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    Map<String, String> response = new HashMap<>();
+                    response.put("message", "No filters held for user " + userId);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                });
+    }
+
+    /**
+     * Users held by the unread notification counter and its hit rate
+     */
+    @GetMapping("/unread-notifications")
+    public ResponseEntity<Map<String, Object>> getUnreadNotificationCounterStats() {
+        return ResponseEntity.ok(unreadNotificationCounter.getStats());
+    }
+
+    /**
+     * Drop every cached unread count, so they are recounted on next use
+     */
+    @DeleteMapping("/unread-notifications")
+    public ResponseEntity<Map<String, String>> clearUnreadNotificationCounter() {
+        unreadNotificationCounter.invalidateAll();
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Unread notification counts cleared");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,109 @@
+package com.javarecipe.backend.admin.controller;
+
+import com.javarecipe.backend.admin.dto.IngredientSynonymDTO;
+import com.javarecipe.backend.admin.dto.IngredientSynonymRequest;
+import com.javarecipe.backend.admin.service.AdminIngredientSynonymService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/ingredient-synonyms")
+@PreAuthorize("hasRole('ROLE_ADMIN')")
+public class AdminIngredientSynonymController {
+
+    private final AdminIngredientSynonymService adminIngredientSynonymService;
+
+    @Autowired
+    public AdminIngredientSynonymController(AdminIngredientSynonymService adminIngredientSynonymService) {
+        this.adminIngredientSynonymService = adminIngredientSynonymService;
+    }
+
+    /**
+     * Get all ingredient synonyms
+     */
+    @GetMapping
+    public ResponseEntity<List<IngredientSynonymDTO>> getAllSynonyms() {
+        return ResponseEntity.ok(adminIngredientSynonymService.getAllSynonyms());
+    }
+
+    /**
+     * Create new ingredient synonym
+     */
+    @PostMapping
+    public ResponseEntity<?> createSynonym(@Valid @RequestBody IngredientSynonymRequest synonymRequest) {
+        try {
+            IngredientSynonymDTO createdSynonym = adminIngredientSynonymService.createSynonym(synonymRequest);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Ingredient synonym created successfully");
+            response.put("synonym", createdSynonym);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Failed to create ingredient synonym: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Update existing ingredient synonym
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateSynonym(@PathVariable Long id,
+                                           @Valid @RequestBody IngredientSynonymRequest synonymRequest) {
+        try {
+            IngredientSynonymDTO updatedSynonym = adminIngredientSynonymService.updateSynonym(id, synonymRequest);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Ingredient synonym updated successfully");
+            response.put("synonym", updatedSynonym);
+
+            return ResponseEntity.ok(response);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Failed to update ingredient synonym: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Delete ingredient synonym
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteSynonym(@PathVariable Long id) {
+        try {
+            adminIngredientSynonymService.deleteSynonym(id);
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Ingredient synonym deleted successfully");
+
+            return ResponseEntity.ok(response);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Failed to delete ingredient synonym: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.javarecipe.backend.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngredientSynonymDTO {
+    private Long id;
+    private String variant;
+    private String canonicalName;
+}
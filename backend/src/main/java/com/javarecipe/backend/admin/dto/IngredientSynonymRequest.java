@@ -0,0 +1,21 @@
+package com.javarecipe.backend.admin.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngredientSynonymRequest {
+
+    @NotBlank(message = "Variant is required")
+    @Size(max = 100, message = "Variant cannot exceed 100 characters")
+    private String variant;
+
+    @NotBlank(message = "Canonical name is required")
+    @Size(max = 100, message = "Canonical name cannot exceed 100 characters")
+    private String canonicalName;
+}
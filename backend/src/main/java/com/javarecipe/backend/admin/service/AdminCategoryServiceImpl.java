@@ -11,7 +11,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,15 +29,17 @@ public class AdminCategoryServiceImpl implements AdminCategoryService {
 
     @Override
     public Page<CategoryDTO> getAllCategories(Pageable pageable) {
+        Map<Long, Long> recipeCounts = countRecipesPerCategory();
         return categoryRepository.findAll(pageable)
-                .map(this::convertToDTO);
+                .map(category -> convertToDTO(category, recipeCounts));
     }
 
     @Override
     public List<CategoryDTO> getAllCategories() {
+        Map<Long, Long> recipeCounts = countRecipesPerCategory();
         return categoryRepository.findAll()
                 .stream()
-                .map(this::convertToDTO)
+                .map(category -> convertToDTO(category, recipeCounts))
                 .collect(Collectors.toList());
     }
 
@@ -111,4 +115,22 @@ public class AdminCategoryServiceImpl implements AdminCategoryService {
                 .recipeCount(category.getRecipes() != null ? category.getRecipes().size() : 0)
                 .build();
     }
+
+    // Lists take recipe counts from one grouped query instead of loading every category's recipes
+    private CategoryDTO convertToDTO(Category category, Map<Long, Long> recipeCounts) {
+        return CategoryDTO.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .recipeCount(recipeCounts.getOrDefault(category.getId(), 0L).intValue())
+                .build();
+    }
+
+    private Map<Long, Long> countRecipesPerCategory() {
+        Map<Long, Long> recipeCounts = new HashMap<>();
+        for (Object[] row : categoryRepository.countRecipesPerCategory()) {
+            recipeCounts.put((Long) row[0], (Long) row[1]);
+        }
+        return recipeCounts;
+    }
 }
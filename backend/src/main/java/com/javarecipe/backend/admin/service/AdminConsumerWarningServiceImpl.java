@@ -11,7 +11,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,15 +28,17 @@ public class AdminConsumerWarningServiceImpl implements AdminConsumerWarningServ
 
     @Override
     public Page<ConsumerWarningDTO> getAllConsumerWarnings(Pageable pageable) {
+        Map<Long, Long> recipeCounts = countRecipesPerConsumerWarning();
         return consumerWarningRepository.findAll(pageable)
-                .map(this::convertToDTO);
+                .map(warning -> convertToDTO(warning, recipeCounts));
     }
 
     @Override
     public List<ConsumerWarningDTO> getAllConsumerWarnings() {
+        Map<Long, Long> recipeCounts = countRecipesPerConsumerWarning();
         return consumerWarningRepository.findAll()
                 .stream()
-                .map(this::convertToDTO)
+                .map(warning -> convertToDTO(warning, recipeCounts))
                 .collect(Collectors.toList());
     }
 
@@ -110,4 +114,22 @@ public class AdminConsumerWarningServiceImpl implements AdminConsumerWarningServ
                 .recipeCount(warning.getRecipes() != null ? warning.getRecipes().size() : 0)
                 .build();
     }
+
+    // Lists take recipe counts from one grouped query instead of loading every warning's recipes
+    private ConsumerWarningDTO convertToDTO(ConsumerWarning warning, Map<Long, Long> recipeCounts) {
+        return ConsumerWarningDTO.builder()
+                .id(warning.getId())
+                .name(warning.getName())
+                .description(warning.getDescription())
+                .recipeCount(recipeCounts.getOrDefault(warning.getId(), 0L).intValue())
+                .build();
+    }
+
+    private Map<Long, Long> countRecipesPerConsumerWarning() {
+        Map<Long, Long> recipeCounts = new HashMap<>();
+        for (Object[] row : consumerWarningRepository.countRecipesPerConsumerWarning()) {
+            recipeCounts.put((Long) row[0], (Long) row[1]);
+        }
+        return recipeCounts;
+    }
 }
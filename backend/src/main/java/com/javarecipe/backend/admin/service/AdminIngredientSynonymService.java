@@ -0,0 +1,29 @@
+package com.javarecipe.backend.admin.service;
+
+import com.javarecipe.backend.admin.dto.IngredientSynonymDTO;
+import com.javarecipe.backend.admin.dto.IngredientSynonymRequest;
+
+import java.util.List;
+
+public interface AdminIngredientSynonymService {
+
+    /**
+     * Get all ingredient synonyms
+     */
+    List<IngredientSynonymDTO> getAllSynonyms();
+
+    /**
+     * Create a synonym and re-canonicalize existing ingredients
+     */
+    IngredientSynonymDTO createSynonym(IngredientSynonymRequest synonymRequest);
+
+    /**
+     * Update a synonym and re-canonicalize existing ingredients
+     */
+    IngredientSynonymDTO updateSynonym(Long id, IngredientSynonymRequest synonymRequest);
+
+    /**
+     * Delete a synonym and re-canonicalize existing ingredients
+     */
+    void deleteSynonym(Long id);
+}
@@ -0,0 +1,157 @@
+package com.javarecipe.backend.admin.service;
+
+import com.javarecipe.backend.admin.dto.IngredientSynonymDTO;
+import com.javarecipe.backend.admin.dto.IngredientSynonymRequest;
+import com.javarecipe.backend.recipe.entity.IngredientSynonym;
+import com.javarecipe.backend.recipe.repository.IngredientSynonymRepository;
+import com.javarecipe.backend.recipe.service.IngredientCanonicalizer;
+import com.javarecipe.backend.recipe.service.RecipeIngredientIndex;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.javarecipe.backend.common.service.TransactionHooks.afterCommit;
+
+@Service
+public class AdminIngredientSynonymServiceImpl implements AdminIngredientSynonymService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminIngredientSynonymServiceImpl.class);
+
+    private final IngredientSynonymRepository ingredientSynonymRepository;
+    private final IngredientCanonicalizer ingredientCanonicalizer;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+
+    @Autowired
+    public AdminIngredientSynonymServiceImpl(IngredientSynonymRepository ingredientSynonymRepository,
+                                             IngredientCanonicalizer ingredientCanonicalizer,
+                                             RecipeIngredientIndex recipeIngredientIndex) {
+        this.ingredientSynonymRepository = ingredientSynonymRepository;
+        this.ingredientCanonicalizer = ingredientCanonicalizer;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+    }
+
+    @Override
+    public List<IngredientSynonymDTO> getAllSynonyms() {
+        return ingredientSynonymRepository.findAll(Sort.by("variant"))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public IngredientSynonymDTO createSynonym(IngredientSynonymRequest synonymRequest) {
+        String variant = foldOrReject(synonymRequest.getVariant());
+        String canonicalName = foldOrReject(synonymRequest.getCanonicalName());
+        validate(null, variant, canonicalName);
+
+        if (ingredientSynonymRepository.existsByVariant(variant)) {
+            throw new IllegalArgumentException("Synonym for '" + variant + "' already exists");
+        }
+
+        IngredientSynonym synonym = IngredientSynonym.builder()
+                .variant(variant)
+                .canonicalName(canonicalName)
+                .build();
+
+        IngredientSynonym savedSynonym = ingredientSynonymRepository.save(synonym);
+        // Ingredients of a variant without a synonym are stored under the variant itself
+        applySynonymChanges(Map.of(variant, variant));
+        return convertToDTO(savedSynonym);
+    }
+
+    @Override
+    @Transactional
+    public IngredientSynonymDTO updateSynonym(Long id, IngredientSynonymRequest synonymRequest) {
+        IngredientSynonym existingSynonym = ingredientSynonymRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Ingredient synonym not found with id: " + id));
+
+        String variant = foldOrReject(synonymRequest.getVariant());
+        String canonicalName = foldOrReject(synonymRequest.getCanonicalName());
+        validate(id, variant, canonicalName);
+
+        if (!existingSynonym.getVariant().equals(variant) && ingredientSynonymRepository.existsByVariant(variant)) {
+            throw new IllegalArgumentException("Synonym for '" + variant + "' already exists");
+        }
+
+        Map<String, String> previousCanonicalNames = new HashMap<>();
+        previousCanonicalNames.put(variant, variant);
+        previousCanonicalNames.put(existingSynonym.getVariant(), existingSynonym.getCanonicalName());
+
+        existingSynonym.setVariant(variant);
+        existingSynonym.setCanonicalName(canonicalName);
+
+        IngredientSynonym updatedSynonym = ingredientSynonymRepository.save(existingSynonym);
+        applySynonymChanges(previousCanonicalNames);
+        return convertToDTO(updatedSynonym);
+    }
+
+    @Override
+    @Transactional
+    public void deleteSynonym(Long id) {
+        IngredientSynonym synonym = ingredientSynonymRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Ingredient synonym not found with id: " + id));
+
+        ingredientSynonymRepository.delete(synonym);
+        applySynonymChanges(Map.of(synonym.getVariant(), synonym.getCanonicalName()));
+    }
+
+    private String foldOrReject(String name) {
+        String folded = ingredientCanonicalizer.fold(name);
+        if (folded == null) {
+            throw new IllegalArgumentException("Ingredient name must contain letters or digits");
+        }
+        return folded;
+    }
+
+    // Synonyms are resolved in a single lookup, so chains (a -> b -> c) and cycles (a -> b -> a) are rejected
+    private void validate(Long id, String variant, String canonicalName) {
+        if (variant.equals(canonicalName)) {
+            throw new IllegalArgumentException("Variant and canonical name are the same: '" + variant + "'");
+        }
+
+        ingredientSynonymRepository.findByVariant(canonicalName)
+                .filter(synonym -> !synonym.getId().equals(id))
+                .ifPresent(synonym -> {
+                    throw new IllegalArgumentException("'" + canonicalName + "' is itself a synonym of '"
+                            + synonym.getCanonicalName() + "'");
+                });
+
+        boolean usedAsCanonicalName = ingredientSynonymRepository.findByCanonicalName(variant).stream()
+                .anyMatch(synonym -> !synonym.getId().equals(id));
+        if (usedAsCanonicalName) {
+            throw new IllegalArgumentException("'" + variant + "' is the canonical name of other synonyms");
+        }
+    }
+
+    // Stored canonical names depend on the synonym table, so recompute the affected ones and
+    // re-index the recipes using them. Deferred until the synonym change has committed, so a
+    // rollback leaves both untouched.
+    private void applySynonymChanges(Map<String, String> previousCanonicalNames) {
+        afterCommit(() -> {
+            Set<Long> recipeIds = ingredientCanonicalizer.recanonicalize(previousCanonicalNames);
+            for (Long recipeId : recipeIds) {
+                recipeIngredientIndex.refreshRecipe(recipeId);
+            }
+            logger.info("Ingredient synonyms changed, ingredients of {} recipes re-canonicalized", recipeIds.size());
+        });
+    }
+
+    private IngredientSynonymDTO convertToDTO(IngredientSynonym synonym) {
+        return IngredientSynonymDTO.builder()
+                .id(synonym.getId())
+                .variant(synonym.getVariant())
+                .canonicalName(synonym.getCanonicalName())
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.javarecipe.backend.comment.dto.CommentDTO;
 import com.javarecipe.backend.comment.dto.CommentRequest;
 import com.javarecipe.backend.comment.entity.Comment;
 import com.javarecipe.backend.comment.service.CommentService;
+import com.javarecipe.backend.interaction.service.InteractionCounters;
 import com.javarecipe.backend.user.entity.User;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
@@ -27,10 +28,12 @@ import java.util.stream.Collectors;
 public class CommentController {
 
     private final CommentService commentService;
+    private final InteractionCounters interactionCounters;
 
     @Autowired
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, InteractionCounters interactionCounters) {
         this.commentService = commentService;
+        this.interactionCounters = interactionCounters;
     }
 
     @PostMapping
@@ -214,7 +217,7 @@ public class CommentController {
                 .username(comment.getUser().getUsername())
                 .userAvatarUrl(comment.getUser().getAvatarUrl())
                 .recipeId(comment.getRecipe().getId())
-                .likeCount(comment.getLikeCount())
+                .likeCount((int) interactionCounters.commentLikeCount(comment.getId(), comment.getLikeCount()))
                 .createdAt(comment.getCreatedAt())
                 .updatedAt(comment.getUpdatedAt())
                 .build();
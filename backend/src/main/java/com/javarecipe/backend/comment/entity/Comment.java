@@ -44,7 +44,8 @@ public class Comment {
     @OneToMany(mappedBy = "parentComment", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> replies = new ArrayList<>();
 
-    @Column(name = "like_count", nullable = false)
+    // Adjusted by write-behind relative updates only, so comment edits don't write back a stale count
+    @Column(name = "like_count", nullable = false, updatable = false)
     private Integer likeCount;
 
     @CreationTimestamp
@@ -6,10 +6,12 @@ import com.javarecipe.backend.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,6 +28,20 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     long countByRecipe(Recipe recipe);
 
+    // Rows are (commentId, recipeId, recipeTitle)
+    @Query("SELECT c.id, r.id, r.title FROM Comment c JOIN c.recipe r WHERE c.id IN :commentIds")
+    List<Object[]> findRecipeTitlesByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+
+    // Rows are (id, likeCount), keyset-paged by id
+    @Query("SELECT c.id, c.likeCount FROM Comment c WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findLikeCountsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    boolean existsByLikeCountGreaterThan(int likeCount);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.likeCount = :likeCount WHERE c.id = :commentId")
+    int setLikeCount(@Param("commentId") Long commentId, @Param("likeCount") int likeCount);
+
     // Admin user management methods
     long countByUser(User user);
 }
\ No newline at end of file
@@ -2,7 +2,8 @@ package com.javarecipe.backend.comment.service;
 
 import com.javarecipe.backend.comment.entity.Comment;
 import com.javarecipe.backend.comment.repository.CommentRepository;
-import com.javarecipe.backend.notification.service.NotificationService;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.notification.service.NotificationOutbox;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
 import com.javarecipe.backend.user.entity.User;
@@ -25,17 +26,17 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final RecipeRepository recipeRepository;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
+    private final NotificationOutbox notificationOutbox;
 
     @Autowired
     public CommentServiceImpl(CommentRepository commentRepository,
                               RecipeRepository recipeRepository,
                               UserRepository userRepository,
-                              NotificationService notificationService) {
+                              NotificationOutbox notificationOutbox) {
         this.commentRepository = commentRepository;
         this.recipeRepository = recipeRepository;
         this.userRepository = userRepository;
-        this.notificationService = notificationService;
+        this.notificationOutbox = notificationOutbox;
     }
 
     @Override
@@ -56,7 +57,7 @@ public class CommentServiceImpl implements CommentService {
         Comment savedComment = commentRepository.save(comment);
 
         // Create notification for recipe owner
-        notificationService.createRecipeCommentNotification(recipeId, userId);
+        notificationOutbox.enqueue(NotificationType.RECIPE_COMMENT, recipeId, userId);
 
         return savedComment;
     }
@@ -80,7 +81,7 @@ public class CommentServiceImpl implements CommentService {
         Comment savedReply = commentRepository.save(reply);
 
         // Create notification for parent comment owner
-        notificationService.createCommentReplyNotification(parentCommentId, userId);
+        notificationOutbox.enqueue(NotificationType.COMMENT_REPLY, parentCommentId, userId);
 
         return savedReply;
     }
@@ -0,0 +1,36 @@
+package com.javarecipe.backend.common.config;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+/**
+ * Gives the Hibernate second-level cache a JCache manager of its own per application context.
+ * <p>
+ * The provider hands out one shared manager per URI and class loader, and the region factory
+ * closes its manager when the context shuts down, so a context that stopped (or failed to start)
+ * would close the cache under every other context in the same JVM. The manager is created here
+ * instead of through the provider, so it is never shared. The region settings still come from
+ * application.conf.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        return new CacheManagerImpl(provider, false, provider.getDefaultURI(),
+                provider.getDefaultClassLoader(), provider.getDefaultProperties());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+}
@@ -0,0 +1,12 @@
+package com.javarecipe.backend.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs such as the recipe view count flush
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,106 @@
+package com.javarecipe.backend.common.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped in-memory counter per row id whose deltas are written as one JDBC batch
+ * of relative updates. The update statement takes the delta as its first parameter
+ * and the row id as its second, e.g. {@code UPDATE t SET c = c + ? WHERE id = ?}.
+ * Deltas not yet flushed are lost if the process dies.
+ * <p>
+ * Adds never take a lock: the adder is looked up and incremented outside any map
+ * function. A flush may drop an idle adder while an add is landing on it, so both
+ * sides move whatever they find on a dropped adder back onto the mapped one;
+ * {@link LongAdder#sumThenReset()} hands each delta to exactly one of them.
+ */
+public class WriteBehindCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindCounter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+    private final String incrementSql;
+    private final String name;
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public WriteBehindCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              String incrementSql, String name) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.incrementSql = incrementSql;
+        this.name = name;
+    }
+
+    public void add(Long id, long delta) {
+        LongAdder adder = pending.get(id);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(id, key -> new LongAdder());
+        }
+        adder.add(delta);
+        if (pending.get(id) != adder) {
+            // Dropped by a flush meanwhile; move the delta unless the flush already did
+            reAdd(id, adder);
+        }
+    }
+
+    /**
+     * Delta recorded for a row but not yet written to the database
+     */
+    public long getPending(Long id) {
+        LongAdder adder = pending.get(id);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Write the pending deltas to the database in one transaction
+     * @return number of rows updated
+     */
+    public synchronized int flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                batch.add(new Object[]{delta, entry.getKey()});
+            } else if (pending.remove(entry.getKey(), adder)) {
+                // Idle since the last flush; dropped so the map only holds recently changed rows
+                reAdd(entry.getKey(), adder);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            // All or nothing, so putting the whole batch back on failure never counts a row twice
+            flushTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(incrementSql, batch));
+        } catch (RuntimeException e) {
+            // Rolled back; put the deltas back so the next flush retries them
+            for (Object[] row : batch) {
+                add((Long) row[1], (Long) row[0]);
+            }
+            logger.warn("Failed to flush {} for {} rows, will retry", name, batch.size(), e);
+            return 0;
+        }
+        return batch.size();
+    }
+
+    private void reAdd(Long id, LongAdder dropped) {
+        long late = dropped.sumThenReset();
+        if (late != 0) {
+            add(id, late);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.javarecipe.backend.interaction.controller;
 
 import com.javarecipe.backend.interaction.service.FavoriteService;
-import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
 import com.javarecipe.backend.user.entity.User;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -87,7 +87,7 @@ public class FavoriteController {
                     Sort.Direction.ASC : Sort.Direction.DESC;
             
             Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-            Page<Recipe> favorites = favoriteService.getFavoriteRecipes(currentUser.getId(), pageable);
+            Page<RecipeCardDTO> favorites = favoriteService.getFavoriteRecipes(currentUser.getId(), pageable);
             
             Map<String, Object> response = new HashMap<>();
             response.put("favorites", favorites.getContent());
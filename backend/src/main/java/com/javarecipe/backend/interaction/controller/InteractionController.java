@@ -0,0 +1,49 @@
+package com.javarecipe.backend.interaction.controller;
+
+import com.javarecipe.backend.interaction.dto.RecipeInteractionStateDTO;
+import com.javarecipe.backend.interaction.service.InteractionStateService;
+import com.javarecipe.backend.user.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/interactions")
+public class InteractionController {
+
+    private final InteractionStateService interactionStateService;
+
+    @Autowired
+    public InteractionController(InteractionStateService interactionStateService) {
+        this.interactionStateService = interactionStateService;
+    }
+
+    /**
+     * Liked/favorited flags, like/favorite counts and the user's rating for a page of recipe cards,
+     * e.g. GET /api/interactions/recipes?ids=1,2,3
+     */
+    @GetMapping("/recipes")
+    public ResponseEntity<?> getRecipeInteractionStates(
+            @RequestParam List<Long> ids,
+            @AuthenticationPrincipal User currentUser) {
+
+        try {
+            List<RecipeInteractionStateDTO> states =
+                    interactionStateService.getRecipeInteractionStates(currentUser.getId(), ids);
+            return ResponseEntity.ok(states);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Failed to load interaction states: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.javarecipe.backend.interaction.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeInteractionStateDTO {
+    private Long recipeId;
+    private boolean liked;
+    private boolean favorited;
+    private long likeCount;
+    private long favoriteCount;
+    private Integer userRating; // null if the user has not reviewed the recipe
+}
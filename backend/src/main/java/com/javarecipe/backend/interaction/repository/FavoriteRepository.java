@@ -1,7 +1,9 @@
 package com.javarecipe.backend.interaction.repository;
 
 import com.javarecipe.backend.interaction.entity.Favorite;
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
 import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
 import com.javarecipe.backend.user.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +12,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,15 +22,30 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     Optional<Favorite> findByUserAndRecipe(User user, Recipe recipe);
     
     boolean existsByUserAndRecipe(User user, Recipe recipe);
+
+    boolean existsByUserIdAndRecipeId(Long userId, Long recipeId);
+
+    @Query("SELECT f.recipe.id FROM Favorite f WHERE f.user.id = :userId")
+    List<Long> findFavoritedRecipeIdsByUserId(@Param("userId") Long userId);
     
     long countByRecipe(Recipe recipe);
+
+    @Query("SELECT f.recipe.id FROM Favorite f WHERE f.user.id = :userId AND f.recipe.id IN :recipeIds")
+    List<Long> findFavoritedRecipeIds(@Param("userId") Long userId, @Param("recipeIds") Collection<Long> recipeIds);
+
+    // Rows are (recipeId, count), used to reconcile the favorite counters on recipes
+    @Query("SELECT f.recipe.id, COUNT(f) FROM Favorite f WHERE f.recipe.id IN :recipeIds GROUP BY f.recipe.id")
+    List<Object[]> countFavoritesPerRecipe(@Param("recipeIds") Collection<Long> recipeIds);
+
+    boolean existsByRecipeIsNotNull();
     
     void deleteByUserAndRecipe(User user, Recipe recipe);
     
     Page<Favorite> findByUser(User user, Pageable pageable);
     
-    @Query("SELECT f.recipe FROM Favorite f WHERE f.user.id = :userId")
-    Page<Recipe> findFavoriteRecipesByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query(value = RecipeRepository.CARD_SELECT + "FROM Favorite f JOIN f.recipe r JOIN r.user u WHERE f.user.id = :userId",
+           countQuery = "SELECT COUNT(f) FROM Favorite f WHERE f.user.id = :userId")
+    Page<RecipeCardDTO> findFavoriteRecipeCardsByUserId(@Param("userId") Long userId, Pageable pageable);
 
     // Admin user management methods
     long countByUser(User user);
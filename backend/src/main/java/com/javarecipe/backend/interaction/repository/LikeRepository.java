@@ -5,8 +5,12 @@ import com.javarecipe.backend.interaction.entity.Like;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,10 +23,30 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     boolean existsByUserAndRecipe(User user, Recipe recipe);
     
     boolean existsByUserAndComment(User user, Comment comment);
+
+    boolean existsByUserIdAndRecipeId(Long userId, Long recipeId);
+
+    @Query("SELECT l.recipe.id FROM Like l WHERE l.user.id = :userId AND l.recipe IS NOT NULL")
+    List<Long> findLikedRecipeIdsByUserId(@Param("userId") Long userId);
     
     long countByRecipe(Recipe recipe);
     
     long countByComment(Comment comment);
+
+    @Query("SELECT l.recipe.id FROM Like l WHERE l.user.id = :userId AND l.recipe.id IN :recipeIds")
+    List<Long> findLikedRecipeIds(@Param("userId") Long userId, @Param("recipeIds") Collection<Long> recipeIds);
+
+    // Rows are (recipeId, count), used to reconcile the like counters on recipes
+    @Query("SELECT l.recipe.id, COUNT(l) FROM Like l WHERE l.recipe.id IN :recipeIds GROUP BY l.recipe.id")
+    List<Object[]> countLikesPerRecipe(@Param("recipeIds") Collection<Long> recipeIds);
+
+    // Rows are (commentId, count), used to reconcile the like counters on comments
+    @Query("SELECT l.comment.id, COUNT(l) FROM Like l WHERE l.comment.id IN :commentIds GROUP BY l.comment.id")
+    List<Object[]> countLikesPerComment(@Param("commentIds") Collection<Long> commentIds);
+
+    boolean existsByRecipeIsNotNull();
+
+    boolean existsByCommentIsNotNull();
     
     void deleteByUserAndRecipe(User user, Recipe recipe);
 
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,15 +27,18 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     
     long countByRecipe(Recipe recipe);
     
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.recipe = :recipe")
-    Double findAverageRatingByRecipe(@Param("recipe") Recipe recipe);
-    
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.recipe.id = :recipeId")
-    Double findAverageRatingByRecipeId(@Param("recipeId") Long recipeId);
+    // Rows are (recipeId, rating) of the user's reviews among the given recipes
+    @Query("SELECT r.recipe.id, r.rating FROM Review r WHERE r.user.id = :userId AND r.recipe.id IN :recipeIds")
+    List<Object[]> findRatingsByUserIdAndRecipeIds(@Param("userId") Long userId, @Param("recipeIds") Collection<Long> recipeIds);
 
     @Query("SELECT r.rating, COUNT(r) FROM Review r WHERE r.recipe.id = :recipeId GROUP BY r.rating ORDER BY r.rating")
     List<Object[]> findRatingDistributionByRecipeId(@Param("recipeId") Long recipeId);
 
+    // Rows are (recipeId, rating, count), used to reconcile the running aggregates on recipes
+    @Query("SELECT r.recipe.id, r.rating, COUNT(r) FROM Review r WHERE r.recipe.id IN :recipeIds " +
+           "GROUP BY r.recipe.id, r.rating")
+    List<Object[]> countReviewsPerRecipeAndRating(@Param("recipeIds") Collection<Long> recipeIds);
+
     // Admin user management methods
     long countByUser(User user);
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package com.javarecipe.backend.interaction.service;
 
-import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -33,7 +33,7 @@ public interface FavoriteService {
      * Get all favorite recipes for a user with pagination
      * @param userId User ID
      * @param pageable Pagination information
-     * @return Page of Recipe objects
+     * @return Page of recipe cards
      */
-    Page<Recipe> getFavoriteRecipes(Long userId, Pageable pageable);
+    Page<RecipeCardDTO> getFavoriteRecipes(Long userId, Pageable pageable);
 } 
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.javarecipe.backend.interaction.service;
 
 import com.javarecipe.backend.interaction.entity.Favorite;
 import com.javarecipe.backend.interaction.repository.FavoriteRepository;
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
 import com.javarecipe.backend.user.entity.User;
@@ -21,14 +22,20 @@ public class FavoriteServiceImpl implements FavoriteService {
     private final FavoriteRepository favoriteRepository;
     private final UserRepository userRepository;
     private final RecipeRepository recipeRepository;
+    private final InteractionCounters interactionCounters;
+    private final UserInteractionFilters userInteractionFilters;
 
     @Autowired
     public FavoriteServiceImpl(FavoriteRepository favoriteRepository,
                               UserRepository userRepository,
-                              RecipeRepository recipeRepository) {
+                              RecipeRepository recipeRepository,
+                              InteractionCounters interactionCounters,
+                              UserInteractionFilters userInteractionFilters) {
         this.favoriteRepository = favoriteRepository;
         this.userRepository = userRepository;
         this.recipeRepository = recipeRepository;
+        this.interactionCounters = interactionCounters;
+        this.userInteractionFilters = userInteractionFilters;
     }
 
     @Override
@@ -45,6 +52,7 @@ public class FavoriteServiceImpl implements FavoriteService {
         if (existingFavorite.isPresent()) {
             // Remove from favorites
             favoriteRepository.delete(existingFavorite.get());
+            interactionCounters.addRecipeFavorite(recipeId, -1);
             return false;
         } else {
             // Add to favorites
@@ -53,34 +61,34 @@ public class FavoriteServiceImpl implements FavoriteService {
                     .recipe(recipe)
                     .build();
             favoriteRepository.save(newFavorite);
+            interactionCounters.addRecipeFavorite(recipeId, 1);
+            userInteractionFilters.recordFavorite(userId, recipeId);
             return true;
         }
     }
 
     @Override
     public boolean isRecipeFavorited(Long userId, Long recipeId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-        
-        Recipe recipe = recipeRepository.findById(recipeId)
-                .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + recipeId));
-        
-        return favoriteRepository.existsByUserAndRecipe(user, recipe);
+        // Most recipes were not favorited by the user; the filter answers those without a query
+        if (!userInteractionFilters.mightHaveFavorited(userId, recipeId)) {
+            return false;
+        }
+        return favoriteRepository.existsByUserIdAndRecipeId(userId, recipeId);
     }
 
     @Override
     public long countRecipeFavorites(Long recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
+        Integer storedCount = recipeRepository.findFavoriteCountById(recipeId)
                 .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + recipeId));
         
-        return favoriteRepository.countByRecipe(recipe);
+        return interactionCounters.recipeFavoriteCount(recipeId, storedCount);
     }
 
     @Override
-    public Page<Recipe> getFavoriteRecipes(Long userId, Pageable pageable) {
+    public Page<RecipeCardDTO> getFavoriteRecipes(Long userId, Pageable pageable) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
         
-        return favoriteRepository.findFavoriteRecipesByUserId(userId, pageable);
+        return favoriteRepository.findFavoriteRecipeCardsByUserId(userId, pageable);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.comment.repository.CommentRepository;
+import com.javarecipe.backend.interaction.repository.FavoriteRepository;
+import com.javarecipe.backend.interaction.repository.LikeRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Periodically compares the like and favorite counters stored on recipes and
+ * comments with the like and favorite rows, and overwrites the ones that drifted
+ * (e.g. deltas lost in a crash). On startup it only runs while no counter has ever
+ * been filled, i.e. once, to backfill rows written before the counters existed.
+ * <p>
+ * Recipes and comments are walked in id order in small chunks, each in its own short
+ * transaction with flushes paused. A drifted row is set to its row count minus the
+ * delta still pending in memory, so the next flush brings it to the row count rather
+ * than on top of it. The run is handed to a thread of its own, like the notification
+ * purge, so it never holds the shared scheduler thread.
+ */
+@Component
+public class InteractionCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionCountReconciler.class);
+
+    private final LikeRepository likeRepository;
+    private final FavoriteRepository favoriteRepository;
+    private final RecipeRepository recipeRepository;
+    private final CommentRepository commentRepository;
+    private final InteractionCounters interactionCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("interaction-count-reconcile").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public InteractionCountReconciler(LikeRepository likeRepository,
+                                      FavoriteRepository favoriteRepository,
+                                      RecipeRepository recipeRepository,
+                                      CommentRepository commentRepository,
+                                      InteractionCounters interactionCounters,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${recipe.interaction-count.reconcile-chunk-size:500}") int chunkSize) {
+        this.likeRepository = likeRepository;
+        this.favoriteRepository = favoriteRepository;
+        this.recipeRepository = recipeRepository;
+        this.commentRepository = commentRepository;
+        this.interactionCounters = interactionCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnce() {
+        if (needsBackfill()) {
+            logger.info("Like and favorite counters were never filled, backfilling them");
+            startReconcile();
+        }
+    }
+
+    @Scheduled(cron = "${recipe.interaction-count.reconcile-cron:0 45 3 * * *}")
+    public void scheduleReconcile() {
+        startReconcile();
+    }
+
+    /**
+     * Whether likes or favorites exist but no recipe or comment counter was ever filled
+     */
+    boolean needsBackfill() {
+        boolean hasInteractions = likeRepository.existsByRecipeIsNotNull()
+                || likeRepository.existsByCommentIsNotNull()
+                || favoriteRepository.existsByRecipeIsNotNull();
+        return hasInteractions
+                && !recipeRepository.existsByLikeCountGreaterThanOrFavoriteCountGreaterThan(0, 0)
+                && !commentRepository.existsByLikeCountGreaterThan(0);
+    }
+
+    /**
+     * Start a reconcile on the job's own thread, unless one is still running
+     * @return whether a reconcile was started
+     */
+    boolean startReconcile() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Previous counter reconcile still running, skipping this run");
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    reconcile();
+                } catch (RuntimeException e) {
+                    logger.error("Counter reconcile failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            running.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Correct the drifted recipe and comment counters, on the calling thread
+     * @return number of recipes and comments corrected
+     */
+    public synchronized int reconcile() {
+        int corrected = reconcileRecipes() + reconcileComments();
+        if (corrected > 0) {
+            logger.info("Reconciled like and favorite counters of {} recipes and comments", corrected);
+        }
+        return corrected;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int reconcileRecipes() {
+        int corrected = 0;
+        long afterId = 0;
+        while (true) {
+            long chunkAfterId = afterId;
+            ChunkResult chunk = inChunkTransaction(() -> {
+                List<Object[]> rows = recipeRepository.findInteractionCountsAfter(
+                        chunkAfterId, PageRequest.of(0, chunkSize));
+                List<Long> ids = ids(rows);
+                if (ids.isEmpty()) {
+                    return new ChunkResult(0, 0, 0);
+                }
+                Map<Long, Long> likes = toCounts(likeRepository.countLikesPerRecipe(ids));
+                Map<Long, Long> favorites = toCounts(favoriteRepository.countFavoritesPerRecipe(ids));
+
+                int fixed = 0;
+                for (Object[] row : rows) {
+                    Long recipeId = (Long) row[0];
+                    long expectedLikes = likes.getOrDefault(recipeId, 0L)
+                            - interactionCounters.pendingRecipeLikes(recipeId);
+                    long expectedFavorites = favorites.getOrDefault(recipeId, 0L)
+                            - interactionCounters.pendingRecipeFavorites(recipeId);
+                    if (toLong(row[1]) != expectedLikes || toLong(row[2]) != expectedFavorites) {
+                        recipeRepository.setInteractionCounts(recipeId, (int) expectedLikes, (int) expectedFavorites);
+                        fixed++;
+                    }
+                }
+                return new ChunkResult(rows.size(), ids.get(ids.size() - 1), fixed);
+            });
+
+            corrected += chunk.corrected();
+            if (chunk.size() < chunkSize) {
+                return corrected;
+            }
+            afterId = chunk.lastId();
+        }
+    }
+
+    private int reconcileComments() {
+        int corrected = 0;
+        long afterId = 0;
+        while (true) {
+            long chunkAfterId = afterId;
+            ChunkResult chunk = inChunkTransaction(() -> {
+                List<Object[]> rows = commentRepository.findLikeCountsAfter(chunkAfterId, PageRequest.of(0, chunkSize));
+                List<Long> ids = ids(rows);
+                if (ids.isEmpty()) {
+                    return new ChunkResult(0, 0, 0);
+                }
+                Map<Long, Long> likes = toCounts(likeRepository.countLikesPerComment(ids));
+
+                int fixed = 0;
+                for (Object[] row : rows) {
+                    Long commentId = (Long) row[0];
+                    long expectedLikes = likes.getOrDefault(commentId, 0L)
+                            - interactionCounters.pendingCommentLikes(commentId);
+                    if (toLong(row[1]) != expectedLikes) {
+                        commentRepository.setLikeCount(commentId, (int) expectedLikes);
+                        fixed++;
+                    }
+                }
+                return new ChunkResult(rows.size(), ids.get(ids.size() - 1), fixed);
+            });
+
+            corrected += chunk.corrected();
+            if (chunk.size() < chunkSize) {
+                return corrected;
+            }
+            afterId = chunk.lastId();
+        }
+    }
+
+    // Flushes stay paused until the chunk commits, so no flushed delta lands between the read and the write
+    private ChunkResult inChunkTransaction(Supplier<ChunkResult> chunk) {
+        return interactionCounters.withFlushesPaused(() -> transactionTemplate.execute(status -> chunk.get()));
+    }
+
+    private static List<Long> ids(List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        return ids;
+    }
+
+    private static Map<Long, Long> toCounts(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private record ChunkResult(int size, long lastId, int corrected) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.common.service.WriteBehindCounter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static com.javarecipe.backend.common.service.TransactionHooks.afterCommit;
+
+/**
+ * Write-behind like and favorite counters. Toggles add +1/-1 to a striped in-memory
+ * counter once their transaction commits, and the deltas are periodically flushed
+ * as relative updates of {@code recipes.like_count}, {@code recipes.favorite_count}
+ * and {@code comments.like_count}. The current count of a row is its stored column
+ * plus the pending delta, so no request has to count the like or favorite rows.
+ */
+@Component
+public class InteractionCounters {
+
+    static final String RECIPE_LIKE_SQL = "UPDATE recipes SET like_count = like_count + ? WHERE id = ?";
+    static final String RECIPE_FAVORITE_SQL = "UPDATE recipes SET favorite_count = favorite_count + ? WHERE id = ?";
+    static final String COMMENT_LIKE_SQL = "UPDATE comments SET like_count = like_count + ? WHERE id = ?";
+
+    private final WriteBehindCounter recipeLikes;
+    private final WriteBehindCounter recipeFavorites;
+    private final WriteBehindCounter commentLikes;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Autowired
+    public InteractionCounters(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.recipeLikes = new WriteBehindCounter(jdbcTemplate, transactionManager,
+                RECIPE_LIKE_SQL, "recipe like counts");
+        this.recipeFavorites = new WriteBehindCounter(jdbcTemplate, transactionManager,
+                RECIPE_FAVORITE_SQL, "recipe favorite counts");
+        this.commentLikes = new WriteBehindCounter(jdbcTemplate, transactionManager,
+                COMMENT_LIKE_SQL, "comment like counts");
+    }
+
+    public void addRecipeLike(Long recipeId, int delta) {
+        afterCommit(() -> recipeLikes.add(recipeId, delta));
+    }
+
+    public void addRecipeFavorite(Long recipeId, int delta) {
+        afterCommit(() -> recipeFavorites.add(recipeId, delta));
+    }
+
+    public void addCommentLike(Long commentId, int delta) {
+        afterCommit(() -> commentLikes.add(commentId, delta));
+    }
+
+    /**
+     * Like count of a recipe given its stored like_count column
+     */
+    public long recipeLikeCount(Long recipeId, long storedCount) {
+        return Math.max(0, storedCount + recipeLikes.getPending(recipeId));
+    }
+
+    /**
+     * Favorite count of a recipe given its stored favorite_count column
+     */
+    public long recipeFavoriteCount(Long recipeId, long storedCount) {
+        return Math.max(0, storedCount + recipeFavorites.getPending(recipeId));
+    }
+
+    /**
+     * Like count of a comment given its stored like_count column
+     */
+    public long commentLikeCount(Long commentId, long storedCount) {
+        return Math.max(0, storedCount + commentLikes.getPending(commentId));
+    }
+
+    /**
+     * Like delta of a recipe not yet written to its like_count column
+     */
+    public long pendingRecipeLikes(Long recipeId) {
+        return recipeLikes.getPending(recipeId);
+    }
+
+    /**
+     * Favorite delta of a recipe not yet written to its favorite_count column
+     */
+    public long pendingRecipeFavorites(Long recipeId) {
+        return recipeFavorites.getPending(recipeId);
+    }
+
+    /**
+     * Like delta of a comment not yet written to its like_count column
+     */
+    public long pendingCommentLikes(Long commentId) {
+        return commentLikes.getPending(commentId);
+    }
+
+    /**
+     * Write the pending deltas to the database, unless flushes are paused.
+     * A paused round is skipped rather than waited for, so the scheduler thread never blocks here.
+     * @return number of rows updated
+     */
+    @Scheduled(fixedDelayString = "${recipe.interaction-count.flush-interval-ms:5000}")
+    public int flush() {
+        if (!flushLock.tryLock()) {
+            return 0;
+        }
+        try {
+            return flushAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Run an action while no flush is in progress or can start, so the stored columns
+     * and the pending deltas it reads stay consistent with each other
+     */
+    public <T> T withFlushesPaused(Supplier<T> action) {
+        flushLock.lock();
+        try {
+            return action.get();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        withFlushesPaused(this::flushAll);
+    }
+
+    private int flushAll() {
+        return recipeLikes.flush() + recipeFavorites.flush() + commentLikes.flush();
+    }
+}
@@ -0,0 +1,16 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.interaction.dto.RecipeInteractionStateDTO;
+
+import java.util.List;
+
+public interface InteractionStateService {
+
+    /**
+     * Like, favorite and rating state of many recipes for one user, as used to render a recipe grid
+     * @param userId User ID
+     * @param recipeIds Recipe IDs, at most {@link InteractionStateServiceImpl#MAX_RECIPE_IDS}
+     * @return one entry per existing recipe, in the order the ids were given
+     */
+    List<RecipeInteractionStateDTO> getRecipeInteractionStates(Long userId, List<Long> recipeIds);
+}
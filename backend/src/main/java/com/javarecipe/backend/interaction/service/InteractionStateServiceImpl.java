@@ -0,0 +1,83 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.interaction.dto.RecipeInteractionStateDTO;
+import com.javarecipe.backend.interaction.repository.FavoriteRepository;
+import com.javarecipe.backend.interaction.repository.LikeRepository;
+import com.javarecipe.backend.interaction.repository.ReviewRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+@Service
+public class InteractionStateServiceImpl implements InteractionStateService {
+
+    public static final int MAX_RECIPE_IDS = 100;
+
+    private final RecipeRepository recipeRepository;
+    private final LikeRepository likeRepository;
+    private final FavoriteRepository favoriteRepository;
+    private final ReviewRepository reviewRepository;
+    private final InteractionCounters interactionCounters;
+
+    @Autowired
+    public InteractionStateServiceImpl(RecipeRepository recipeRepository,
+                                       LikeRepository likeRepository,
+                                       FavoriteRepository favoriteRepository,
+                                       ReviewRepository reviewRepository,
+                                       InteractionCounters interactionCounters) {
+        this.recipeRepository = recipeRepository;
+        this.likeRepository = likeRepository;
+        this.favoriteRepository = favoriteRepository;
+        this.reviewRepository = reviewRepository;
+        this.interactionCounters = interactionCounters;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeInteractionStateDTO> getRecipeInteractionStates(Long userId, List<Long> recipeIds) {
+        Set<Long> ids = new LinkedHashSet<>(recipeIds);
+        ids.remove(null);
+        if (ids.size() > MAX_RECIPE_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_RECIPE_IDS + " recipe ids can be requested at once");
+        }
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Four IN-list queries for the whole grid, whatever its size
+        Map<Long, Object[]> counts = new HashMap<>();
+        for (Object[] row : recipeRepository.findInteractionCountsByIds(ids)) {
+            counts.put((Long) row[0], row);
+        }
+        Set<Long> liked = new HashSet<>(likeRepository.findLikedRecipeIds(userId, ids));
+        Set<Long> favorited = new HashSet<>(favoriteRepository.findFavoritedRecipeIds(userId, ids));
+        Map<Long, Integer> ratings = new HashMap<>();
+        for (Object[] row : reviewRepository.findRatingsByUserIdAndRecipeIds(userId, ids)) {
+            ratings.put((Long) row[0], (Integer) row[1]);
+        }
+
+        List<RecipeInteractionStateDTO> states = new ArrayList<>(counts.size());
+        for (Long recipeId : ids) {
+            Object[] row = counts.get(recipeId);
+            if (row == null) {
+                continue;
+            }
+            states.add(RecipeInteractionStateDTO.builder()
+                    .recipeId(recipeId)
+                    .liked(liked.contains(recipeId))
+                    .favorited(favorited.contains(recipeId))
+                    .likeCount(interactionCounters.recipeLikeCount(recipeId, toLong(row[1])))
+                    .favoriteCount(interactionCounters.recipeFavoriteCount(recipeId, toLong(row[2])))
+                    .userRating(ratings.get(recipeId))
+                    .build());
+        }
+        return states;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -4,7 +4,8 @@ import com.javarecipe.backend.comment.entity.Comment;
 import com.javarecipe.backend.comment.repository.CommentRepository;
 import com.javarecipe.backend.interaction.entity.Like;
 import com.javarecipe.backend.interaction.repository.LikeRepository;
-import com.javarecipe.backend.notification.service.NotificationService;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.notification.service.NotificationOutbox;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
 import com.javarecipe.backend.user.entity.User;
@@ -23,19 +24,25 @@ public class LikeServiceImpl implements LikeService {
     private final UserRepository userRepository;
     private final RecipeRepository recipeRepository;
     private final CommentRepository commentRepository;
-    private final NotificationService notificationService;
+    private final NotificationOutbox notificationOutbox;
+    private final InteractionCounters interactionCounters;
+    private final UserInteractionFilters userInteractionFilters;
 
     @Autowired
     public LikeServiceImpl(LikeRepository likeRepository,
                            UserRepository userRepository,
                            RecipeRepository recipeRepository,
                            CommentRepository commentRepository,
-                           NotificationService notificationService) {
+                           NotificationOutbox notificationOutbox,
+                           InteractionCounters interactionCounters,
+                           UserInteractionFilters userInteractionFilters) {
         this.likeRepository = likeRepository;
         this.userRepository = userRepository;
         this.recipeRepository = recipeRepository;
         this.commentRepository = commentRepository;
-        this.notificationService = notificationService;
+        this.notificationOutbox = notificationOutbox;
+        this.interactionCounters = interactionCounters;
+        this.userInteractionFilters = userInteractionFilters;
     }
 
     @Override
@@ -52,6 +59,7 @@ public class LikeServiceImpl implements LikeService {
         if (existingLike.isPresent()) {
             // Unlike - remove the like
             likeRepository.delete(existingLike.get());
+            interactionCounters.addRecipeLike(recipeId, -1);
             return false;
         } else {
             // Like - create new like
@@ -59,9 +67,11 @@ public class LikeServiceImpl implements LikeService {
             newLike.setUser(user);
             newLike.setRecipe(recipe);
             likeRepository.save(newLike);
+            interactionCounters.addRecipeLike(recipeId, 1);
+            userInteractionFilters.recordLike(userId, recipeId);
 
             // Create notification for recipe owner
-            notificationService.createRecipeLikeNotification(recipeId, userId);
+            notificationOutbox.enqueue(NotificationType.RECIPE_LIKE, recipeId, userId);
 
             return true;
         }
@@ -81,11 +91,7 @@ public class LikeServiceImpl implements LikeService {
         if (existingLike.isPresent()) {
             // Unlike - remove the like
             likeRepository.delete(existingLike.get());
-            
-            // Update comment like count
-            comment.setLikeCount(comment.getLikeCount() - 1);
-            commentRepository.save(comment);
-            
+            interactionCounters.addCommentLike(commentId, -1);
             return false;
         } else {
             // Like - create new like
@@ -93,13 +99,10 @@ public class LikeServiceImpl implements LikeService {
             newLike.setUser(user);
             newLike.setComment(comment);
             likeRepository.save(newLike);
-
-            // Update comment like count
-            comment.setLikeCount(comment.getLikeCount() + 1);
-            commentRepository.save(comment);
+            interactionCounters.addCommentLike(commentId, 1);
 
             // Create notification for comment owner
-            notificationService.createCommentLikeNotification(commentId, userId);
+            notificationOutbox.enqueue(NotificationType.COMMENT_LIKE, commentId, userId);
 
             return true;
         }
@@ -107,13 +110,11 @@ public class LikeServiceImpl implements LikeService {
 
     @Override
     public boolean hasUserLikedRecipe(Long userId, Long recipeId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-        
-        Recipe recipe = recipeRepository.findById(recipeId)
-                .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + recipeId));
-        
-        return likeRepository.existsByUserAndRecipe(user, recipe);
+        // Most recipes were not liked by the user; the filter answers those without a query
+        if (!userInteractionFilters.mightHaveLiked(userId, recipeId)) {
+            return false;
+        }
+        return likeRepository.existsByUserIdAndRecipeId(userId, recipeId);
     }
 
     @Override
@@ -129,10 +130,10 @@ public class LikeServiceImpl implements LikeService {
 
     @Override
     public long countRecipeLikes(Long recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
+        Integer storedCount = recipeRepository.findLikeCountById(recipeId)
                 .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + recipeId));
         
-        return likeRepository.countByRecipe(recipe);
+        return interactionCounters.recipeLikeCount(recipeId, storedCount);
     }
 
     @Override
@@ -140,6 +141,6 @@ public class LikeServiceImpl implements LikeService {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new EntityNotFoundException("Comment not found with id: " + commentId));
         
-        return likeRepository.countByComment(comment);
+        return interactionCounters.commentLikeCount(commentId, comment.getLikeCount());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.javarecipe.backend.interaction.service;
+
+import java.util.Arrays;
+
+/**
+ * Number of reviews per star rating (1 to 5) of one recipe, from which the review
+ * count, rating sum and average follow. Also used for deltas, where counts may be negative.
+ */
+public final class RatingHistogram {
+
+    public static final int MAX_RATING = 5;
+
+    private final long[] counts = new long[MAX_RATING];
+
+    public static RatingHistogram of(long oneStar, long twoStar, long threeStar, long fourStar, long fiveStar) {
+        RatingHistogram histogram = new RatingHistogram();
+        histogram.counts[0] = oneStar;
+        histogram.counts[1] = twoStar;
+        histogram.counts[2] = threeStar;
+        histogram.counts[3] = fourStar;
+        histogram.counts[4] = fiveStar;
+        return histogram;
+    }
+
+    /**
+     * Add {@code delta} reviews with the given rating; ratings outside 1..5 are ignored
+     */
+    public RatingHistogram add(Integer rating, long delta) {
+        if (rating != null && rating >= 1 && rating <= MAX_RATING) {
+            counts[rating - 1] += delta;
+        }
+        return this;
+    }
+
+    public long get(int rating) {
+        return counts[rating - 1];
+    }
+
+    public long count() {
+        long count = 0;
+        for (long c : counts) {
+            count += c;
+        }
+        return count;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < MAX_RATING; i++) {
+            sum += counts[i] * (i + 1);
+        }
+        return sum;
+    }
+
+    /**
+     * Average rating, or null without reviews
+     */
+    public Double average() {
+        long count = count();
+        return count > 0 ? (double) sum() / count : null;
+    }
+
+    /**
+     * Counts per rating as ints, index 0 holding the one-star count
+     */
+    public Integer[] toDistribution() {
+        Integer[] distribution = new Integer[MAX_RATING];
+        for (int i = 0; i < MAX_RATING; i++) {
+            distribution[i] = (int) counts[i];
+        }
+        return distribution;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RatingHistogram other && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(counts);
+    }
+}
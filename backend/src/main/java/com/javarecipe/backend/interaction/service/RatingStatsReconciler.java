@@ -0,0 +1,176 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.interaction.repository.ReviewRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodically compares the running rating aggregates stored on recipes with the
+ * reviews themselves and recomputes the recipes that drifted (e.g. rows written
+ * before the aggregates existed, or manual data fixes). On startup it only runs while
+ * some recipe's star counts do not add up to its review count, which backfills the
+ * histogram columns once after they were added.
+ * <p>
+ * Recipes are walked in id order in small chunks. Each drifted recipe is recomputed
+ * in a short transaction of its own that locks the recipe row before reading its
+ * reviews, so a review committing meanwhile is never overwritten by a stale snapshot.
+ * The run is handed to a thread of its own, like the notification purge.
+ */
+@Component
+public class RatingStatsReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingStatsReconciler.class);
+
+    private final ReviewRepository reviewRepository;
+    private final RecipeRepository recipeRepository;
+    private final ReviewService reviewService;
+    private final TransactionTemplate recomputeTransaction;
+    private final int chunkSize;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("rating-stats-reconcile").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public RatingStatsReconciler(ReviewRepository reviewRepository,
+                                 RecipeRepository recipeRepository,
+                                 ReviewService reviewService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${recipe.rating.reconcile-chunk-size:500}") int chunkSize) {
+        this.reviewRepository = reviewRepository;
+        this.recipeRepository = recipeRepository;
+        this.reviewService = reviewService;
+        this.recomputeTransaction = new TransactionTemplate(transactionManager);
+        this.recomputeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnce() {
+        if (needsBackfill()) {
+            logger.info("Rating histograms do not match the review counts, backfilling them");
+            startReconcile();
+        }
+    }
+
+    @Scheduled(cron = "${recipe.rating.reconcile-cron:0 30 3 * * *}")
+    public void scheduleReconcile() {
+        startReconcile();
+    }
+
+    /**
+     * Whether some recipe's star counts do not add up to its review count
+     */
+    boolean needsBackfill() {
+        return recipeRepository.existsRatingStatsOutOfSync();
+    }
+
+    /**
+     * Start a reconcile on the job's own thread, unless one is still running
+     * @return whether a reconcile was started
+     */
+    boolean startReconcile() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Previous rating reconcile still running, skipping this run");
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    reconcile();
+                } catch (RuntimeException e) {
+                    logger.error("Rating reconcile failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            running.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Two grouped reads per chunk, then one locked recompute per drifted recipe, on the calling thread
+     * @return number of recipes corrected
+     */
+    public synchronized int reconcile() {
+        int corrected = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = recipeRepository.findRatingStatsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                ids.add((Long) row[0]);
+            }
+
+            Map<Long, RatingHistogram> actual = new HashMap<>();
+            for (Object[] row : reviewRepository.countReviewsPerRecipeAndRating(ids)) {
+                actual.computeIfAbsent((Long) row[0], id -> new RatingHistogram())
+                        .add((Integer) row[1], (Long) row[2]);
+            }
+
+            for (Object[] row : rows) {
+                Long recipeId = (Long) row[0];
+                RatingHistogram expected = actual.getOrDefault(recipeId, new RatingHistogram());
+                RatingHistogram stored = RatingHistogram.of(
+                        toLong(row[3]), toLong(row[4]), toLong(row[5]), toLong(row[6]), toLong(row[7]));
+
+                if (!stored.equals(expected) || toLong(row[1]) != expected.count() || toLong(row[2]) != expected.sum()) {
+                    try {
+                        recomputeTransaction.executeWithoutResult(
+                                status -> reviewService.updateRecipeRatingStats(recipeId));
+                        corrected++;
+                    } catch (EntityNotFoundException e) {
+                        // Deleted since the chunk was read
+                    }
+                }
+            }
+
+            if (rows.size() < chunkSize) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        if (corrected > 0) {
+            logger.info("Reconciled rating aggregates of {} recipes", corrected);
+        }
+        return corrected;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,107 @@
+package com.javarecipe.backend.interaction.service;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over recipe ids. {@link #mightContain} never returns false for an
+ * added id; it returns true for an absent id with roughly the false positive rate
+ * the filter was sized for, as long as no more than {@link #getCapacity()} ids are added.
+ * Ids cannot be removed. Safe for concurrent adds and lookups.
+ */
+public class RecipeIdBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private final AtomicInteger added = new AtomicInteger();
+
+    public RecipeIdBloomFilter(int capacity, double falsePositiveRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * LN2));
+        this.capacity = capacity;
+    }
+
+    /**
+     * A filter sized for the given ids plus as many again, holding the given ids
+     */
+    public static RecipeIdBloomFilter of(Collection<Long> recipeIds, int minimumCapacity, double falsePositiveRate) {
+        RecipeIdBloomFilter filter = new RecipeIdBloomFilter(
+                Math.max(minimumCapacity, recipeIds.size() * 2), falsePositiveRate);
+        for (Long recipeId : recipeIds) {
+            filter.add(recipeId);
+        }
+        return filter;
+    }
+
+    public void add(long recipeId) {
+        long h1 = mix(recipeId);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+            } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+        }
+        added.incrementAndGet();
+    }
+
+    public boolean mightContain(long recipeId) {
+        long h1 = mix(recipeId);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether more ids were added than the filter was sized for
+     */
+    public boolean isOverCapacity() {
+        return added.get() > capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getAddedCount() {
+        return added.get();
+    }
+
+    /**
+     * Size of the bit array in bytes
+     */
+    public long getSizeInBytes() {
+        return words.length() * 8L;
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
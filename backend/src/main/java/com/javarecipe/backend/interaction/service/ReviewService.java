@@ -92,8 +92,9 @@ public interface ReviewService {
     ReviewDTO convertToDTO(Review review);
     
     /**
-     * Update recipe's aggregated rating statistics
-     * This is called automatically when reviews are created/updated/deleted
+     * Recompute recipe's aggregated rating statistics from its reviews.
+     * Review writes adjust the aggregates incrementally; this corrects drift.
+     * Locks the recipe row until the caller's transaction commits.
      * @param recipeId the recipe ID
      */
     void updateRecipeRatingStats(Long recipeId);
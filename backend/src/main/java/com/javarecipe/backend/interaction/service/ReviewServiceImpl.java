@@ -4,13 +4,16 @@ import com.javarecipe.backend.interaction.dto.ReviewDTO;
 import com.javarecipe.backend.interaction.dto.ReviewSummaryDTO;
 import com.javarecipe.backend.interaction.entity.Review;
 import com.javarecipe.backend.interaction.repository.ReviewRepository;
-import com.javarecipe.backend.notification.service.NotificationService;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.notification.service.NotificationOutbox;
 import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.recipe.event.RecipeStatsChangedEvent;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
 import com.javarecipe.backend.user.entity.User;
 import com.javarecipe.backend.user.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -25,16 +28,19 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
     private final RecipeRepository recipeRepository;
-    private final NotificationService notificationService;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ReviewServiceImpl(ReviewRepository reviewRepository,
                              UserRepository userRepository,
                              RecipeRepository recipeRepository,
-                             NotificationService notificationService) {
+                             NotificationOutbox notificationOutbox,
+                             ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.userRepository = userRepository;
         this.recipeRepository = recipeRepository;
-        this.notificationService = notificationService;
+        this.notificationOutbox = notificationOutbox;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -60,10 +66,10 @@ public class ReviewServiceImpl implements ReviewService {
         Review savedReview = reviewRepository.save(review);
 
         // Update recipe's aggregated rating statistics
-        updateRecipeRatingStats(recipeId);
+        applyRatingChange(recipeId, null, rating);
 
         // Create notification for recipe owner
-        notificationService.createRecipeReviewNotification(recipeId, userId);
+        notificationOutbox.enqueue(NotificationType.RECIPE_REVIEW, recipeId, userId);
 
         return savedReview;
     }
@@ -79,13 +85,16 @@ public class ReviewServiceImpl implements ReviewService {
             throw new AccessDeniedException("User is not authorized to update this review");
         }
         
+        Integer previousRating = review.getRating();
         review.setRating(rating);
         review.setComment(comment);
         
         Review updatedReview = reviewRepository.save(review);
         
         // Update recipe's aggregated rating statistics
-        updateRecipeRatingStats(review.getRecipe().getId());
+        if (!previousRating.equals(rating)) {
+            applyRatingChange(review.getRecipe().getId(), previousRating, rating);
+        }
         
         return updatedReview;
     }
@@ -105,7 +114,7 @@ public class ReviewServiceImpl implements ReviewService {
         reviewRepository.delete(review);
         
         // Update recipe's aggregated rating statistics
-        updateRecipeRatingStats(recipeId);
+        applyRatingChange(recipeId, review.getRating(), null);
     }
 
     @Override
@@ -154,34 +163,27 @@ public class ReviewServiceImpl implements ReviewService {
 
     @Override
     public ReviewSummaryDTO getReviewSummary(Long recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
-                .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + recipeId));
-        
-        Double averageRating = reviewRepository.findAverageRatingByRecipe(recipe);
-        long totalReviews = reviewRepository.countByRecipe(recipe);
-        
-        // Get rating distribution
-        List<Object[]> distributionData = reviewRepository.findRatingDistributionByRecipeId(recipeId);
-        Integer[] ratingDistribution = new Integer[5]; // For ratings 1-5
-        
-        // Initialize with zeros
-        for (int i = 0; i < 5; i++) {
-            ratingDistribution[i] = 0;
+        // Answered from the rating aggregates stored on the recipe row, no aggregation over reviews
+        List<Object[]> rows = recipeRepository.findRatingSummaryById(recipeId);
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("Recipe not found with id: " + recipeId);
         }
-        
-        // Fill in actual counts
-        for (Object[] row : distributionData) {
-            Integer rating = (Integer) row[0];
-            Long count = (Long) row[1];
-            if (rating >= 1 && rating <= 5) {
-                ratingDistribution[rating - 1] = count.intValue();
+        Object[] row = rows.get(0);
+        int reviewCount = row[1] != null ? (Integer) row[1] : 0;
+        RatingHistogram histogram = RatingHistogram.of(
+                (Integer) row[2], (Integer) row[3], (Integer) row[4], (Integer) row[5], (Integer) row[6]);
+        if (histogram.count() != reviewCount) {
+            // Reviewed before the histogram columns existed and not backfilled yet: count the reviews
+            histogram = new RatingHistogram();
+            for (Object[] ratingRow : reviewRepository.findRatingDistributionByRecipeId(recipeId)) {
+                histogram.add((Integer) ratingRow[0], (Long) ratingRow[1]);
             }
         }
         
         ReviewSummaryDTO summary = new ReviewSummaryDTO();
-        summary.setAverageRating(averageRating);
-        summary.setTotalReviews((int) totalReviews);
-        summary.setRatingDistribution(ratingDistribution);
+        summary.setAverageRating(histogram.average());
+        summary.setTotalReviews((int) histogram.count());
+        summary.setRatingDistribution(histogram.toDistribution());
         return summary;
     }
 
@@ -204,15 +206,36 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     @Transactional
     public void updateRecipeRatingStats(Long recipeId) {
-        Recipe recipe = recipeRepository.findById(recipeId)
-                .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + recipeId));
-        
-        Double averageRating = reviewRepository.findAverageRatingByRecipe(recipe);
-        long reviewCount = reviewRepository.countByRecipe(recipe);
-        
-        recipe.setAverageRating(averageRating);
-        recipe.setReviewCount((int) reviewCount);
-        
-        recipeRepository.save(recipe);
+        // Lock the recipe before reading its reviews, so a concurrent review's delta applies after this write
+        if (recipeRepository.findByIdForUpdate(recipeId).isEmpty()) {
+            throw new EntityNotFoundException("Recipe not found with id: " + recipeId);
+        }
+
+        RatingHistogram histogram = new RatingHistogram();
+        for (Object[] row : reviewRepository.findRatingDistributionByRecipeId(recipeId)) {
+            histogram.add((Integer) row[0], (Long) row[1]);
+        }
+
+        recipeRepository.setRatingStats(recipeId, histogram.average(), (int) histogram.count(), histogram.sum(),
+                (int) histogram.get(1), (int) histogram.get(2), (int) histogram.get(3),
+                (int) histogram.get(4), (int) histogram.get(5));
+        eventPublisher.publishEvent(new RecipeStatsChangedEvent(recipeId));
+    }
+
+    // O(1) in the number of reviews: one delta UPDATE on the recipe row, in the caller's transaction
+    private void applyRatingChange(Long recipeId, Integer oldRating, Integer newRating) {
+        RatingHistogram delta = new RatingHistogram()
+                .add(oldRating, -1)
+                .add(newRating, 1);
+
+        int updated = recipeRepository.applyRatingDelta(recipeId, (int) delta.count(), delta.sum(),
+                (int) delta.get(1), (int) delta.get(2), (int) delta.get(3),
+                (int) delta.get(4), (int) delta.get(5));
+        if (updated == 0) {
+            // Aggregates not backfilled yet: recompute them from the reviews rather than add to zeros
+            updateRecipeRatingStats(recipeId);
+            return;
+        }
+        eventPublisher.publishEvent(new RecipeStatsChangedEvent(recipeId));
     }
 }
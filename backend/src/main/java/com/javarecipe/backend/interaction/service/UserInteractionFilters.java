@@ -0,0 +1,154 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.javarecipe.backend.interaction.repository.FavoriteRepository;
+import com.javarecipe.backend.interaction.repository.LikeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.javarecipe.backend.common.service.TransactionHooks.afterCommit;
+
+/**
+ * Per-user Bloom filters of the recipes a user liked and favorited, so that
+ * "has the user liked/favorited this recipe" can answer the common "no" without a
+ * query. A user's filters are built on first use from the likes and favorites
+ * tables and kept current by the toggles; unlike and unfavorite leave the bits set,
+ * which only costs a confirming query. A filter that outgrows its capacity is
+ * dropped and rebuilt on next use. Bounded by the total size of the bit arrays.
+ * Assumes all toggles go through this instance, like the other in-memory counters.
+ */
+@Component
+public class UserInteractionFilters {
+
+    private static final int MINIMUM_CAPACITY = 64;
+
+    private final LikeRepository likeRepository;
+    private final FavoriteRepository favoriteRepository;
+    private final double falsePositiveRate;
+    private final Cache<Long, Filters> cache;
+
+    @Autowired
+    public UserInteractionFilters(LikeRepository likeRepository,
+                                  FavoriteRepository favoriteRepository,
+                                  @Value("${recipe.interaction-filter.maximum-bytes:67108864}") long maximumBytes,
+                                  @Value("${recipe.interaction-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${recipe.interaction-filter.idle-minutes:30}") long idleMinutes) {
+        this.likeRepository = likeRepository;
+        this.favoriteRepository = favoriteRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long userId, Filters filters) -> (int) Math.min(Integer.MAX_VALUE, filters.sizeInBytes()))
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * False if the user has definitely not liked the recipe
+     */
+    public boolean mightHaveLiked(Long userId, Long recipeId) {
+        return filtersOf(userId).liked().mightContain(recipeId);
+    }
+
+    /**
+     * False if the user has definitely not favorited the recipe
+     */
+    public boolean mightHaveFavorited(Long userId, Long recipeId) {
+        return filtersOf(userId).favorited().mightContain(recipeId);
+    }
+
+    /**
+     * Add a new like to the user's filter once the current transaction commits
+     */
+    public void recordLike(Long userId, Long recipeId) {
+        afterCommit(() -> add(userId, recipeId, true));
+    }
+
+    /**
+     * Add a new favorite to the user's filter once the current transaction commits
+     */
+    public void recordFavorite(Long userId, Long recipeId) {
+        afterCommit(() -> add(userId, recipeId, false));
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Number of users held, memory used by their filters, and hit/miss statistics
+     */
+    public Map<String, Object> getStats() {
+        long totalBytes = 0;
+        for (Filters filters : cache.asMap().values()) {
+            totalBytes += filters.sizeInBytes();
+        }
+        long users = cache.estimatedSize();
+        CacheStats stats = cache.stats();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("users", users);
+        result.put("totalBytes", totalBytes);
+        result.put("averageBytesPerUser", users > 0 ? totalBytes / users : 0);
+        result.put("falsePositiveRate", falsePositiveRate);
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    /**
+     * Size and fill of one user's filters, if they are currently held
+     */
+    public Optional<Map<String, Object>> getUserStats(Long userId) {
+        Filters filters = cache.asMap().get(userId);
+        if (filters == null) {
+            return Optional.empty();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("userId", userId);
+        result.put("totalBytes", filters.sizeInBytes());
+        result.put("liked", describe(filters.liked()));
+        result.put("favorited", describe(filters.favorited()));
+        return Optional.of(result);
+    }
+
+    private Filters filtersOf(Long userId) {
+        return cache.get(userId, id -> new Filters(
+                RecipeIdBloomFilter.of(likeRepository.findLikedRecipeIdsByUserId(id), MINIMUM_CAPACITY, falsePositiveRate),
+                RecipeIdBloomFilter.of(favoriteRepository.findFavoritedRecipeIdsByUserId(id), MINIMUM_CAPACITY, falsePositiveRate)));
+    }
+
+    // Waits for a build of the same user in progress, so a like committed during the build is not missed
+    private void add(Long userId, Long recipeId, boolean like) {
+        cache.asMap().computeIfPresent(userId, (id, filters) -> {
+            RecipeIdBloomFilter filter = like ? filters.liked() : filters.favorited();
+            filter.add(recipeId);
+            return filter.isOverCapacity() ? null : filters;
+        });
+    }
+
+    private static Map<String, Object> describe(RecipeIdBloomFilter filter) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", filter.getAddedCount());
+        result.put("capacity", filter.getCapacity());
+        result.put("bytes", filter.getSizeInBytes());
+        return result;
+    }
+
+    private record Filters(RecipeIdBloomFilter liked, RecipeIdBloomFilter favorited) {
+
+        long sizeInBytes() {
+            return liked.getSizeInBytes() + favorited.getSizeInBytes();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.javarecipe.backend.notification.dto.NotificationDTO;
 import com.javarecipe.backend.notification.dto.NotificationSummaryDTO;
 import com.javarecipe.backend.notification.entity.Notification;
 import com.javarecipe.backend.notification.service.NotificationService;
+import com.javarecipe.backend.notification.service.NotificationStreamRegistry;
 import com.javarecipe.backend.user.entity.User;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,9 +12,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,10 +26,24 @@ import java.util.Map;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamRegistry notificationStreamRegistry;
 
     @Autowired
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService,
+                                  NotificationStreamRegistry notificationStreamRegistry) {
         this.notificationService = notificationService;
+        this.notificationStreamRegistry = notificationStreamRegistry;
+    }
+
+    /**
+     * Server-Sent Events stream of new notifications and unread count changes.
+     * On reconnect the browser sends Last-Event-ID, and the notifications created or re-batched since are replayed first.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @AuthenticationPrincipal User currentUser,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificationStreamRegistry.subscribe(currentUser.getId(), lastEventId);
     }
 
     @GetMapping
@@ -46,7 +63,7 @@ public class NotificationController {
                 notifications = notificationService.getUserNotifications(currentUser.getId(), pageable);
             }
             
-            Page<NotificationDTO> notificationDTOs = notifications.map(notificationService::convertToDTO);
+            Page<NotificationDTO> notificationDTOs = notificationService.convertToDTOs(notifications);
             
             Map<String, Object> response = new HashMap<>();
             response.put("notifications", notificationDTOs.getContent());
@@ -157,7 +174,7 @@ public class NotificationController {
             Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
             Page<Notification> notifications = notificationService.getUnreadNotifications(currentUser.getId(), pageable);
             
-            Page<NotificationDTO> notificationDTOs = notifications.map(notificationService::convertToDTO);
+            Page<NotificationDTO> notificationDTOs = notificationService.convertToDTOs(notifications);
             
             Map<String, Object> response = new HashMap<>();
             response.put("notifications", notificationDTOs.getContent());
@@ -11,7 +11,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_sequence", columnList = "user_id, stream_sequence")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -59,4 +61,8 @@ public class Notification {
 
     @Column(name = "batch_actors", columnDefinition = "TEXT")
     private String batchActors; // JSON array of actor usernames
+
+    // Position in the user's notification stream (the SSE event id), taken anew on creation and every re-batch
+    @Column(name = "stream_sequence")
+    private Long streamSequence;
 } 
\ No newline at end of file
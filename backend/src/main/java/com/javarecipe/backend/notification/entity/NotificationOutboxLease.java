@@ -0,0 +1,29 @@
+package com.javarecipe.backend.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The instance allowed to drain the notification outbox, in a single row. Held
+ * until it expires unless its owner renews it.
+ */
+@Entity
+@Table(name = "notification_outbox_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutboxLease {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
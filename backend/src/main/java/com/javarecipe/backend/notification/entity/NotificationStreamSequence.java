@@ -0,0 +1,24 @@
+package com.javarecipe.backend.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The next unreserved position in the notification streams, in a single row. Positions
+ * are reserved from it in blocks by NotificationStreamPositions.
+ */
+@Entity
+@Table(name = "notification_stream_sequence")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationStreamSequence {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
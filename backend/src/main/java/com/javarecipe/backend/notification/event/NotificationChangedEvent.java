@@ -0,0 +1,8 @@
+package com.javarecipe.backend.notification.event;
+
+/**
+ * Published when a notification is created or a batched notification gains
+ * actors. Listeners push it to the user's open streams after the transaction commits.
+ */
+public record NotificationChangedEvent(Long userId, Long notificationId) {
+}
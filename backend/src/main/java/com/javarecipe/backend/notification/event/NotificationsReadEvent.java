@@ -0,0 +1,7 @@
+package com.javarecipe.backend.notification.event;
+
+/**
+ * Published when one or all of a user's notifications are marked as read
+ */
+public record NotificationsReadEvent(Long userId) {
+}
@@ -0,0 +1,27 @@
+package com.javarecipe.backend.notification.repository;
+
+import com.javarecipe.backend.notification.entity.NotificationOutboxLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface NotificationOutboxLeaseRepository extends JpaRepository<NotificationOutboxLease, Integer> {
+
+    // Renews the lease for its owner, or takes it over once it expired
+    @Modifying
+    @Query("UPDATE NotificationOutboxLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+           "WHERE l.id = :id AND (l.owner = :owner OR l.expiresAt < :now)")
+    int acquire(@Param("id") Integer id,
+                @Param("owner") String owner,
+                @Param("expiresAt") LocalDateTime expiresAt,
+                @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxLease l SET l.expiresAt = :now WHERE l.id = :id AND l.owner = :owner")
+    int release(@Param("id") Integer id, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
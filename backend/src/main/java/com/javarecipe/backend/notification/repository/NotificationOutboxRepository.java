@@ -0,0 +1,33 @@
+package com.javarecipe.backend.notification.repository;
+
+import com.javarecipe.backend.notification.entity.NotificationOutboxEvent;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, Long> {
+
+    // Oldest first, skipping events that failed too often. Events of the coalesced type
+    // are held back until the oldest one about the same entity was created before the cutoff.
+    @Query("SELECT e FROM NotificationOutboxEvent e WHERE e.attempts < :maxAttempts AND " +
+           "(e.notificationType <> :coalescedType OR e.entityId IN (" +
+           "SELECT c.entityId FROM NotificationOutboxEvent c WHERE c.notificationType = :coalescedType " +
+           "AND c.attempts < :maxAttempts GROUP BY c.entityId HAVING MIN(c.createdAt) <= :cutoff)) " +
+           "ORDER BY e.id")
+    List<NotificationOutboxEvent> findDeliverable(@Param("maxAttempts") int maxAttempts,
+                                                  @Param("coalescedType") NotificationType coalescedType,
+                                                  @Param("cutoff") LocalDateTime cutoff,
+                                                  Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE NotificationOutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error);
+}
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -22,14 +23,25 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     Page<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user, Pageable pageable);
     
     long countByUserAndIsReadFalse(User user);
+
+    long countByUserIdAndIsReadFalse(Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    List<Notification> findByUserIdAndStreamSequenceGreaterThanOrderByStreamSequenceAsc(Long userId, Long streamSequence,
+                                                                                         Pageable pageable);
+
+    @Query("SELECT MAX(n.streamSequence) FROM Notification n")
+    Optional<Long> findMaxStreamSequence();
     
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.user = :user AND n.isRead = false")
     int markAllAsRead(@Param("user") User user);
     
     @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.id = :id AND n.user = :user")
-    int markAsRead(@Param("id") Long id, @Param("user") User user);
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP " +
+           "WHERE n.id = :id AND n.user.id = :userId AND n.isRead = false")
+    int markUnreadAsRead(@Param("id") Long id, @Param("userId") Long userId);
     
     Page<Notification> findByUserAndNotificationType(User user, NotificationType notificationType, Pageable pageable);
 
@@ -40,9 +52,24 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
                                                          @Param("since") LocalDateTime since);
 
     @Modifying
-    @Query("UPDATE Notification n SET n.batchCount = :batchCount, n.lastBatchUpdate = CURRENT_TIMESTAMP, n.batchActors = :batchActors, n.message = :message WHERE n.id = :id")
+    @Query("UPDATE Notification n SET n.batchCount = :batchCount, n.lastBatchUpdate = CURRENT_TIMESTAMP, n.batchActors = :batchActors, n.message = :message, " +
+           "n.streamSequence = :streamSequence, n.isRead = false, n.readAt = NULL WHERE n.id = :id")
     int updateBatchedNotification(@Param("id") Long id,
                                  @Param("batchCount") Integer batchCount,
                                  @Param("batchActors") String batchActors,
-                                 @Param("message") String message);
-} 
\ No newline at end of file
+                                 @Param("message") String message,
+                                 @Param("streamSequence") Long streamSequence);
+
+    // Retention purge, walked in id order
+    @Query("SELECT n.id FROM Notification n WHERE n.isRead = :read AND n.createdAt < :cutoff AND n.id > :afterId " +
+           "ORDER BY n.id")
+    List<Long> findIdsCreatedBefore(@Param("read") boolean read,
+                                    @Param("cutoff") LocalDateTime cutoff,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
+    // Rechecks the read flag, so a notification read since it was selected is kept
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids AND n.isRead = :read")
+    int deleteByIdIn(@Param("ids") List<Long> ids, @Param("read") boolean read);
+}
@@ -0,0 +1,21 @@
+package com.javarecipe.backend.notification.repository;
+
+import com.javarecipe.backend.notification.entity.NotificationStreamSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NotificationStreamSequenceRepository extends JpaRepository<NotificationStreamSequence, Integer> {
+
+    @Modifying
+    @Query("UPDATE NotificationStreamSequence s SET s.nextValue = s.nextValue + :blockSize WHERE s.id = :id")
+    int advance(@Param("id") Integer id, @Param("blockSize") long blockSize);
+
+    @Query("SELECT s.nextValue FROM NotificationStreamSequence s WHERE s.id = :id")
+    Optional<Long> findNextValueById(@Param("id") Integer id);
+}
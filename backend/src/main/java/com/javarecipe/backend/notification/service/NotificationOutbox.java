@@ -0,0 +1,40 @@
+package com.javarecipe.backend.notification.service;
+
+import com.javarecipe.backend.notification.entity.NotificationOutboxEvent;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.notification.repository.NotificationOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records that a notification is due, as part of the caller's transaction.
+ * The notification itself is created later by {@link NotificationOutboxDispatcher},
+ * so the caller's write does not wait on notification lookups and inserts.
+ */
+@Component
+public class NotificationOutbox {
+
+    private final NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    public NotificationOutbox(NotificationOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    /**
+     * Queue a notification about an interaction
+     * @param notificationType the kind of interaction
+     * @param entityId the recipe or comment interacted with
+     * @param actorUserId the user who interacted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(NotificationType notificationType, Long entityId, Long actorUserId) {
+        outboxRepository.save(NotificationOutboxEvent.builder()
+                .notificationType(notificationType)
+                .entityId(entityId)
+                .actorUserId(actorUserId)
+                .build());
+    }
+}
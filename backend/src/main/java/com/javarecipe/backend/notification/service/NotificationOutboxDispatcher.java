@@ -0,0 +1,234 @@
+package com.javarecipe.backend.notification.service;
+
+import com.javarecipe.backend.notification.entity.NotificationOutboxEvent;
+import com.javarecipe.backend.notification.entity.NotificationOutboxLease;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.notification.repository.NotificationOutboxLeaseRepository;
+import com.javarecipe.backend.notification.repository.NotificationOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drains the notification outbox in batches. Events about the same recipe or
+ * comment are handled in order on one virtual thread, so like batching never sees
+ * two concurrent likes of one recipe; different targets are handled in parallel.
+ * Each event gets its own transaction: the notification is created and the event
+ * deleted together. Events whose target no longer exists are dropped, other
+ * failures are retried on later polls up to a maximum number of attempts and then
+ * left in the table for inspection.
+ * <p>
+ * Recipe likes are coalesced: they wait in the outbox until the oldest like of the
+ * recipe is older than the coalescing window, and then all of them are folded into
+ * the owner's batched like notification with a single insert or update. A recipe's
+ * like notifications always go to its owner, so the recipe identifies the
+ * (recipient, batch key) pair, and notification writes grow with the number of
+ * liked recipes per window rather than with the number of likes.
+ * <p>
+ * Events are not claimed row by row: the per-target ordering above only holds within
+ * one dispatcher. So only the instance holding the outbox lease dispatches; it renews
+ * the lease before every batch and another instance takes over once it expires. At
+ * most {@code notification.outbox.concurrency} targets are handled at once, each
+ * holding one pooled connection, so the dispatcher leaves most of the pool to requests.
+ */
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    static final int LEASE_ID = 1;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationOutboxLeaseRepository leaseRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration likeCoalesceWindow;
+    private final Duration leaseDuration;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService executor;
+
+    @Autowired
+    public NotificationOutboxDispatcher(NotificationOutboxRepository outboxRepository,
+                                        NotificationOutboxLeaseRepository leaseRepository,
+                                        NotificationService notificationService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${notification.outbox.batch-size:100}") int batchSize,
+                                        @Value("${notification.outbox.max-attempts:5}") int maxAttempts,
+                                        @Value("${notification.like-coalesce-window-seconds:60}") long likeCoalesceWindowSeconds,
+                                        @Value("${notification.outbox.concurrency:4}") int concurrency,
+                                        @Value("${notification.outbox.lease-seconds:30}") long leaseSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.leaseRepository = leaseRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.likeCoalesceWindow = Duration.ofSeconds(likeCoalesceWindowSeconds);
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.executor = Executors.newFixedThreadPool(concurrency,
+                Thread.ofVirtual().name("notification-outbox-", 0).factory());
+    }
+
+    /**
+     * Deliver pending events, batch by batch, until the outbox is drained or a batch has failures
+     * @return number of notifications delivered
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public synchronized int dispatch() {
+        int delivered = 0;
+        List<NotificationOutboxEvent> batch;
+        int batchDelivered;
+        do {
+            if (!holdLease()) {
+                break;
+            }
+            batch = outboxRepository.findDeliverable(maxAttempts, NotificationType.RECIPE_LIKE,
+                    LocalDateTime.now().minus(likeCoalesceWindow), PageRequest.of(0, batchSize));
+            batchDelivered = dispatchBatch(batch);
+            delivered += batchDelivered;
+        } while (batch.size() == batchSize && batchDelivered == batch.size());
+        return delivered;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            // Let another instance take over without waiting for the lease to expire
+            transactionTemplate.executeWithoutResult(
+                    status -> leaseRepository.release(LEASE_ID, instanceId, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            logger.debug("Could not release the notification outbox lease", e);
+        }
+    }
+
+    // Renew or take the outbox lease; false while another instance holds it
+    boolean holdLease() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(leaseDuration);
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (leaseRepository.acquire(LEASE_ID, instanceId, expiresAt, now) > 0) {
+                    return true;
+                }
+                if (leaseRepository.existsById(LEASE_ID)) {
+                    return false;
+                }
+                leaseRepository.saveAndFlush(new NotificationOutboxLease(LEASE_ID, instanceId, expiresAt));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease first
+            return false;
+        }
+    }
+
+    private int dispatchBatch(List<NotificationOutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<NotificationOutboxEvent>> byTarget = new LinkedHashMap<>();
+        for (NotificationOutboxEvent event : batch) {
+            byTarget.computeIfAbsent(targetKey(event), key -> new ArrayList<>()).add(event);
+        }
+
+        List<Future<Integer>> results = new ArrayList<>(byTarget.size());
+        for (List<NotificationOutboxEvent> events : byTarget.values()) {
+            results.add(executor.submit(() -> deliverAll(events)));
+        }
+
+        int handled = 0;
+        for (Future<Integer> result : results) {
+            try {
+                handled += result.get();
+            } catch (ExecutionException e) {
+                logger.error("Notification outbox worker failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return handled;
+    }
+
+    // Events of one target, all of the same type
+    private int deliverAll(List<NotificationOutboxEvent> events) {
+        NotificationOutboxEvent first = events.get(0);
+        if (first.getNotificationType() == NotificationType.RECIPE_LIKE) {
+            List<Long> actorUserIds = events.stream().map(NotificationOutboxEvent::getActorUserId).distinct().toList();
+            return deliver(events, () -> notificationService.createRecipeLikeNotifications(first.getEntityId(), actorUserIds));
+        }
+
+        int handled = 0;
+        for (NotificationOutboxEvent event : events) {
+            handled += deliver(List.of(event), () -> publish(event));
+        }
+        return handled;
+    }
+
+    // Returns how many of the events are done with, delivered or dropped
+    private int deliver(List<NotificationOutboxEvent> events, Runnable publish) {
+        List<Long> ids = events.stream().map(NotificationOutboxEvent::getId).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                publish.run();
+                outboxRepository.deleteAllByIdInBatch(ids);
+            });
+            return events.size();
+        } catch (EntityNotFoundException e) {
+            // The recipe, comment or user is gone; nothing left to notify about
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteAllByIdInBatch(ids));
+            logger.debug("Dropped notification outbox events {}: {}", ids, e.getMessage());
+            return events.size();
+        } catch (RuntimeException e) {
+            String message = Objects.toString(e.getMessage(), e.getClass().getName());
+            String error = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+            transactionTemplate.executeWithoutResult(status -> ids.forEach(id -> outboxRepository.recordFailure(id, error)));
+            if (events.get(0).getAttempts() + 1 >= maxAttempts) {
+                logger.error("Giving up on notification outbox events {} after {} attempts", ids, maxAttempts, e);
+            } else {
+                logger.warn("Failed to deliver notification outbox events {}, will retry", ids, e);
+            }
+            return 0;
+        }
+    }
+
+    private void publish(NotificationOutboxEvent event) {
+        Long entityId = event.getEntityId();
+        Long actorUserId = event.getActorUserId();
+        switch (event.getNotificationType()) {
+            case RECIPE_COMMENT -> notificationService.createRecipeCommentNotification(entityId, actorUserId);
+            case RECIPE_REVIEW -> notificationService.createRecipeReviewNotification(entityId, actorUserId);
+            case COMMENT_REPLY -> notificationService.createCommentReplyNotification(entityId, actorUserId);
+            case COMMENT_LIKE -> notificationService.createCommentLikeNotification(entityId, actorUserId);
+            default -> throw new IllegalArgumentException(
+                    "Unsupported outbox notification type: " + event.getNotificationType());
+        }
+    }
+
+    private static String targetKey(NotificationOutboxEvent event) {
+        return event.getNotificationType() + "_" + event.getEntityId();
+    }
+}
@@ -0,0 +1,175 @@
+package com.javarecipe.backend.notification.service;
+
+import com.javarecipe.backend.notification.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes old notifications: read ones after the read retention, unread ones after
+ * a separate, longer retention. Rows are deleted in small chunks walked in id order,
+ * each chunk in its own short transaction followed by a pause, so the purge never
+ * holds locks on a large range or keeps the database busy for long.
+ * <p>
+ * The scheduled run is handed to a thread of its own. The scheduler has a single
+ * thread shared with the outbox dispatcher, counter flushes and stream heartbeats,
+ * so sleeping between chunks on it would stall all of them for the whole purge.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final TransactionTemplate transactionTemplate;
+    private final int readRetentionDays;
+    private final int unreadRetentionDays;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("notification-purge").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    UnreadNotificationCounter unreadNotificationCounter,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${notification.retention.read-days:90}") int readRetentionDays,
+                                    @Value("${notification.retention.unread-days:365}") int unreadRetentionDays,
+                                    @Value("${notification.retention.chunk-size:500}") int chunkSize,
+                                    @Value("${notification.retention.pause-ms:200}") long pauseMillis) {
+        this.notificationRepository = notificationRepository;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readRetentionDays = readRetentionDays;
+        this.unreadRetentionDays = unreadRetentionDays;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 15 4 * * *}")
+    public void schedulePurge() {
+        startPurge();
+    }
+
+    /**
+     * Start a purge on the job's own thread, unless one is still running
+     * @return whether a purge was started
+     */
+    boolean startPurge() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Previous notification purge still running, skipping this run");
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    purge();
+                } catch (RuntimeException e) {
+                    logger.error("Notification purge failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            running.set(false);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Delete the read and unread notifications past their retention, on the calling thread
+     * @return rows deleted and time spent
+     */
+    public synchronized PurgeResult purge() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        int read = purgeRead(now.minusDays(readRetentionDays));
+        int unread = purgeUnread(now.minusDays(unreadRetentionDays));
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("Purged {} read and {} unread notifications in {} ms", read, unread, durationMillis);
+        return new PurgeResult(read, unread, durationMillis);
+    }
+
+    /**
+     * Delete read notifications created before the cutoff
+     * @return number of notifications deleted
+     */
+    public int purgeRead(LocalDateTime cutoff) {
+        return purge(true, cutoff);
+    }
+
+    /**
+     * Delete unread notifications created before the cutoff
+     * @return number of notifications deleted
+     */
+    public int purgeUnread(LocalDateTime cutoff) {
+        int purged = purge(false, cutoff);
+        if (purged > 0) {
+            // Recount on next use rather than tracking whose notifications went
+            unreadNotificationCounter.invalidateAll();
+        }
+        return purged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupts the pause, so a purge in progress stops after its current chunk
+        executor.shutdownNow();
+    }
+
+    private int purge(boolean read, LocalDateTime cutoff) {
+        int purged = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = notificationRepository.findIdsCreatedBefore(
+                    read, cutoff, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer deleted = transactionTemplate.execute(status -> notificationRepository.deleteByIdIn(ids, read));
+            purged += deleted != null ? deleted : 0;
+            afterId = ids.get(ids.size() - 1);
+
+            if (ids.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+        return purged;
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Notification purge interrupted");
+            return false;
+        }
+    }
+
+    public record PurgeResult(int readPurged, int unreadPurged, long durationMillis) {
+    }
+}
@@ -7,6 +7,8 @@ import com.javarecipe.backend.notification.entity.NotificationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface NotificationService {
     
     /**
@@ -26,6 +28,13 @@ public interface NotificationService {
      */
     void createRecipeLikeNotification(Long recipeId, Long actorUserId);
     
+    /**
+     * Create or update the batched like notification of a recipe for several likes at once
+     * @param recipeId the recipe that was liked
+     * @param actorUserIds the users who liked the recipe, in the order they liked it
+     */
+    void createRecipeLikeNotifications(Long recipeId, List<Long> actorUserIds);
+    
     /**
      * Create a notification when someone comments on a recipe
      * @param recipeId the recipe that was commented on
@@ -105,6 +114,14 @@ public interface NotificationService {
      * @return the notification DTO
      */
     NotificationDTO convertToDTO(Notification notification);
+
+    /**
+     * Convert a page of notifications, loading the titles of the recipes and comments
+     * they refer to with one query per entity type
+     * @param notifications the notification entities
+     * @return the notification DTOs
+     */
+    Page<NotificationDTO> convertToDTOs(Page<Notification> notifications);
     
     /**
      * Delete old read notifications (cleanup)
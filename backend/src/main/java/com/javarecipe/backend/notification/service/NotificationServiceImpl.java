@@ -6,6 +6,8 @@ import com.javarecipe.backend.notification.dto.NotificationDTO;
 import com.javarecipe.backend.notification.dto.NotificationSummaryDTO;
 import com.javarecipe.backend.notification.entity.Notification;
 import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.notification.event.NotificationChangedEvent;
+import com.javarecipe.backend.notification.event.NotificationsReadEvent;
 import com.javarecipe.backend.notification.repository.NotificationRepository;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
@@ -13,16 +15,15 @@ import com.javarecipe.backend.user.entity.User;
 import com.javarecipe.backend.user.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class NotificationServiceImpl implements NotificationService {
@@ -31,16 +32,28 @@ public class NotificationServiceImpl implements NotificationService {
     private final UserRepository userRepository;
     private final RecipeRepository recipeRepository;
     private final CommentRepository commentRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationStreamPositions streamPositions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationRetentionJob notificationRetentionJob;
 
     @Autowired
     public NotificationServiceImpl(NotificationRepository notificationRepository,
                                    UserRepository userRepository,
                                    RecipeRepository recipeRepository,
-                                   CommentRepository commentRepository) {
+                                   CommentRepository commentRepository,
+                                   UnreadNotificationCounter unreadNotificationCounter,
+                                   NotificationStreamPositions streamPositions,
+                                   ApplicationEventPublisher eventPublisher,
+                                   NotificationRetentionJob notificationRetentionJob) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
         this.recipeRepository = recipeRepository;
         this.commentRepository = commentRepository;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.streamPositions = streamPositions;
+        this.eventPublisher = eventPublisher;
+        this.notificationRetentionJob = notificationRetentionJob;
     }
 
     @Override
@@ -55,8 +68,12 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setNotificationType(notificationType);
         notification.setEntityId(entityId);
         notification.setRead(false);
+        notification.setStreamSequence(streamPositions.next());
 
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        unreadNotificationCounter.increment(userId);
+        eventPublisher.publishEvent(new NotificationChangedEvent(userId, savedNotification.getId()));
+        return savedNotification;
     }
 
     @Override
@@ -74,7 +91,31 @@ public class NotificationServiceImpl implements NotificationService {
         }
 
         // Try to batch with existing like notification
-        createOrUpdateBatchedLikeNotification(recipe, actor);
+        createOrUpdateBatchedLikeNotification(recipe, Collections.singletonList(actor.getUsername()));
+    }
+
+    @Override
+    @Transactional
+    public void createRecipeLikeNotifications(Long recipeId, List<Long> actorUserIds) {
+        Recipe recipe = recipeRepository.findById(recipeId)
+                .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + recipeId));
+
+        Map<Long, String> usernames = new HashMap<>();
+        for (User actor : userRepository.findAllById(actorUserIds)) {
+            usernames.put(actor.getId(), actor.getUsername());
+        }
+
+        List<String> actors = new ArrayList<>();
+        for (Long actorUserId : actorUserIds) {
+            String username = usernames.get(actorUserId);
+            // Skip the owner's own likes and users deleted since they liked
+            if (username != null && !recipe.getUser().getId().equals(actorUserId) && !actors.contains(username)) {
+                actors.add(username);
+            }
+        }
+        if (!actors.isEmpty()) {
+            createOrUpdateBatchedLikeNotification(recipe, actors);
+        }
     }
 
     @Override
@@ -176,11 +217,13 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional
     public boolean markAsRead(Long notificationId, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-
-        int updated = notificationRepository.markAsRead(notificationId, user);
-        return updated > 0;
+        if (notificationRepository.markUnreadAsRead(notificationId, userId) > 0) {
+            unreadNotificationCounter.decrement(userId);
+            eventPublisher.publishEvent(new NotificationsReadEvent(userId));
+            return true;
+        }
+        // Already read, or not one of the user's notifications
+        return notificationRepository.existsByIdAndUserId(notificationId, userId);
     }
 
     @Override
@@ -189,7 +232,10 @@ public class NotificationServiceImpl implements NotificationService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
 
-        return notificationRepository.markAllAsRead(user);
+        int marked = notificationRepository.markAllAsRead(user);
+        unreadNotificationCounter.reset(userId);
+        eventPublisher.publishEvent(new NotificationsReadEvent(userId));
+        return marked;
     }
 
     @Override
@@ -197,7 +243,7 @@ public class NotificationServiceImpl implements NotificationService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
 
-        long unreadCount = notificationRepository.countByUserAndIsReadFalse(user);
+        long unreadCount = unreadNotificationCounter.get(user.getId());
         // For total count, we could add a method to count all notifications
         // For now, let's use a simple approach
         long totalCount = unreadCount; // This could be enhanced to get actual total
@@ -211,14 +257,62 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public long getUnreadCount(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
-
-        return notificationRepository.countByUserAndIsReadFalse(user);
+        return unreadNotificationCounter.get(userId);
     }
 
     @Override
     public NotificationDTO convertToDTO(Notification notification) {
+        return convertAll(Collections.singletonList(notification)).get(0);
+    }
+
+    @Override
+    public Page<NotificationDTO> convertToDTOs(Page<Notification> notifications) {
+        List<NotificationDTO> dtos = convertAll(notifications.getContent());
+        return new PageImpl<>(dtos, notifications.getPageable(), notifications.getTotalElements());
+    }
+
+    private List<NotificationDTO> convertAll(List<Notification> notifications) {
+        // Group the referenced entities by type so each type is one IN query
+        Set<Long> recipeIds = new HashSet<>();
+        Set<Long> commentIds = new HashSet<>();
+        for (Notification notification : notifications) {
+            if (notification.getNotificationType() == null || notification.getEntityId() == null) {
+                continue;
+            }
+            if (isCommentNotification(notification.getNotificationType())) {
+                commentIds.add(notification.getEntityId());
+            } else if (isRecipeNotification(notification.getNotificationType())) {
+                recipeIds.add(notification.getEntityId());
+            }
+        }
+
+        Map<Long, String> recipeTitles = new HashMap<>();
+        Map<Long, Object[]> commentRecipes = new HashMap<>();
+        try {
+            if (!recipeIds.isEmpty()) {
+                for (Object[] row : recipeRepository.findTitlesByIds(recipeIds)) {
+                    recipeTitles.put((Long) row[0], (String) row[1]);
+                }
+            }
+            if (!commentIds.isEmpty()) {
+                for (Object[] row : commentRepository.findRecipeTitlesByCommentIds(commentIds)) {
+                    commentRecipes.put((Long) row[0], row);
+                }
+            }
+        } catch (Exception e) {
+            // If we can't load context information, just continue without it
+        }
+
+        List<NotificationDTO> dtos = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            NotificationDTO dto = toDTO(notification);
+            addContextInformation(dto, notification, recipeTitles, commentRecipes);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private NotificationDTO toDTO(Notification notification) {
         NotificationDTO dto = new NotificationDTO();
         dto.setId(notification.getId());
         dto.setMessage(notification.getMessage());
@@ -234,52 +328,47 @@ public class NotificationServiceImpl implements NotificationService {
         if (notification.getBatchActors() != null) {
             dto.setBatchActors(deserializeActors(notification.getBatchActors()));
         }
-
-        // Add context information based on notification type
-        addContextInformation(dto, notification);
-
         return dto;
     }
 
-    private void addContextInformation(NotificationDTO dto, Notification notification) {
-        try {
-            switch (notification.getNotificationType()) {
-                case RECIPE_LIKE:
-                case RECIPE_COMMENT:
-                case RECIPE_REVIEW:
-                    Recipe recipe = recipeRepository.findById(notification.getEntityId()).orElse(null);
-                    if (recipe != null) {
-                        dto.setEntityTitle(recipe.getTitle());
-                        dto.setEntityUrl("/recipes/" + recipe.getId());
-                    }
-                    break;
-                case COMMENT_REPLY:
-                case COMMENT_LIKE:
-                    Comment comment = commentRepository.findById(notification.getEntityId()).orElse(null);
-                    if (comment != null) {
-                        dto.setEntityTitle(comment.getRecipe().getTitle());
-                        dto.setEntityUrl("/recipes/" + comment.getRecipe().getId() + "#comment-" + comment.getId());
-                    }
-                    break;
-                default:
-                    break;
+    // commentRecipes rows are (commentId, recipeId, recipeTitle)
+    private void addContextInformation(NotificationDTO dto, Notification notification,
+                                       Map<Long, String> recipeTitles, Map<Long, Object[]> commentRecipes) {
+        if (notification.getNotificationType() == null || notification.getEntityId() == null) {
+            return;
+        }
+        if (isCommentNotification(notification.getNotificationType())) {
+            Object[] row = commentRecipes.get(notification.getEntityId());
+            if (row != null) {
+                dto.setEntityTitle((String) row[2]);
+                dto.setEntityUrl("/recipes/" + row[1] + "#comment-" + row[0]);
+            }
+        } else if (isRecipeNotification(notification.getNotificationType())) {
+            String title = recipeTitles.get(notification.getEntityId());
+            if (title != null) {
+                dto.setEntityTitle(title);
+                dto.setEntityUrl("/recipes/" + notification.getEntityId());
             }
-        } catch (Exception e) {
-            // If we can't load context information, just continue without it
         }
     }
 
+    private static boolean isRecipeNotification(NotificationType type) {
+        return type == NotificationType.RECIPE_LIKE || type == NotificationType.RECIPE_COMMENT
+                || type == NotificationType.RECIPE_REVIEW;
+    }
+
+    private static boolean isCommentNotification(NotificationType type) {
+        return type == NotificationType.COMMENT_REPLY || type == NotificationType.COMMENT_LIKE;
+    }
+
     @Override
-    @Transactional
     public int deleteOldNotifications(int daysOld) {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysOld);
-        // This would require a custom query in the repository
-        // For now, return 0 as placeholder
-        return 0;
+        // Deleted in chunks, each committed on its own
+        return notificationRetentionJob.purgeRead(LocalDateTime.now().minusDays(daysOld));
     }
 
     // Batching helper methods
-    private void createOrUpdateBatchedLikeNotification(Recipe recipe, User actor) {
+    private void createOrUpdateBatchedLikeNotification(Recipe recipe, List<String> newActors) {
         String batchKey = createBatchKey(NotificationType.RECIPE_LIKE, recipe.getId());
         LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
 
@@ -289,16 +378,17 @@ public class NotificationServiceImpl implements NotificationService {
 
         if (existingNotification.isPresent()) {
             // Update existing batched notification
-            updateBatchedNotification(existingNotification.get(), actor, recipe.getTitle());
+            updateBatchedNotification(existingNotification.get(), newActors, recipe.getTitle());
+            eventPublisher.publishEvent(new NotificationChangedEvent(
+                    recipe.getUser().getId(), existingNotification.get().getId()));
         } else {
             // Create new notification
-            createNewBatchedLikeNotification(recipe, actor, batchKey);
+            createNewBatchedLikeNotification(recipe, newActors, batchKey);
         }
     }
 
-    private void createNewBatchedLikeNotification(Recipe recipe, User actor, String batchKey) {
-        String message = String.format("%s liked your recipe \"%s\"",
-                actor.getUsername(), recipe.getTitle());
+    private void createNewBatchedLikeNotification(Recipe recipe, List<String> actors, String batchKey) {
+        String message = createBatchedMessage(actors, recipe.getTitle(), NotificationType.RECIPE_LIKE);
 
         Notification notification = new Notification();
         notification.setUser(recipe.getUser());
@@ -307,19 +397,24 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setEntityId(recipe.getId());
         notification.setRead(false);
         notification.setBatchKey(batchKey);
-        notification.setBatchCount(1);
+        notification.setBatchCount(actors.size());
         notification.setLastBatchUpdate(LocalDateTime.now());
-        notification.setBatchActors(serializeActors(Arrays.asList(actor.getUsername())));
+        notification.setBatchActors(serializeActors(actors));
+        notification.setStreamSequence(streamPositions.next());
 
-        notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        unreadNotificationCounter.increment(recipe.getUser().getId());
+        eventPublisher.publishEvent(new NotificationChangedEvent(recipe.getUser().getId(), savedNotification.getId()));
     }
 
-    private void updateBatchedNotification(Notification notification, User actor, String entityTitle) {
+    private void updateBatchedNotification(Notification notification, List<String> newActors, String entityTitle) {
         List<String> actors = deserializeActors(notification.getBatchActors());
 
-        // Add new actor if not already in the list
-        if (!actors.contains(actor.getUsername())) {
-            actors.add(actor.getUsername());
+        // Add new actors if not already in the list
+        for (String actor : newActors) {
+            if (!actors.contains(actor)) {
+                actors.add(actor);
+            }
         }
 
         int newCount = actors.size();
@@ -329,8 +424,14 @@ public class NotificationServiceImpl implements NotificationService {
                 notification.getId(),
                 newCount,
                 serializeActors(actors),
-                newMessage
+                newMessage,
+                // Moves to the end of the user's stream, so a reconnecting client replays it
+                streamPositions.next()
         );
+        // New likes make a read notification unread again
+        if (notification.isRead()) {
+            unreadNotificationCounter.increment(notification.getUser().getId());
+        }
     }
 
     private String createBatchKey(NotificationType type, Long entityId) {
@@ -0,0 +1,80 @@
+package com.javarecipe.backend.notification.service;
+
+import com.javarecipe.backend.notification.entity.NotificationStreamSequence;
+import com.javarecipe.backend.notification.repository.NotificationRepository;
+import com.javarecipe.backend.notification.repository.NotificationStreamSequenceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Positions in the users' notification streams (the SSE event ids), from one sequence
+ * shared by all users. Positions are reserved in blocks, each in a short transaction of
+ * its own, so creating a notification locks no shared row until it commits. Positions
+ * only grow; the ones left in a block at shutdown are skipped.
+ */
+@Component
+public class NotificationStreamPositions {
+
+    static final int SEQUENCE_ID = 1;
+
+    private final NotificationStreamSequenceRepository sequenceRepository;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+    // A lock rather than synchronized: positions are taken on virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    @Autowired
+    public NotificationStreamPositions(NotificationStreamSequenceRepository sequenceRepository,
+                                       NotificationRepository notificationRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${notification.stream.position-block-size:50}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.notificationRepository = notificationRepository;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public long next() {
+        lock.lock();
+        try {
+            if (next >= limit) {
+                limit = reserveBlock();
+                next = limit - blockSize;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the end (exclusive) of the reserved block
+    private long reserveBlock() {
+        try {
+            return reserveTransaction.execute(status -> advanceOrCreate());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the sequence row first
+            return reserveTransaction.execute(status -> advanceOrCreate());
+        }
+    }
+
+    private long advanceOrCreate() {
+        if (sequenceRepository.advance(SEQUENCE_ID, blockSize) > 0) {
+            return sequenceRepository.findNextValueById(SEQUENCE_ID).orElseThrow();
+        }
+        // First use: start past every position already handed out
+        long start = notificationRepository.findMaxStreamSequence().orElse(0L) + 1;
+        sequenceRepository.saveAndFlush(new NotificationStreamSequence(SEQUENCE_ID, start + blockSize));
+        return start + blockSize;
+    }
+}
@@ -0,0 +1,246 @@
+package com.javarecipe.backend.notification.service;
+
+import com.javarecipe.backend.notification.dto.NotificationDTO;
+import com.javarecipe.backend.notification.entity.Notification;
+import com.javarecipe.backend.notification.event.NotificationChangedEvent;
+import com.javarecipe.backend.notification.event.NotificationsReadEvent;
+import com.javarecipe.backend.notification.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Open Server-Sent Events streams per user. A stream gets the user's unread count
+ * when it opens, then every new or re-batched notification and every unread count
+ * change once its transaction commits. Streams are async requests, so an idle
+ * subscriber holds no thread. A periodic heartbeat comment keeps proxies from closing
+ * idle streams and detects dead ones. A notification event's id is its stream position,
+ * taken anew from NotificationStreamPositions on every creation and re-batch. A client that
+ * reconnects with the last id it received (the Last-Event-ID header) first gets every
+ * notification created or re-batched since. Subscribers are held in this process only.
+ * <p>
+ * Events are written to a stream by a virtual thread of its own, fed through a small
+ * bounded queue, so the committing thread and the scheduler never write to a client
+ * socket. A client too slow to drain its queue is dropped and reconnects with replay.
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamRegistry.class);
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    private final NotificationService notificationService;
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final long timeoutMillis;
+    private final int replayLimit;
+    private final int sendQueueCapacity;
+    private final TransactionTemplate freshReadTransaction;
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationStreamRegistry(NotificationService notificationService,
+                                      NotificationRepository notificationRepository,
+                                      UnreadNotificationCounter unreadNotificationCounter,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${notification.stream.timeout-ms:1800000}") long timeoutMillis,
+                                      @Value("${notification.stream.replay-limit:50}") int replayLimit,
+                                      @Value("${notification.stream.send-queue-capacity:64}") int sendQueueCapacity) {
+        this.notificationService = notificationService;
+        this.notificationRepository = notificationRepository;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.timeoutMillis = timeoutMillis;
+        this.replayLimit = replayLimit;
+        this.sendQueueCapacity = sendQueueCapacity;
+        // Change listeners run while the committed transaction's persistence context is still open,
+        // and it holds the notification as loaded before a bulk re-batch update
+        this.freshReadTransaction = new TransactionTemplate(transactionManager);
+        this.freshReadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.freshReadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Open a stream for the user, replaying the notifications changed after lastEventId if given
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter, sendQueueCapacity, this::remove);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.compute(userId, (id, current) -> {
+            List<Subscriber> result = current != null ? current : new CopyOnWriteArrayList<>();
+            result.add(subscriber);
+            return result;
+        });
+
+        if (lastEventId != null) {
+            List<Notification> missed = notificationRepository
+                    .findByUserIdAndStreamSequenceGreaterThanOrderByStreamSequenceAsc(
+                            userId, lastEventId, PageRequest.of(0, replayLimit));
+            List<NotificationDTO> dtos = notificationService.convertToDTOs(new PageImpl<>(missed)).getContent();
+            for (int i = 0; i < missed.size(); i++) {
+                subscriber.send(notificationEvent(missed.get(i).getStreamSequence(), dtos.get(i)));
+            }
+        }
+        subscriber.send(unreadCountEvent(userId));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationChanged(NotificationChangedEvent event) {
+        List<Subscriber> current = subscribers.get(event.userId());
+        if (current == null || current.isEmpty()) {
+            return;
+        }
+        freshReadTransaction.executeWithoutResult(status ->
+                notificationRepository.findById(event.notificationId()).ifPresent(notification -> {
+                    NotificationDTO dto = notificationService.convertToDTO(notification);
+                    broadcast(event.userId(), () -> notificationEvent(notification.getStreamSequence(), dto));
+                }));
+        broadcast(event.userId(), () -> unreadCountEvent(event.userId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        if (subscribers.containsKey(event.userId())) {
+            broadcast(event.userId(), () -> unreadCountEvent(event.userId()));
+        }
+    }
+
+    /**
+     * Queue a comment line for every open stream; the ones that fail to take it are dropped
+     */
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach((userId, current) -> {
+            for (Subscriber subscriber : current) {
+                subscriber.send(SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    /**
+     * Number of users with an open stream and of open streams
+     */
+    public Map<String, Object> getStats() {
+        int streams = 0;
+        for (List<Subscriber> current : subscribers.values()) {
+            streams += current.size();
+        }
+        return Map.of("users", subscribers.size(), "streams", streams);
+    }
+
+    int getSubscriberCount(Long userId) {
+        return subscribers.getOrDefault(userId, Collections.emptyList()).size();
+    }
+
+    private void broadcast(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        List<Subscriber> current = subscribers.get(userId);
+        if (current == null) {
+            return;
+        }
+        for (Subscriber subscriber : current) {
+            subscriber.send(event.get());
+        }
+    }
+
+    private SseEmitter.SseEventBuilder notificationEvent(Long streamSequence, NotificationDTO dto) {
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .name(NOTIFICATION_EVENT)
+                .data(dto);
+        // Notifications older than stream positions have none and leave the client's last id as it was
+        return streamSequence != null ? event.id(String.valueOf(streamSequence)) : event;
+    }
+
+    private SseEmitter.SseEventBuilder unreadCountEvent(Long userId) {
+        return SseEmitter.event()
+                .name(UNREAD_COUNT_EVENT)
+                .data(Map.of("unreadCount", unreadNotificationCounter.get(userId)));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, current) -> {
+            current.remove(subscriber);
+            return current.isEmpty() ? null : current;
+        });
+        subscriber.close();
+    }
+
+    /**
+     * One open stream and the queue of events waiting to be written to it, in order
+     */
+    static final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ThreadPoolExecutor writer;
+        private final Consumer<Subscriber> onDropped;
+
+        Subscriber(Long userId, SseEmitter emitter, int queueCapacity, Consumer<Subscriber> onDropped) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.onDropped = onDropped;
+            // The writer thread exits when the stream is idle and is started again by the next event
+            this.writer = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    Thread.ofVirtual().name("notification-stream-" + userId).factory());
+            this.writer.allowCoreThreadTimeOut(true);
+        }
+
+        /**
+         * Queue an event without waiting for the client; a full queue drops the stream
+         */
+        void send(SseEmitter.SseEventBuilder event) {
+            try {
+                writer.execute(() -> write(event));
+            } catch (RejectedExecutionException e) {
+                if (!writer.isShutdown()) {
+                    logger.debug("Dropping notification stream of user {}: client is not reading", userId);
+                    onDropped.accept(this);
+                    // Waits for the stuck write to release the emitter, so not on this thread
+                    Thread.ofVirtual().start(emitter::complete);
+                }
+            }
+        }
+
+        void close() {
+            writer.shutdownNow();
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the request
+                logger.debug("Dropping notification stream of user {}: {}", userId, e.getMessage());
+                onDropped.accept(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.javarecipe.backend.notification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.javarecipe.backend.notification.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+import static com.javarecipe.backend.common.service.TransactionHooks.afterCommit;
+
+/**
+ * Unread notification count per user. A user's count is loaded with one COUNT query
+ * on first use and then kept current in memory as notifications are created and read,
+ * so polling the count does not touch the database. Changes are applied once their
+ * transaction commits. Changes update the held count in place rather than writing the
+ * cache entry, so an entry still expires some minutes after it was loaded, which
+ * bounds any drift (e.g. from a notification committed while its user's count loaded).
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, AtomicLong> cache;
+
+    @Autowired
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     @Value("${notification.unread-count-cache.maximum-size:100000}") long maximumSize,
+                                     @Value("${notification.unread-count-cache.ttl-minutes:10}") long ttlMinutes) {
+        this(notificationRepository, maximumSize, ttlMinutes, Ticker.systemTicker());
+    }
+
+    UnreadNotificationCounter(NotificationRepository notificationRepository, long maximumSize, long ttlMinutes,
+                              Ticker ticker) {
+        this.notificationRepository = notificationRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public long get(Long userId) {
+        return cache.get(userId, id -> new AtomicLong(notificationRepository.countByUserIdAndIsReadFalse(id))).get();
+    }
+
+    /**
+     * Count a new unread notification once the current transaction commits
+     */
+    public void increment(Long userId) {
+        update(userId, value -> value + 1);
+    }
+
+    /**
+     * Count a notification as read once the current transaction commits
+     */
+    public void decrement(Long userId) {
+        update(userId, value -> Math.max(0, value - 1));
+    }
+
+    /**
+     * Set the count to zero once the current transaction commits
+     */
+    public void reset(Long userId) {
+        update(userId, value -> 0);
+    }
+
+    // Read without recording a hit and mutate in place; a cache write would restart the expiry
+    private void update(Long userId, LongUnaryOperator change) {
+        afterCommit(() -> {
+            AtomicLong count = cache.policy().getIfPresentQuietly(userId);
+            if (count != null) {
+                count.updateAndGet(change);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Number of users held and hit/miss statistics
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+}
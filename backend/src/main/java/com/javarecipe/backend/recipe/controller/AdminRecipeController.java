@@ -1,5 +1,6 @@
 package com.javarecipe.backend.recipe.controller;
 
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.service.RecipeService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,7 +40,7 @@ public class AdminRecipeController {
                 Sort.Direction.ASC : Sort.Direction.DESC;
         
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<Recipe> recipePage;
+        Page<RecipeCardDTO> recipePage;
         
         if (published != null) {
             recipePage = recipeService.getAllRecipesByPublishedStatus(published, pageable);
@@ -1,6 +1,8 @@
 package com.javarecipe.backend.recipe.controller;
 
 import com.javarecipe.backend.common.service.CloudinaryService;
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
+import com.javarecipe.backend.recipe.dto.RecipeCursorPage;
 import com.javarecipe.backend.recipe.dto.RecipeRequest;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.service.RecipeService;
@@ -13,6 +15,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -47,13 +50,25 @@ public class RecipeController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        // Cursor mode: keyset pagination, no OFFSET scan and no count unless asked for
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(toCursorResponse(
+                        recipeService.getAllPublishedRecipes(cursor, size, sortBy, direction, includeTotal)));
+            } catch (IllegalArgumentException e) {
+                return badRequest(e.getMessage());
+            }
+        }
         
         Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? 
                 Sort.Direction.ASC : Sort.Direction.DESC;
         
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<Recipe> recipePage = recipeService.getAllPublishedRecipes(pageable);
+        Page<RecipeCardDTO> recipePage = recipeService.getAllPublishedRecipes(pageable);
         
         Map<String, Object> response = new HashMap<>();
         response.put("recipes", recipePage.getContent());
@@ -71,7 +86,12 @@ public class RecipeController {
             @RequestParam(defaultValue = "10") int size) {
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Recipe> recipePage = recipeService.searchRecipes(query, pageable);
+        Page<RecipeCardDTO> recipePage;
+        try {
+            recipePage = recipeService.searchRecipes(query, pageable);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
         
         Map<String, Object> response = new HashMap<>();
         response.put("recipes", recipePage.getContent());
@@ -93,8 +113,10 @@ public class RecipeController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getRecipeById(@PathVariable Long id) {
         try {
-            Recipe recipe = recipeService.getRecipeById(id);
-            return ResponseEntity.ok(recipe);
+            byte[] recipeJson = recipeService.getRecipeDetailJson(id);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(recipeJson);
         } catch (EntityNotFoundException e) {
             Map<String, String> response = new HashMap<>();
             response.put("message", "Recipe not found");
@@ -268,13 +290,24 @@ public class RecipeController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(toCursorResponse(
+                        recipeService.getRecipesByUser(currentUser, cursor, size, sortBy, direction, includeTotal)));
+            } catch (IllegalArgumentException e) {
+                return badRequest(e.getMessage());
+            }
+        }
         
         Sort.Direction sortDirection = direction.equalsIgnoreCase("asc") ? 
                 Sort.Direction.ASC : Sort.Direction.DESC;
         
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy));
-        Page<Recipe> recipePage = recipeService.getRecipesByUser(currentUser, pageable);
+        Page<RecipeCardDTO> recipePage = recipeService.getRecipesByUser(currentUser, pageable);
         
         Map<String, Object> response = new HashMap<>();
         response.put("recipes", recipePage.getContent());
@@ -289,10 +322,24 @@ public class RecipeController {
     public ResponseEntity<Map<String, Object>> getRecipesByCategory(
             @PathVariable String categoryName,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        // sortBy and direction only apply in cursor mode
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(toCursorResponse(recipeService.getRecipesByCategory(
+                        categoryName, cursor, size, sortBy, direction, includeTotal)));
+            } catch (IllegalArgumentException e) {
+                return badRequest(e.getMessage());
+            }
+        }
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Recipe> recipePage = recipeService.getRecipesByCategory(categoryName, pageable);
+        Page<RecipeCardDTO> recipePage = recipeService.getRecipesByCategory(categoryName, pageable);
         
         Map<String, Object> response = new HashMap<>();
         response.put("recipes", recipePage.getContent());
@@ -302,4 +349,21 @@ public class RecipeController {
         
         return ResponseEntity.ok(response);
     }
+    
+    private Map<String, Object> toCursorResponse(RecipeCursorPage recipePage) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("recipes", recipePage.getRecipes());
+        response.put("nextCursor", recipePage.getNextCursor());
+        response.put("hasNext", recipePage.isHasNext());
+        if (recipePage.getTotalItems() != null) {
+            response.put("totalItems", recipePage.getTotalItems());
+        }
+        return response;
+    }
+    
+    private ResponseEntity<Map<String, Object>> badRequest(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        return ResponseEntity.badRequest().body(response);
+    }
 } 
\ No newline at end of file
@@ -44,6 +44,17 @@ public class RecipeSearchController {
         return ResponseEntity.ok(ingredients);
     }
 
+    /**
+     * Get the most used ingredients
+     */
+    @GetMapping("/ingredients/popular")
+    public ResponseEntity<List<IngredientSearchDTO>> getPopularIngredients(
+            @RequestParam(defaultValue = "20") int limit) {
+
+        List<IngredientSearchDTO> ingredients = recipeSearchService.getPopularIngredients(Math.max(1, Math.min(limit, 100)));
+        return ResponseEntity.ok(ingredients);
+    }
+
     /**
      * Find recipes that can be made with selected ingredients
      */
@@ -0,0 +1,38 @@
+package com.javarecipe.backend.recipe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary of a recipe for list pages. Filled by a single JPQL constructor
+ * expression (see RecipeRepository.CARD_SELECT), so the field order here
+ * must match the order of the selected columns.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeCardDTO {
+    private Long id;
+    private String title;
+    private Integer prepTime;
+    private Integer cookTime;
+    private String difficulty;
+    private Double averageRating;
+    private Integer reviewCount;
+    private Long viewCount;
+    private boolean isPublished;
+    private LocalDateTime createdAt;
+
+    // User information
+    private Long authorId;
+    private String authorUsername;
+    private String authorDisplayName;
+
+    // Primary image, or any image when none is marked primary
+    private String primaryImageUrl;
+}
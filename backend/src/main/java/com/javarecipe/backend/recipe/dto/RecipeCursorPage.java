@@ -0,0 +1,19 @@
+package com.javarecipe.backend.recipe.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeCursorPage {
+    private List<RecipeCardDTO> recipes;
+    private String nextCursor; // null on the last page
+    private boolean hasNext;
+    private Long totalItems; // only when requested
+}
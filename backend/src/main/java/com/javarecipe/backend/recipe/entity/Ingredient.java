@@ -7,7 +7,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "ingredients")
+@Table(name = "ingredients", indexes = {
+        @Index(name = "idx_ingredients_canonical_name", columnList = "canonical_name")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,6 +23,10 @@ public class Ingredient {
     @Column(nullable = false, length = 100)
     private String name;
 
+    // Folded, singular, synonym-resolved form of name used for matching
+    @Column(name = "canonical_name", length = 100)
+    private String canonicalName;
+
     @Column(length = 50)
     private String quantity;
 
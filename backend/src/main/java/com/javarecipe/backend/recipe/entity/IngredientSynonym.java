@@ -0,0 +1,31 @@
+package com.javarecipe.backend.recipe.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Admin-managed mapping from an ingredient name variant (e.g. "roma tomato")
+ * to the canonical name it should be matched as (e.g. "tomato").
+ * Both columns are stored already folded and singularized.
+ */
+@Entity
+@Table(name = "ingredient_synonyms")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngredientSynonym {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String variant;
+
+    @Column(name = "canonical_name", nullable = false, length = 100)
+    private String canonicalName;
+}
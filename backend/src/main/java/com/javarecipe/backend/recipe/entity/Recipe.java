@@ -17,7 +17,15 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "recipes")
+@Table(name = "recipes", indexes = {
+        // Keyset pagination: (scope, sort key, id)
+        @Index(name = "idx_recipes_published_created", columnList = "is_published, created_at, id"),
+        @Index(name = "idx_recipes_published_views", columnList = "is_published, view_count, id"),
+        @Index(name = "idx_recipes_published_title", columnList = "is_published, title, id"),
+        @Index(name = "idx_recipes_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_recipes_user_views", columnList = "user_id, view_count, id"),
+        @Index(name = "idx_recipes_user_title", columnList = "user_id, title, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,15 +56,52 @@ public class Recipe {
     @Column(name = "is_published", nullable = false)
     private boolean isPublished;
 
-    @Column(name = "view_count", nullable = false)
+    // Advanced only by RecipeViewCounter's relative updates
+    @Column(name = "view_count", nullable = false, updatable = false)
     private Long viewCount = 0L;
 
-    @Column(name = "average_rating")
+    // Rating columns are only changed by the repository's delta and reconcile updates;
+    // updatable = false keeps entity saves from writing back values loaded earlier
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating;
 
-    @Column(name = "review_count")
+    @Column(name = "review_count", updatable = false)
     private Integer reviewCount;
 
+    // Running rating aggregates, adjusted by delta updates on review writes
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(name = "one_star_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer oneStarCount = 0;
+
+    @Column(name = "two_star_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer twoStarCount = 0;
+
+    @Column(name = "three_star_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer threeStarCount = 0;
+
+    @Column(name = "four_star_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer fourStarCount = 0;
+
+    @Column(name = "five_star_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer fiveStarCount = 0;
+
+    // Denormalized interaction counters, adjusted by write-behind relative updates
+    @Column(name = "like_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer likeCount = 0;
+
+    @Column(name = "favorite_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer favoriteCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     @JsonIgnoreProperties({"password", "resetToken", "resetTokenExpires", "recipes", "hibernateLazyInitializer"})
@@ -0,0 +1,9 @@
+package com.javarecipe.backend.recipe.event;
+
+/**
+ * Published whenever a recipe is created, updated, deleted or has its
+ * published status changed. Listeners that keep derived state (such as the
+ * in-memory ingredient index) reload the recipe after the transaction commits.
+ */
+public record RecipeChangedEvent(Long recipeId) {
+}
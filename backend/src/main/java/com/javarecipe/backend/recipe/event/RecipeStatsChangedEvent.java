@@ -0,0 +1,9 @@
+package com.javarecipe.backend.recipe.event;
+
+/**
+ * Published when counters shown on a recipe (rating, review count) change without
+ * the recipe itself being edited. Cheaper than {@link RecipeChangedEvent}: only
+ * caches of the rendered recipe need to react, not the search indexes.
+ */
+public record RecipeStatsChangedEvent(Long recipeId) {
+}
@@ -1,15 +1,39 @@
 package com.javarecipe.backend.recipe.repository;
 
 import com.javarecipe.backend.recipe.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     
+    // Reference data: entities live in the second-level cache, result ids in the query cache
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Page<Category> findAll(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByName(String name);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     boolean existsByName(String name);
+
+    /**
+     * Number of recipes per category id, in one grouped query
+     */
+    @Query("SELECT c.id, COUNT(r) FROM Recipe r JOIN r.categories c GROUP BY c.id")
+    List<Object[]> countRecipesPerCategory();
 } 
\ No newline at end of file
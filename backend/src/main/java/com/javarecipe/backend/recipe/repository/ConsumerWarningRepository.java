@@ -1,15 +1,39 @@
 package com.javarecipe.backend.recipe.repository;
 
 import com.javarecipe.backend.recipe.entity.ConsumerWarning;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ConsumerWarningRepository extends JpaRepository<ConsumerWarning, Long> {
     
+    // Reference data: entities live in the second-level cache, result ids in the query cache
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<ConsumerWarning> findAll();
+
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Page<ConsumerWarning> findAll(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<ConsumerWarning> findByName(String name);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     boolean existsByName(String name);
+
+    /**
+     * Number of recipes per consumerWarning id, in one grouped query
+     */
+    @Query("SELECT w.id, COUNT(r) FROM Recipe r JOIN r.consumerWarnings w GROUP BY w.id")
+    List<Object[]> countRecipesPerConsumerWarning();
 } 
\ No newline at end of file
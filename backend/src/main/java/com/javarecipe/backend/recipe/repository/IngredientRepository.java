@@ -3,10 +3,12 @@ package com.javarecipe.backend.recipe.repository;
 import com.javarecipe.backend.recipe.entity.Ingredient;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,13 +18,31 @@ public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
 
     void deleteByRecipe(Recipe recipe);
 
-    // Ingredient search methods for "Recipes I Can Make" feature
-    @Query("SELECT DISTINCT LOWER(TRIM(i.name)) FROM Ingredient i WHERE i.recipe.isPublished = true ORDER BY LOWER(TRIM(i.name))")
-    List<String> findDistinctIngredientNames();
+    // Projections used to build the in-memory ingredient index
+    @Query("SELECT i.recipe.id, i.canonicalName FROM Ingredient i WHERE i.recipe.isPublished = true AND i.canonicalName IS NOT NULL")
+    List<Object[]> findPublishedRecipeIngredientNames();
 
-    @Query("SELECT DISTINCT LOWER(TRIM(i.name)) FROM Ingredient i WHERE i.recipe.isPublished = true AND LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY LOWER(TRIM(i.name))")
-    List<String> searchIngredientNames(@Param("query") String query);
+    @Query("SELECT i.canonicalName FROM Ingredient i WHERE i.recipe.id = :recipeId AND i.canonicalName IS NOT NULL")
+    List<String> findNormalizedNamesByRecipeId(@Param("recipeId") Long recipeId);
 
-    @Query("SELECT COUNT(DISTINCT i.recipe.id) FROM Ingredient i WHERE LOWER(TRIM(i.name)) = LOWER(:ingredientName) AND i.recipe.isPublished = true")
-    Long countRecipesByIngredientName(@Param("ingredientName") String ingredientName);
-}
\ No newline at end of file
+    // Ingredient text for the full-text recipe search index
+    @Query("SELECT i.recipe.id, i.name FROM Ingredient i WHERE i.recipe.id IN :recipeIds")
+    List<Object[]> findNamesByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    // Canonical name maintenance
+    // Rows are (ingredient id, recipe id, raw name, canonical name), read through the canonical name index
+    @Query("SELECT i.id, i.recipe.id, i.name, i.canonicalName FROM Ingredient i WHERE i.canonicalName IN :canonicalNames")
+    List<Object[]> findNamesByCanonicalNameIn(@Param("canonicalNames") Collection<String> canonicalNames);
+
+    @Query("SELECT DISTINCT i.name FROM Ingredient i WHERE i.canonicalName IS NULL")
+    List<String> findDistinctRawNamesWithoutCanonicalName();
+
+    @Modifying
+    @Query("UPDATE Ingredient i SET i.canonicalName = :canonicalName WHERE i.name = :name " +
+            "AND (i.canonicalName IS NULL OR i.canonicalName <> :canonicalName)")
+    int updateCanonicalNameByName(@Param("name") String name, @Param("canonicalName") String canonicalName);
+
+    @Modifying
+    @Query("UPDATE Ingredient i SET i.canonicalName = :canonicalName WHERE i.id IN :ids")
+    int updateCanonicalNameByIdIn(@Param("ids") Collection<Long> ids, @Param("canonicalName") String canonicalName);
+}
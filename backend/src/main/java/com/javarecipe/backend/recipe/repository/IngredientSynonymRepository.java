@@ -0,0 +1,18 @@
+package com.javarecipe.backend.recipe.repository;
+
+import com.javarecipe.backend.recipe.entity.IngredientSynonym;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IngredientSynonymRepository extends JpaRepository<IngredientSynonym, Long> {
+
+    boolean existsByVariant(String variant);
+
+    Optional<IngredientSynonym> findByVariant(String variant);
+
+    List<IngredientSynonym> findByCanonicalName(String canonicalName);
+}
@@ -3,8 +3,11 @@ package com.javarecipe.backend.recipe.repository;
 import com.javarecipe.backend.recipe.entity.Instruction;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +16,8 @@ public interface InstructionRepository extends JpaRepository<Instruction, Long>
     List<Instruction> findByRecipeOrderByStepNumber(Recipe recipe);
     
     void deleteByRecipe(Recipe recipe);
+
+    // Instruction text for the full-text recipe search index
+    @Query("SELECT s.recipe.id, s.description FROM Instruction s WHERE s.recipe.id IN :recipeIds")
+    List<Object[]> findDescriptionsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
 } 
\ No newline at end of file
@@ -1,29 +1,107 @@
 package com.javarecipe.backend.recipe.repository;
 
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.user.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
-    
-    Page<Recipe> findAllByIsPublishedTrue(Pageable pageable);
-    
-    Page<Recipe> findAllByIsPublishedFalse(Pageable pageable);
-    
-    Page<Recipe> findAllByUser(User user, Pageable pageable);
-    
-    @Query("SELECT r FROM Recipe r WHERE r.isPublished = true AND " +
-           "(LOWER(r.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(r.description) LIKE LOWER(CONCAT('%', :query, '%')))")
-    Page<Recipe> searchByTitleOrDescription(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Select clause of the list-page projection; the query must alias the recipe as r and join its user as u.
+     * The primary image comes from correlated subqueries, so a whole page is one SQL statement.
+     */
+    String CARD_SELECT = "SELECT new com.javarecipe.backend.recipe.dto.RecipeCardDTO(" +
+            "r.id, r.title, r.prepTime, r.cookTime, r.difficulty, r.averageRating, r.reviewCount, r.viewCount, " +
+            "r.isPublished, r.createdAt, u.id, u.username, u.displayName, " +
+            "COALESCE((SELECT MIN(pi.imageUrl) FROM RecipeImage pi WHERE pi.recipe = r AND pi.isPrimary = true), " +
+            "(SELECT MIN(ai.imageUrl) FROM RecipeImage ai WHERE ai.recipe = r))) ";
+
+    // Recipe cards for the list endpoints
+    @Query(value = CARD_SELECT + "FROM Recipe r JOIN r.user u",
+           countQuery = "SELECT COUNT(r) FROM Recipe r")
+    Page<RecipeCardDTO> findAllCards(Pageable pageable);
+
+    @Query(value = CARD_SELECT + "FROM Recipe r JOIN r.user u WHERE r.isPublished = :published",
+           countQuery = "SELECT COUNT(r) FROM Recipe r WHERE r.isPublished = :published")
+    Page<RecipeCardDTO> findCardsByPublished(@Param("published") boolean published, Pageable pageable);
+
+    @Query(value = CARD_SELECT + "FROM Recipe r JOIN r.user u WHERE r.user = :user",
+           countQuery = "SELECT COUNT(r) FROM Recipe r WHERE r.user = :user")
+    Page<RecipeCardDTO> findCardsByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(value = CARD_SELECT + "FROM Recipe r JOIN r.user u JOIN r.categories c " +
+                   "WHERE LOWER(c.name) = LOWER(:categoryName) AND r.isPublished = true",
+           countQuery = "SELECT COUNT(r) FROM Recipe r JOIN r.categories c " +
+                        "WHERE LOWER(c.name) = LOWER(:categoryName) AND r.isPublished = true")
+    Page<RecipeCardDTO> findCardsByCategoryName(@Param("categoryName") String categoryName, Pageable pageable);
+
+    @Query(value = CARD_SELECT + "FROM Recipe r JOIN r.user u WHERE r.isPublished = true AND " +
+                   "(LOWER(r.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+                   "LOWER(r.description) LIKE LOWER(CONCAT('%', :query, '%')))",
+           countQuery = "SELECT COUNT(r) FROM Recipe r WHERE r.isPublished = true AND " +
+                        "(LOWER(r.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+                        "LOWER(r.description) LIKE LOWER(CONCAT('%', :query, '%')))")
+    Page<RecipeCardDTO> searchCardsByTitleOrDescription(@Param("query") String query, Pageable pageable);
+
+    @Query(CARD_SELECT + "FROM Recipe r JOIN r.user u WHERE r.id IN :recipeIds")
+    List<RecipeCardDTO> findCardsByIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    /**
+     * Recipe with its whole detail graph initialized: author, images, ingredients,
+     * instructions, categories and consumer warnings. Each collection is fetched by its
+     * own statement into the same persistence context, so the result is a fixed five
+     * selects with no Cartesian product between the collections. Call inside a transaction.
+     */
+    default Optional<Recipe> findDetailById(Long id) {
+        Optional<Recipe> recipe = findWithAuthorAndImagesById(id);
+        if (recipe.isPresent()) {
+            findWithIngredientsById(id);
+            findWithInstructionsById(id);
+            findWithCategoriesById(id);
+            findWithConsumerWarningsById(id);
+        }
+        return recipe;
+    }
+
+    // Fetch plans used by findDetailById
+    @EntityGraph(attributePaths = {"user", "user.roles", "images"})
+    @Query("SELECT r FROM Recipe r WHERE r.id = :id")
+    Optional<Recipe> findWithAuthorAndImagesById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "ingredients")
+    @Query("SELECT r FROM Recipe r WHERE r.id = :id")
+    Optional<Recipe> findWithIngredientsById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "instructions")
+    @Query("SELECT r FROM Recipe r WHERE r.id = :id")
+    Optional<Recipe> findWithInstructionsById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "categories")
+    @Query("SELECT r FROM Recipe r WHERE r.id = :id")
+    Optional<Recipe> findWithCategoriesById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "consumerWarnings")
+    @Query("SELECT r FROM Recipe r WHERE r.id = :id")
+    Optional<Recipe> findWithConsumerWarningsById(@Param("id") Long id);
     
     @Query("SELECT r FROM Recipe r JOIN r.categories c WHERE c.id IN :categoryIds AND r.isPublished = true")
     Page<Recipe> findByCategoryIds(@Param("categoryIds") List<Long> categoryIds, Pageable pageable);
@@ -32,14 +110,137 @@ public interface RecipeRepository extends JpaRepository<Recipe, Long> {
            "LOWER(i.name) LIKE LOWER(CONCAT('%', :ingredient, '%')) AND r.isPublished = true")
     Page<Recipe> findByIngredient(@Param("ingredient") String ingredient, Pageable pageable);
     
-    @Query(value = "SELECT r.* FROM recipes r " +
-                  "JOIN recipe_categories rc ON r.id = rc.recipe_id " +
-                  "JOIN categories c ON rc.category_id = c.id " +
-                  "WHERE LOWER(c.name) = LOWER(:categoryName) " +
-                  "AND r.is_published = true",
-           nativeQuery = true)
-    Page<Recipe> findByCategoryName(@Param("categoryName") String categoryName, Pageable pageable);
+    // Keyset (cursor) pagination; the sort must end with id
+    Window<Recipe> findByIsPublishedTrue(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Recipe> findByUser(User user, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Recipe> findByIsPublishedTrueAndCategoriesNameIgnoreCase(String categoryName, ScrollPosition position,
+                                                                     Sort sort, Limit limit);
+
+    long countByIsPublishedTrue();
+
+    long countByIsPublishedTrueAndCategoriesNameIgnoreCase(String categoryName);
+
+    /**
+     * Adjust the running rating aggregates of a recipe by a review delta in one atomic statement.
+     * The average is assigned first so it is computed from the old values on every database
+     * (MySQL evaluates SET assignments left to right).
+     * <p>
+     * Only applies while the star counts add up to the review count: rows reviewed before the
+     * histogram columns existed have zeros there until the backfill ran, and a delta on top of
+     * them would produce a wrong average. Returns 0 for such rows; the caller recomputes instead.
+     */
+    @Modifying
+    @Query("UPDATE Recipe r SET " +
+           "r.averageRating = CASE WHEN COALESCE(r.reviewCount, 0) + :countDelta > 0 " +
+           "THEN (r.ratingSum + :sumDelta) * 1.0 / (COALESCE(r.reviewCount, 0) + :countDelta) ELSE NULL END, " +
+           "r.reviewCount = COALESCE(r.reviewCount, 0) + :countDelta, " +
+           "r.ratingSum = r.ratingSum + :sumDelta, " +
+           "r.oneStarCount = r.oneStarCount + :oneStarDelta, " +
+           "r.twoStarCount = r.twoStarCount + :twoStarDelta, " +
+           "r.threeStarCount = r.threeStarCount + :threeStarDelta, " +
+           "r.fourStarCount = r.fourStarCount + :fourStarDelta, " +
+           "r.fiveStarCount = r.fiveStarCount + :fiveStarDelta " +
+           "WHERE r.id = :recipeId AND r.oneStarCount + r.twoStarCount + r.threeStarCount + r.fourStarCount " +
+           "+ r.fiveStarCount = COALESCE(r.reviewCount, 0)")
+    int applyRatingDelta(@Param("recipeId") Long recipeId,
+                         @Param("countDelta") int countDelta,
+                         @Param("sumDelta") long sumDelta,
+                         @Param("oneStarDelta") int oneStarDelta,
+                         @Param("twoStarDelta") int twoStarDelta,
+                         @Param("threeStarDelta") int threeStarDelta,
+                         @Param("fourStarDelta") int fourStarDelta,
+                         @Param("fiveStarDelta") int fiveStarDelta);
+
+    @Modifying
+    @Query("UPDATE Recipe r SET r.averageRating = :averageRating, r.reviewCount = :reviewCount, " +
+           "r.ratingSum = :ratingSum, r.oneStarCount = :oneStarCount, r.twoStarCount = :twoStarCount, " +
+           "r.threeStarCount = :threeStarCount, r.fourStarCount = :fourStarCount, r.fiveStarCount = :fiveStarCount " +
+           "WHERE r.id = :recipeId")
+    int setRatingStats(@Param("recipeId") Long recipeId,
+                       @Param("averageRating") Double averageRating,
+                       @Param("reviewCount") int reviewCount,
+                       @Param("ratingSum") long ratingSum,
+                       @Param("oneStarCount") int oneStarCount,
+                       @Param("twoStarCount") int twoStarCount,
+                       @Param("threeStarCount") int threeStarCount,
+                       @Param("fourStarCount") int fourStarCount,
+                       @Param("fiveStarCount") int fiveStarCount);
+
+    // Row is (averageRating, reviewCount, one..five star counts)
+    @Query("SELECT r.averageRating, r.reviewCount, r.oneStarCount, r.twoStarCount, r.threeStarCount, " +
+           "r.fourStarCount, r.fiveStarCount FROM Recipe r WHERE r.id = :recipeId")
+    List<Object[]> findRatingSummaryById(@Param("recipeId") Long recipeId);
+
+    // Rows are (id, reviewCount, ratingSum, one..five star counts), keyset-paged by id
+    @Query("SELECT r.id, r.reviewCount, r.ratingSum, r.oneStarCount, r.twoStarCount, r.threeStarCount, " +
+           "r.fourStarCount, r.fiveStarCount FROM Recipe r WHERE r.id > :afterId ORDER BY r.id")
+    List<Object[]> findRatingStatsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // True while some recipe's star counts do not add up to its review count, e.g. rows never backfilled
+    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Recipe r " +
+           "WHERE r.oneStarCount + r.twoStarCount + r.threeStarCount + r.fourStarCount + r.fiveStarCount " +
+           "<> COALESCE(r.reviewCount, 0)")
+    boolean existsRatingStatsOutOfSync();
+
+    // Row lock held until commit; rating deltas update the same row, so they wait for it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Recipe r WHERE r.id = :recipeId")
+    Optional<Recipe> findByIdForUpdate(@Param("recipeId") Long recipeId);
+
+    @Query("SELECT r.likeCount FROM Recipe r WHERE r.id = :recipeId")
+    Optional<Integer> findLikeCountById(@Param("recipeId") Long recipeId);
+
+    @Query("SELECT r.favoriteCount FROM Recipe r WHERE r.id = :recipeId")
+    Optional<Integer> findFavoriteCountById(@Param("recipeId") Long recipeId);
+
+    // Rows are (id, likeCount, favoriteCount), keyset-paged by id
+    @Query("SELECT r.id, r.likeCount, r.favoriteCount FROM Recipe r WHERE r.id > :afterId ORDER BY r.id")
+    List<Object[]> findInteractionCountsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    boolean existsByLikeCountGreaterThanOrFavoriteCountGreaterThan(int likeCount, int favoriteCount);
+
+    // Rows are (id, title)
+    @Query("SELECT r.id, r.title FROM Recipe r WHERE r.id IN :recipeIds")
+    List<Object[]> findTitlesByIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    // Rows are (id, likeCount, favoriteCount)
+    @Query("SELECT r.id, r.likeCount, r.favoriteCount FROM Recipe r WHERE r.id IN :recipeIds")
+    List<Object[]> findInteractionCountsByIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying
+    @Query("UPDATE Recipe r SET r.likeCount = :likeCount, r.favoriteCount = :favoriteCount WHERE r.id = :recipeId")
+    int setInteractionCounts(@Param("recipeId") Long recipeId,
+                             @Param("likeCount") int likeCount,
+                             @Param("favoriteCount") int favoriteCount);
 
     // Admin user management methods
     long countByUser(User user);
-}
\ No newline at end of file
+
+    // Projections used by the in-memory ingredient index
+    @Query("SELECT r.id FROM Recipe r WHERE r.isPublished = true")
+    List<Long> findPublishedRecipeIds();
+
+    @Query("SELECT r.id, c.id FROM Recipe r JOIN r.categories c WHERE r.isPublished = true")
+    List<Object[]> findPublishedRecipeCategoryIds();
+
+    @Query("SELECT c.id FROM Recipe r JOIN r.categories c WHERE r.id = :recipeId")
+    List<Long> findCategoryIdsByRecipeId(@Param("recipeId") Long recipeId);
+
+    @Query("SELECT r.isPublished FROM Recipe r WHERE r.id = :recipeId")
+    Optional<Boolean> findPublishedFlagById(@Param("recipeId") Long recipeId);
+
+    @Query("SELECT r.id, r.averageRating, r.viewCount, r.createdAt FROM Recipe r WHERE r.isPublished = true")
+    List<Object[]> findPublishedSortKeys();
+
+    @Query("SELECT r.id, r.averageRating, r.viewCount, r.createdAt FROM Recipe r WHERE r.id = :recipeId")
+    List<Object[]> findSortKeysById(@Param("recipeId") Long recipeId);
+
+    // Projections used by the full-text recipe search index, keyset-paged by id
+    @Query("SELECT r.id, r.title, r.description FROM Recipe r WHERE r.isPublished = true AND r.id > :afterId ORDER BY r.id")
+    List<Object[]> findPublishedTextAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT r.id, r.title, r.description FROM Recipe r WHERE r.isPublished = true AND r.id = :recipeId")
+    List<Object[]> findPublishedTextById(@Param("recipeId") Long recipeId);
+}
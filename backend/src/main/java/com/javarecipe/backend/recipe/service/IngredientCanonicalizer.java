@@ -0,0 +1,202 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.entity.IngredientSynonym;
+import com.javarecipe.backend.recipe.repository.IngredientRepository;
+import com.javarecipe.backend.recipe.repository.IngredientSynonymRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a free-text ingredient name into the key used for matching and counting:
+ * Unicode folded (accents and compatibility forms removed), lowercased, punctuation
+ * collapsed to single spaces, each word singularized, and finally resolved through
+ * the admin-managed synonym table. "Tomatoes", "Tomato " and "tomatoés" all become
+ * "tomato"; "Roma Tomatoes" becomes "tomato" once "roma tomato" is a synonym of it.
+ */
+@Component
+public class IngredientCanonicalizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngredientCanonicalizer.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Words that end in "s" but are not plurals
+    private static final Set<String> SINGULAR_WORDS = Set.of(
+            "asparagus", "couscous", "hummus", "molasses", "swiss", "grits", "citrus", "anise", "lemongrass");
+
+    // Singulars ending in "ie", whose plurals only drop the "s" rather than turning "ies" into "y"
+    private static final Set<String> IE_SINGULARS = Set.of(
+            "pie", "cookie", "brownie", "calorie", "smoothie", "veggie", "hoagie", "birdie", "potpie");
+
+    // Bounds the IN list of a canonical name update
+    private static final int UPDATE_CHUNK_SIZE = 500;
+
+    private final IngredientRepository ingredientRepository;
+    private final IngredientSynonymRepository ingredientSynonymRepository;
+
+    private volatile Map<String, String> synonyms;
+
+    @Autowired
+    public IngredientCanonicalizer(IngredientRepository ingredientRepository,
+                                   IngredientSynonymRepository ingredientSynonymRepository) {
+        this.ingredientRepository = ingredientRepository;
+        this.ingredientSynonymRepository = ingredientSynonymRepository;
+    }
+
+    /**
+     * Canonical key for an ingredient name
+     * @return the key, or null for a null or blank name
+     */
+    public String canonicalize(String name) {
+        String key = fold(name);
+        if (key == null) {
+            return null;
+        }
+        return getSynonyms().getOrDefault(key, key);
+    }
+
+    /**
+     * Folding and singularization only, without synonyms.
+     * Used for the variants and canonical names of synonym table entries.
+     * @return the folded name, or null for a null or blank name
+     */
+    public String fold(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFKD);
+        folded = COMBINING_MARKS.matcher(folded).replaceAll("");
+        folded = NON_ALPHANUMERIC.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        if (folded.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(folded.length());
+        for (String word : folded.split(" ")) {
+            if (!key.isEmpty()) {
+                key.append(' ');
+            }
+            key.append(singularize(word));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Reload the synonym table, e.g. after an admin changed it
+     */
+    public void reloadSynonyms() {
+        Map<String, String> loaded = new HashMap<>();
+        for (IngredientSynonym synonym : ingredientSynonymRepository.findAll()) {
+            loaded.put(synonym.getVariant(), synonym.getCanonicalName());
+        }
+        this.synonyms = loaded;
+    }
+
+    /**
+     * Fill in the canonical name of ingredients saved before canonicalization existed.
+     * Runs before the ingredient index is built.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional
+    public void backfillCanonicalNames() {
+        int updated = updateCanonicalNames(ingredientRepository.findDistinctRawNamesWithoutCanonicalName());
+        if (updated > 0) {
+            logger.info("Backfilled canonical names for {} ingredients", updated);
+        }
+    }
+
+    /**
+     * Recompute the canonical names a synonym change can affect, with the current synonym table.
+     * Only ingredients whose folded name is one of the changed variants can change, and those are
+     * stored under the canonical name the variant resolved to before the change, so just the rows
+     * under those names are read (through the canonical name index) rather than the whole table.
+     * Runs in its own transaction, since it is called after the synonym change has committed.
+     * @param previousCanonicalNames canonical name each changed variant resolved to before the change
+     * @return ids of the recipes whose ingredients changed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Set<Long> recanonicalize(Map<String, String> previousCanonicalNames) {
+        reloadSynonyms();
+
+        // The rows read also hold ingredients that merely share an old canonical name; those are left alone
+        Map<String, String> changedByRawName = new HashMap<>();
+        Map<String, List<Long>> idsByCanonicalName = new HashMap<>();
+        Set<Long> recipeIds = new HashSet<>();
+        for (Object[] row : ingredientRepository.findNamesByCanonicalNameIn(
+                new HashSet<>(previousCanonicalNames.values()))) {
+            String canonicalName = changedByRawName.computeIfAbsent((String) row[2], rawName -> {
+                String folded = fold(rawName);
+                return folded != null && previousCanonicalNames.containsKey(folded) ? canonicalize(rawName) : "";
+            });
+            if (!canonicalName.isEmpty() && !canonicalName.equals(row[3])) {
+                idsByCanonicalName.computeIfAbsent(canonicalName, key -> new ArrayList<>()).add((Long) row[0]);
+                recipeIds.add((Long) row[1]);
+            }
+        }
+
+        for (Map.Entry<String, List<Long>> entry : idsByCanonicalName.entrySet()) {
+            List<Long> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+                ingredientRepository.updateCanonicalNameByIdIn(
+                        ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size())), entry.getKey());
+            }
+        }
+        return recipeIds;
+    }
+
+    // One bulk update per distinct raw name rather than per ingredient row
+    private int updateCanonicalNames(List<String> rawNames) {
+        int updated = 0;
+        for (String rawName : rawNames) {
+            String canonicalName = canonicalize(rawName);
+            if (canonicalName != null) {
+                updated += ingredientRepository.updateCanonicalNameByName(rawName, canonicalName);
+            }
+        }
+        return updated;
+    }
+
+    private Map<String, String> getSynonyms() {
+        Map<String, String> current = synonyms;
+        if (current == null) {
+            reloadSynonyms();
+            current = synonyms;
+        }
+        return current;
+    }
+
+    private static String singularize(String word) {
+        if (word.length() <= 3 || SINGULAR_WORDS.contains(word)) {
+            return word;
+        }
+        if (word.endsWith("ies")) {
+            String stem = word.substring(0, word.length() - 1);
+            if (IE_SINGULARS.contains(stem)) {
+                return stem;
+            }
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.endsWith("oes") || word.endsWith("ches") || word.endsWith("shes")
+                || word.endsWith("sses") || word.endsWith("xes")) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,56 @@
+package com.javarecipe.backend.recipe.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns normalized ingredient names as dense int ids (0, 1, 2, ...).
+ * Ids are never reused or removed, so an id handed out once stays valid
+ * for the life of the dictionary.
+ */
+public class IngredientDictionary {
+
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final List<String> namesById = new ArrayList<>();
+
+    /**
+     * Get the id for a name, assigning the next free id if it has not been seen yet
+     */
+    public int intern(String name) {
+        Integer id = idsByName.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (namesById) {
+            return idsByName.computeIfAbsent(name, key -> {
+                namesById.add(key);
+                return namesById.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Get the id for a name without assigning one
+     * @return the id, or {@link #UNKNOWN} if the name was never interned
+     */
+    public int lookup(String name) {
+        Integer id = idsByName.get(name);
+        return id != null ? id : UNKNOWN;
+    }
+
+    public String nameOf(int id) {
+        synchronized (namesById) {
+            return namesById.get(id);
+        }
+    }
+
+    public int size() {
+        synchronized (namesById) {
+            return namesById.size();
+        }
+    }
+}
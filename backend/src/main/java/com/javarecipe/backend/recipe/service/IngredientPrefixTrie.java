@@ -0,0 +1,69 @@
+package com.javarecipe.backend.recipe.service;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Character trie over canonical ingredient names for autocomplete.
+ * Every name is inserted from its start and from the start of each later word,
+ * so "tom" finds both "tomato" and "cherry tomato". Entries are ingredient ids
+ * from {@link IngredientDictionary}. Not thread-safe; callers guard it.
+ */
+public class IngredientPrefixTrie {
+
+    private final Node root = new Node();
+
+    public void insert(String name, int ingredientId) {
+        for (int start = 0; start < name.length(); start++) {
+            if (start == 0 || name.charAt(start - 1) == ' ') {
+                insertFrom(name, start, ingredientId);
+            }
+        }
+    }
+
+    /**
+     * Ids of all names that have a word starting with the given prefix
+     */
+    public BitSet find(String prefix) {
+        BitSet ids = new BitSet();
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return ids;
+        }
+
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(node);
+        while (!pending.isEmpty()) {
+            Node current = pending.pop();
+            if (current.ids != null) {
+                ids.or(current.ids);
+            }
+            for (Node child : current.children.values()) {
+                pending.push(child);
+            }
+        }
+        return ids;
+    }
+
+    private void insertFrom(String name, int start, int ingredientId) {
+        Node node = root;
+        for (int i = start; i < name.length(); i++) {
+            node = node.children.computeIfAbsent(name.charAt(i), key -> new Node());
+        }
+        if (node.ids == null) {
+            node.ids = new BitSet();
+        }
+        node.ids.set(ingredientId);
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private BitSet ids;
+    }
+}
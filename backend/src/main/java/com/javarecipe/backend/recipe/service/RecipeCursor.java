@@ -0,0 +1,67 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.entity.Recipe;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque cursor for keyset pagination. It encodes the sort field, direction and
+ * the (sort key, id) of the last recipe on a page; the next page starts right after it.
+ */
+public final class RecipeCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "\u001f";
+
+    private RecipeCursor() {
+    }
+
+    public static String encode(RecipeSortField field, Sort.Direction direction, Recipe lastRecipe) {
+        Object sortKey = field.valueOf(lastRecipe);
+        String raw = String.join(SEPARATOR, VERSION, field.name(), direction.name(),
+                String.valueOf(sortKey), String.valueOf(lastRecipe.getId()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Scroll position for a cursor, or the first page for a blank cursor
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    public static ScrollPosition decode(String cursor, RecipeSortField field, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (!field.name().equals(parts[1]) || !direction.name().equals(parts[2])) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(field.getProperty(), field.parse(parts[3]));
+            keys.put("id", Long.valueOf(parts[4]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Sort order of a cursor page: the field, then id as the unique tie-breaker
+     */
+    public static Sort sort(RecipeSortField field, Sort.Direction direction) {
+        return Sort.by(direction, field.getProperty()).and(Sort.by(direction, "id"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.javarecipe.backend.recipe.event.RecipeChangedEvent;
+import com.javarecipe.backend.recipe.event.RecipeStatsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Serialized JSON of published recipe detail views, keyed by recipe id.
+ * Bounded by size (Caffeine's W-TinyLFU eviction keeps the popular recipes) and
+ * by time since write. Entries are dropped after any change to the recipe commits.
+ */
+@Component
+public class RecipeDetailCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, byte[]> cache;
+
+    @Autowired
+    public RecipeDetailCache(ObjectMapper objectMapper,
+                             @Value("${recipe.detail-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${recipe.detail-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Cached JSON of a recipe, loading and serializing it on a miss.
+     * Exceptions from the loader (e.g. recipe not found) propagate and nothing is cached.
+     */
+    public byte[] get(Long recipeId, Function<Long, ?> loader) {
+        return cache.get(recipeId, id -> serialize(loader.apply(id)));
+    }
+
+    public void invalidate(Long recipeId) {
+        cache.invalidate(recipeId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        invalidate(event.recipeId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeStatsChanged(RecipeStatsChangedEvent event) {
+        invalidate(event.recipeId());
+    }
+
+    /**
+     * Hit, miss, load and eviction counters since startup
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loadSuccessCount", stats.loadSuccessCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        result.put("averageLoadPenaltyMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    private byte[] serialize(Object view) {
+        try {
+            return objectMapper.writeValueAsBytes(view);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize recipe detail", e);
+        }
+    }
+}
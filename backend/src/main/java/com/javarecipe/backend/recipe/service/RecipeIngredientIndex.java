@@ -0,0 +1,564 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.event.RecipeChangedEvent;
+import com.javarecipe.backend.recipe.repository.IngredientRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Resident inverted index for the "Recipes I Can Make" search.
+ * Canonical ingredient names (see {@link IngredientCanonicalizer}) are interned as dense int ids; every ingredient id (and
+ * every category) maps to a bitmap of published recipe ids, and every recipe
+ * keeps its ingredients as a sorted int[]. A search encodes the user's pantry
+ * once and then scores recipes with a primitive lookup loop.
+ * <p>
+ * Bit positions and array slots are dense ordinals assigned to published recipes,
+ * not raw recipe ids: ids grow with every recipe ever created (and with deleted or
+ * unpublished ones), so id-indexed bitmaps and arrays would be sized by the highest
+ * id rather than by the number of recipes searched. A full rebuild numbers the
+ * published recipes from 0, and a slot freed by an unpublished or deleted recipe is
+ * handed to the next newly published one, so the postings stay dense plain
+ * {@link BitSet}s. That keeps their AND/OR word loops and avoids a compressed bitmap
+ * library (e.g. RoaringBitmap), whose gain over dense ordinals would be small here.
+ * <p>
+ * The index also keeps per-ingredient recipe counts, a prefix trie of the
+ * names for ingredient autocomplete, and the keys searches can sort by.
+ * Ratings and view counts change without a recipe change event, so those
+ * keys are re-read on a fixed delay and may lag by one refresh interval.
+ */
+@Component
+public class RecipeIngredientIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeIngredientIndex.class);
+
+    private final IngredientRepository ingredientRepository;
+    private final RecipeRepository recipeRepository;
+    private final IngredientDictionary dictionary = new IngredientDictionary();
+    private final IngredientPrefixTrie prefixTrie = new IngredientPrefixTrie();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Integer> slotsByRecipe = new HashMap<>();
+    private long[] recipesBySlot = new long[0];
+    private int slotCount = 0;
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private BitSet publishedRecipes = new BitSet();
+    private List<BitSet> ingredientPostings = new ArrayList<>();
+    private Map<Long, BitSet> categoryPostings = new HashMap<>();
+    private int[][] ingredientsBySlot = new int[0][];
+    private int[] recipeCounts = new int[0];
+    private RecipeSortKeys sortKeys = new RecipeSortKeys();
+    private int trieSize = 0;
+    private Map<Integer, Set<Long>> recipeCategories = new HashMap<>();
+    private volatile boolean loaded = false;
+
+    @Autowired
+    public RecipeIngredientIndex(IngredientRepository ingredientRepository, RecipeRepository recipeRepository) {
+        this.ingredientRepository = ingredientRepository;
+        this.recipeRepository = recipeRepository;
+    }
+
+    /**
+     * Rebuild the whole index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+
+        BitSet published = new BitSet();
+        Map<Long, BitSet> categories = new HashMap<>();
+        Map<Integer, Set<Long>> categoriesByRecipe = new HashMap<>();
+        Map<Integer, Set<Integer>> idsByRecipe = new HashMap<>();
+
+        List<Long> recipeIds = recipeRepository.findPublishedRecipeIds();
+        Map<Long, Integer> slots = new HashMap<>(recipeIds.size() * 2);
+        long[] recipes = new long[recipeIds.size()];
+        for (Long recipeId : recipeIds) {
+            int slot = slots.size();
+            slots.put(recipeId, slot);
+            recipes[slot] = recipeId;
+            published.set(slot);
+        }
+
+        // Rows of recipes published after the id list was read are skipped; their change event adds them
+        RecipeSortKeys keys = new RecipeSortKeys();
+        for (Object[] row : recipeRepository.findPublishedSortKeys()) {
+            Integer slot = slots.get((Long) row[0]);
+            if (slot != null) {
+                keys.put(slot, row);
+            }
+        }
+
+        for (Object[] row : ingredientRepository.findPublishedRecipeIngredientNames()) {
+            String name = (String) row[1];
+            Integer slot = slots.get((Long) row[0]);
+            if (name == null || name.isEmpty() || slot == null) {
+                continue;
+            }
+            idsByRecipe.computeIfAbsent(slot, key -> new HashSet<>())
+                    .add(dictionary.intern(name));
+        }
+
+        for (Object[] row : recipeRepository.findPublishedRecipeCategoryIds()) {
+            Integer slot = slots.get((Long) row[0]);
+            if (slot == null) {
+                continue;
+            }
+            Long categoryId = (Long) row[1];
+            categories.computeIfAbsent(categoryId, key -> new BitSet()).set(slot);
+            categoriesByRecipe.computeIfAbsent(slot, key -> new HashSet<>()).add(categoryId);
+        }
+
+        List<BitSet> postings = new ArrayList<>();
+        int[][] ingredients = new int[recipes.length][];
+        int[] counts = new int[dictionary.size()];
+        for (Map.Entry<Integer, Set<Integer>> entry : idsByRecipe.entrySet()) {
+            int slot = entry.getKey();
+            int[] ids = toSortedArray(entry.getValue());
+            ingredients = ensureCapacity(ingredients, slot);
+            ingredients[slot] = ids;
+            for (int id : ids) {
+                posting(postings, id).set(slot);
+                counts[id]++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            this.slotsByRecipe = slots;
+            this.recipesBySlot = recipes;
+            this.slotCount = recipes.length;
+            this.freeSlots.clear();
+            this.publishedRecipes = published;
+            this.ingredientPostings = postings;
+            this.categoryPostings = categories;
+            this.ingredientsBySlot = ingredients;
+            this.recipeCounts = counts;
+            this.sortKeys = keys;
+            this.recipeCategories = categoriesByRecipe;
+            syncPrefixTrieLocked();
+            this.loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Ingredient index built: {} recipes, {} ingredients in {} ms",
+                published.cardinality(), dictionary.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        refreshRecipe(event.recipeId());
+    }
+
+    /**
+     * Re-read the sort keys of all published recipes, picking up rating and view count changes
+     */
+    @Scheduled(fixedDelayString = "${recipe.search.sort-key-refresh-ms:60000}",
+            initialDelayString = "${recipe.search.sort-key-refresh-ms:60000}")
+    public synchronized void refreshSortKeys() {
+        if (!loaded) {
+            return;
+        }
+
+        List<Object[]> rows = recipeRepository.findPublishedSortKeys();
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : rows) {
+                Integer slot = slotsByRecipe.get((Long) row[0]);
+                if (slot != null) {
+                    sortKeys.put(slot, row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-read a single recipe from the database and replace its entries in the index
+     */
+    public synchronized void refreshRecipe(Long recipeId) {
+        if (!loaded) {
+            rebuild();
+            return;
+        }
+
+        boolean published = recipeRepository.findPublishedFlagById(recipeId).orElse(false);
+        Set<Integer> ids = new HashSet<>();
+        Set<Long> categories = new HashSet<>();
+        if (published) {
+            for (String name : ingredientRepository.findNormalizedNamesByRecipeId(recipeId)) {
+                if (name != null && !name.isEmpty()) {
+                    ids.add(dictionary.intern(name));
+                }
+            }
+            categories.addAll(recipeRepository.findCategoryIdsByRecipeId(recipeId));
+        }
+        List<Object[]> keys = published ? recipeRepository.findSortKeysById(recipeId) : List.of();
+
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByRecipe.get(recipeId);
+            if (slot != null) {
+                removeLocked(slot);
+            }
+            if (published) {
+                if (slot == null) {
+                    slot = assignSlotLocked(recipeId);
+                }
+                addLocked(slot, toSortedArray(ids), categories);
+                for (Object[] row : keys) {
+                    sortKeys.put(slot, row);
+                }
+            } else if (slot != null) {
+                releaseSlotLocked(recipeId, slot);
+            }
+            syncPrefixTrieLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Encode the user's canonical ingredient names as a set of ingredient ids.
+     * Names no recipe uses are dropped, since they can never match.
+     */
+    public BitSet encodePantry(Collection<String> canonicalIngredients) {
+        ensureLoaded();
+
+        BitSet pantry = new BitSet();
+        for (String name : canonicalIngredients) {
+            int id = dictionary.lookup(name);
+            if (id != IngredientDictionary.UNKNOWN) {
+                pantry.set(id);
+            }
+        }
+        return pantry;
+    }
+
+    /**
+     * Score every published recipe (optionally restricted to the given categories)
+     * against an encoded pantry. The consumer is called once per candidate recipe
+     * while the index is read-locked, so it must not modify the index.
+     *
+     * @param requireAnyMatch skip recipes that share no ingredient with the pantry
+     */
+    public void score(BitSet pantry, Collection<Long> categoryIds, boolean requireAnyMatch, MatchConsumer consumer) {
+        withCandidates(pantry, categoryIds, requireAnyMatch, candidates -> {
+            candidates.score(0, candidates.slotLimit(), consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Select the candidate recipes and run the given work against them while the
+     * index is read-locked. The work may score disjoint slot ranges from other
+     * threads, as long as it waits for them before returning.
+     */
+    public <R> R withCandidates(BitSet pantry, Collection<Long> categoryIds, boolean requireAnyMatch,
+                                Function<Candidates, R> work) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) publishedRecipes.clone();
+            if (categoryIds != null && !categoryIds.isEmpty()) {
+                BitSet inCategories = new BitSet();
+                for (Long categoryId : categoryIds) {
+                    BitSet posting = categoryPostings.get(categoryId);
+                    if (posting != null) {
+                        inCategories.or(posting);
+                    }
+                }
+                candidates.and(inCategories);
+            }
+
+            if (requireAnyMatch) {
+                BitSet anyMatch = new BitSet();
+                for (int id = pantry.nextSetBit(0); id >= 0; id = pantry.nextSetBit(id + 1)) {
+                    if (id < ingredientPostings.size() && ingredientPostings.get(id) != null) {
+                        anyMatch.or(ingredientPostings.get(id));
+                    }
+                }
+                candidates.and(anyMatch);
+            }
+
+            return work.apply(new Candidates(candidates, pantry, ingredientsBySlot, recipesBySlot, slotsByRecipe,
+                    sortKeys));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ingredients that have a word starting with the given canonical prefix,
+     * most used first (ties by name). Ingredients no published recipe uses are left out.
+     */
+    public List<IngredientCount> suggest(String prefix) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            List<IngredientCount> suggestions = collectCounts(prefixTrie.find(prefix));
+            suggestions.sort(Comparator.comparingInt(IngredientCount::recipeCount).reversed()
+                    .thenComparing(IngredientCount::name));
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every ingredient used by a published recipe, by name
+     */
+    public List<IngredientCount> allIngredients() {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            BitSet ids = new BitSet();
+            ids.set(0, recipeCounts.length);
+            List<IngredientCount> ingredients = collectCounts(ids);
+            ingredients.sort(Comparator.comparing(IngredientCount::name));
+            return ingredients;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The ingredients used by the most published recipes, most used first (ties by name)
+     */
+    public List<IngredientCount> mostUsed(int limit) {
+        ensureLoaded();
+
+        Comparator<IngredientCount> mostUsedFirst = Comparator.comparingInt(IngredientCount::recipeCount).reversed()
+                .thenComparing(IngredientCount::name);
+        lock.readLock().lock();
+        try {
+            // Bounded heap with the least used kept on top, so only the top `limit` are ever sorted
+            PriorityQueue<IngredientCount> top = new PriorityQueue<>(mostUsedFirst.reversed());
+            for (int id = 0; id < recipeCounts.length && limit > 0; id++) {
+                if (recipeCounts[id] <= 0) {
+                    continue;
+                }
+                top.add(new IngredientCount(dictionary.nameOf(id), recipeCounts[id]));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<IngredientCount> result = new ArrayList<>(top);
+            result.sort(mostUsedFirst);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<IngredientCount> collectCounts(BitSet ids) {
+        List<IngredientCount> result = new ArrayList<>();
+        for (int id = ids.nextSetBit(0); id >= 0 && id < recipeCounts.length; id = ids.nextSetBit(id + 1)) {
+            if (recipeCounts[id] > 0) {
+                result.add(new IngredientCount(dictionary.nameOf(id), recipeCounts[id]));
+            }
+        }
+        return result;
+    }
+
+    // Names are never removed from the dictionary, so only newly interned ones need inserting
+    private void syncPrefixTrieLocked() {
+        int size = dictionary.size();
+        for (int id = trieSize; id < size; id++) {
+            prefixTrie.insert(dictionary.nameOf(id), id);
+        }
+        trieSize = size;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    private int assignSlotLocked(Long recipeId) {
+        Integer free = freeSlots.poll();
+        int slot = free != null ? free : slotCount++;
+        if (slot >= recipesBySlot.length) {
+            recipesBySlot = Arrays.copyOf(recipesBySlot, Math.max(slot + 1, recipesBySlot.length * 2));
+        }
+        recipesBySlot[slot] = recipeId;
+        slotsByRecipe.put(recipeId, slot);
+        return slot;
+    }
+
+    private void releaseSlotLocked(Long recipeId, int slot) {
+        slotsByRecipe.remove(recipeId);
+        sortKeys.clear(slot);
+        freeSlots.push(slot);
+    }
+
+    private void removeLocked(int slot) {
+        publishedRecipes.clear(slot);
+
+        if (slot < ingredientsBySlot.length && ingredientsBySlot[slot] != null) {
+            for (int id : ingredientsBySlot[slot]) {
+                ingredientPostings.get(id).clear(slot);
+                recipeCounts[id]--;
+            }
+            ingredientsBySlot[slot] = null;
+        }
+
+        Set<Long> categories = recipeCategories.remove(slot);
+        if (categories != null) {
+            for (Long categoryId : categories) {
+                BitSet posting = categoryPostings.get(categoryId);
+                if (posting != null) {
+                    posting.clear(slot);
+                }
+            }
+        }
+    }
+
+    private void addLocked(int slot, int[] ids, Set<Long> categories) {
+        publishedRecipes.set(slot);
+        if (ids.length > 0) {
+            ingredientsBySlot = ensureCapacity(ingredientsBySlot, slot);
+            ingredientsBySlot[slot] = ids;
+            for (int id : ids) {
+                posting(ingredientPostings, id).set(slot);
+                if (id >= recipeCounts.length) {
+                    recipeCounts = Arrays.copyOf(recipeCounts, Math.max(id + 1, recipeCounts.length * 2));
+                }
+                recipeCounts[id]++;
+            }
+        }
+        if (!categories.isEmpty()) {
+            recipeCategories.put(slot, categories);
+            for (Long categoryId : categories) {
+                categoryPostings.computeIfAbsent(categoryId, key -> new BitSet()).set(slot);
+            }
+        }
+    }
+
+    private static BitSet posting(List<BitSet> postings, int ingredientId) {
+        while (postings.size() <= ingredientId) {
+            postings.add(null);
+        }
+        BitSet posting = postings.get(ingredientId);
+        if (posting == null) {
+            posting = new BitSet();
+            postings.set(ingredientId, posting);
+        }
+        return posting;
+    }
+
+    private static int[][] ensureCapacity(int[][] array, int slot) {
+        if (slot < array.length) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(slot + 1, array.length * 2));
+    }
+
+    private static int[] toSortedArray(Set<Integer> ids) {
+        int[] array = new int[ids.size()];
+        int i = 0;
+        for (Integer id : ids) {
+            array[i++] = id;
+        }
+        Arrays.sort(array);
+        return array;
+    }
+
+    /**
+     * Candidate recipes of one search. Slot ranges can be scored independently;
+     * the consumer is handed recipe ids, not slots.
+     */
+    public static class Candidates {
+
+        private final BitSet slots;
+        private final BitSet pantry;
+        private final int[][] ingredientsBySlot;
+        private final long[] recipesBySlot;
+        private final Map<Long, Integer> slotsByRecipe;
+        private final RecipeSortKeys sortKeys;
+        private final int count;
+
+        private Candidates(BitSet slots, BitSet pantry, int[][] ingredientsBySlot, long[] recipesBySlot,
+                           Map<Long, Integer> slotsByRecipe, RecipeSortKeys sortKeys) {
+            this.slots = slots;
+            this.pantry = pantry;
+            this.ingredientsBySlot = ingredientsBySlot;
+            this.recipesBySlot = recipesBySlot;
+            this.slotsByRecipe = slotsByRecipe;
+            this.sortKeys = sortKeys;
+            this.count = slots.cardinality();
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * One past the highest candidate slot
+         */
+        public int slotLimit() {
+            return slots.length();
+        }
+
+        /**
+         * The value a candidate is sorted by, or null if it has none
+         */
+        public Comparable<Object> sortKey(long recipeId, RecipeSortKeys.Field field) {
+            Integer slot = slotsByRecipe.get(recipeId);
+            return slot != null ? sortKeys.get(slot, field) : null;
+        }
+
+        /**
+         * Score the candidates in slots [fromSlot, toSlot)
+         */
+        public void score(int fromSlot, int toSlot, MatchConsumer consumer) {
+            for (int slot = slots.nextSetBit(fromSlot); slot >= 0 && slot < toSlot; slot = slots.nextSetBit(slot + 1)) {
+                int[] ids = slot < ingredientsBySlot.length ? ingredientsBySlot[slot] : null;
+                int matched = 0;
+                int total = 0;
+                if (ids != null) {
+                    total = ids.length;
+                    for (int id : ids) {
+                        if (pantry.get(id)) {
+                            matched++;
+                        }
+                    }
+                }
+                consumer.accept(recipesBySlot[slot], matched, total);
+            }
+        }
+    }
+
+    /**
+     * Receives the score of one candidate recipe
+     */
+    @FunctionalInterface
+    public interface MatchConsumer {
+        void accept(long recipeId, int matchedIngredients, int totalIngredients);
+    }
+
+    /**
+     * A canonical ingredient name and how many published recipes use it
+     */
+    public record IngredientCount(String name, int recipeCount) {
+    }
+}
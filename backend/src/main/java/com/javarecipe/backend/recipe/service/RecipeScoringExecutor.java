@@ -0,0 +1,122 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.service.RecipeIngredientIndex.Candidates;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Scores ingredient search candidates into a top-K selection, splitting large
+ * candidate sets into slot-range chunks that run on a dedicated ForkJoinPool.
+ * Each chunk keeps its own top-K and the chunk results are merged at the end.
+ * Candidate sets below the threshold are scored on the calling thread.
+ */
+@Component
+public class RecipeScoringExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeScoringExecutor.class);
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final int chunkSlots;
+
+    public RecipeScoringExecutor(
+            @Value("${recipe.search.parallelism:0}") int parallelism,
+            @Value("${recipe.search.parallel-threshold:50000}") int parallelThreshold,
+            @Value("${recipe.search.chunk-slots:16384}") int chunkSlots) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        this.parallelThreshold = parallelThreshold;
+        this.chunkSlots = Math.max(1, chunkSlots);
+        logger.info("Recipe scoring: parallelism {}, threshold {} candidates, {} slots per chunk",
+                threads, parallelThreshold, this.chunkSlots);
+    }
+
+    /**
+     * Score all candidates and keep the first {@code limit} by {@code order}
+     *
+     * @param mapper turns a score into a selectable element, or null to drop the recipe
+     */
+    public <T> TopKSelector<T> selectTopK(Candidates candidates, int limit, Comparator<? super T> order,
+                                          MatchMapper<T> mapper) {
+        if (pool == null || candidates.count() < parallelThreshold) {
+            return scoreRange(candidates, 0, candidates.slotLimit(), limit, order, mapper);
+        }
+        return pool.invoke(new ChunkTask<>(candidates, 0, candidates.slotLimit(), limit, order, mapper));
+    }
+
+    private static <T> TopKSelector<T> scoreRange(Candidates candidates, int fromSlot, int toSlot, int limit,
+                                                  Comparator<? super T> order, MatchMapper<T> mapper) {
+        TopKSelector<T> selector = new TopKSelector<>(limit, order);
+        candidates.score(fromSlot, toSlot, (recipeId, matched, total) -> {
+            T element = mapper.map(recipeId, matched, total);
+            if (element != null) {
+                selector.offer(element);
+            }
+        });
+        return selector;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Maps one recipe's score to the element kept in the top-K, or null to drop it
+     */
+    @FunctionalInterface
+    public interface MatchMapper<T> {
+        T map(long recipeId, int matchedIngredients, int totalIngredients);
+    }
+
+    private class ChunkTask<T> extends RecursiveTask<TopKSelector<T>> {
+
+        private final Candidates candidates;
+        private final int fromSlot;
+        private final int toSlot;
+        private final int limit;
+        private final Comparator<? super T> order;
+        private final MatchMapper<T> mapper;
+
+        private ChunkTask(Candidates candidates, int fromSlot, int toSlot, int limit,
+                          Comparator<? super T> order, MatchMapper<T> mapper) {
+            this.candidates = candidates;
+            this.fromSlot = fromSlot;
+            this.toSlot = toSlot;
+            this.limit = limit;
+            this.order = order;
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected TopKSelector<T> compute() {
+            if (toSlot - fromSlot <= chunkSlots) {
+                return scoreRange(candidates, fromSlot, toSlot, limit, order, mapper);
+            }
+
+            List<ChunkTask<T>> chunks = new ArrayList<>();
+            for (int start = fromSlot; start < toSlot; start += chunkSlots) {
+                chunks.add(new ChunkTask<>(candidates, start, Math.min(start + chunkSlots, toSlot),
+                        limit, order, mapper));
+            }
+            invokeAll(chunks);
+
+            TopKSelector<T> merged = new TopKSelector<>(limit, order);
+            for (ChunkTask<T> chunk : chunks) {
+                merged.mergeFrom(chunk.join());
+            }
+            return merged;
+        }
+    }
+}
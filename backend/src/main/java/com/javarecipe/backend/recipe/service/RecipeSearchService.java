@@ -19,6 +19,11 @@ public interface RecipeSearchService {
      * Get all available ingredients
      */
     List<IngredientSearchDTO> getAllIngredients();
+
+    /**
+     * Get the ingredients used by the most published recipes
+     */
+    List<IngredientSearchDTO> getPopularIngredients(int limit);
     
     /**
      * Find recipes that can be made with selected ingredients
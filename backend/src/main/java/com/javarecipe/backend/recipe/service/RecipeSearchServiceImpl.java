@@ -7,8 +7,8 @@ import com.javarecipe.backend.recipe.entity.Category;
 import com.javarecipe.backend.recipe.entity.Ingredient;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.entity.RecipeImage;
-import com.javarecipe.backend.recipe.repository.IngredientRepository;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import com.javarecipe.backend.recipe.service.RecipeIngredientIndex.IngredientCount;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -21,89 +21,106 @@ import java.util.stream.Collectors;
 @Service
 public class RecipeSearchServiceImpl implements RecipeSearchService {
 
-    private final IngredientRepository ingredientRepository;
+    // Sort keys held by the ingredient index, by sortBy value
+    private static final Map<String, RecipeSortKeys.Field> SORT_KEY_FIELDS = Map.of(
+            "rating", RecipeSortKeys.Field.RATING,
+            "viewcount", RecipeSortKeys.Field.VIEW_COUNT,
+            "createdat", RecipeSortKeys.Field.CREATED_AT);
+
     private final RecipeRepository recipeRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final IngredientCanonicalizer ingredientCanonicalizer;
+    private final RecipeScoringExecutor recipeScoringExecutor;
 
     @Autowired
-    public RecipeSearchServiceImpl(IngredientRepository ingredientRepository, RecipeRepository recipeRepository) {
-        this.ingredientRepository = ingredientRepository;
+    public RecipeSearchServiceImpl(RecipeRepository recipeRepository,
+                                   RecipeIngredientIndex recipeIngredientIndex,
+                                   IngredientCanonicalizer ingredientCanonicalizer,
+                                   RecipeScoringExecutor recipeScoringExecutor) {
         this.recipeRepository = recipeRepository;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+        this.ingredientCanonicalizer = ingredientCanonicalizer;
+        this.recipeScoringExecutor = recipeScoringExecutor;
     }
 
     @Override
     public List<IngredientSearchDTO> searchIngredients(String query) {
-        List<String> ingredientNames = ingredientRepository.searchIngredientNames(query);
-        return ingredientNames.stream()
-                .map(name -> {
-                    Long recipeCount = ingredientRepository.countRecipesByIngredientName(name);
-                    return IngredientSearchDTO.builder()
-                            .name(name)
-                            .recipeCount(recipeCount)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // Prefix match on canonical names, served from the index's trie
+        String prefix = ingredientCanonicalizer.canonicalize(query);
+        if (prefix == null) {
+            return getAllIngredients();
+        }
+
+        return toIngredientSearchDTOs(recipeIngredientIndex.suggest(prefix));
     }
 
     @Override
     public List<IngredientSearchDTO> getAllIngredients() {
-        List<String> ingredientNames = ingredientRepository.findDistinctIngredientNames();
-        return ingredientNames.stream()
-                .map(name -> {
-                    Long recipeCount = ingredientRepository.countRecipesByIngredientName(name);
-                    return IngredientSearchDTO.builder()
-                            .name(name)
-                            .recipeCount(recipeCount)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        return toIngredientSearchDTOs(recipeIngredientIndex.allIngredients());
     }
 
     @Override
-    public Page<RecipeMatchDTO> findRecipesByIngredients(RecipeSearchRequest searchRequest, Pageable pageable) {
-        // Normalize user ingredients to lowercase for comparison
-        List<String> normalizedUserIngredients = searchRequest.getAvailableIngredients().stream()
-                .map(ingredient -> ingredient.toLowerCase().trim())
-                .collect(Collectors.toList());
+    public List<IngredientSearchDTO> getPopularIngredients(int limit) {
+        return toIngredientSearchDTOs(recipeIngredientIndex.mostUsed(limit));
+    }
 
-        // Get all published recipes
-        List<Recipe> allRecipes = recipeRepository.findAll().stream()
-                .filter(Recipe::isPublished)
+    @Override
+    public Page<RecipeMatchDTO> findRecipesByIngredients(RecipeSearchRequest searchRequest, Pageable pageable) {
+        // Canonicalize user ingredients once for comparison
+        Set<String> canonicalUserIngredients = canonicalize(searchRequest.getAvailableIngredients());
+
+        // Only offset + pageSize candidates are kept, in bounded heaps of lightweight records
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        RecipeSortKeys.Field sortField = SORT_KEY_FIELDS.get(searchRequest.getSortBy().toLowerCase());
+        Comparator<RankedMatch> order = rankingOrder(sortField != null, searchRequest.getSortDirection());
+
+        // Encode the pantry once, then score published recipes (optionally within categories)
+        // from the in-memory index; only recipes that pass the filters are offered
+        BitSet pantry = recipeIngredientIndex.encodePantry(canonicalUserIngredients);
+        boolean exactMatchOnly = searchRequest.getExactMatchOnly();
+        double minMatchPercentage = searchRequest.getMinMatchPercentage();
+        TopKSelector<RankedMatch> selector = recipeIngredientIndex.withCandidates(
+                pantry, searchRequest.getCategoryIds(), exactMatchOnly || minMatchPercentage > 0,
+                candidates -> recipeScoringExecutor.selectTopK(candidates, limit, order, (recipeId, matched, total) -> {
+                    double matchPercentage = total == 0 ? 0.0 : (double) matched / total * 100.0;
+
+                    // Apply filters
+                    if (exactMatchOnly && matchPercentage < 100.0) {
+                        return null;
+                    }
+
+                    if (matchPercentage < minMatchPercentage) {
+                        return null;
+                    }
+
+                    return new RankedMatch(recipeId, matchPercentage,
+                            sortField == null ? null : candidates.sortKey(recipeId, sortField));
+                }));
+
+        // Apply pagination and load only the recipes on the requested page
+        long totalMatches = selector.getOfferedCount();
+        List<RankedMatch> ranked = selector.toSortedList();
+        int start = (int) Math.min(pageable.getOffset(), ranked.size());
+        List<Long> pageIds = ranked.subList(start, ranked.size()).stream()
+                .map(RankedMatch::recipeId)
                 .collect(Collectors.toList());
 
-        // Filter by categories if specified
-        if (searchRequest.getCategoryIds() != null && !searchRequest.getCategoryIds().isEmpty()) {
-            allRecipes = allRecipes.stream()
-                    .filter(recipe -> recipe.getCategories().stream()
-                            .anyMatch(category -> searchRequest.getCategoryIds().contains(category.getId())))
-                    .collect(Collectors.toList());
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, totalMatches);
         }
 
-        // Calculate matches for each recipe
-        List<RecipeMatchDTO> matches = new ArrayList<>();
-        for (Recipe recipe : allRecipes) {
-            RecipeMatchDTO match = calculateRecipeMatch(recipe, normalizedUserIngredients);
-            
-            // Apply filters
-            if (searchRequest.getExactMatchOnly() && match.getMatchPercentage() < 100.0) {
-                continue;
-            }
-            
-            if (match.getMatchPercentage() < searchRequest.getMinMatchPercentage()) {
-                continue;
+        Map<Long, Recipe> recipesById = recipeRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Recipe::getId, recipe -> recipe));
+
+        List<RecipeMatchDTO> pageContent = new ArrayList<>();
+        for (Long recipeId : pageIds) {
+            Recipe recipe = recipesById.get(recipeId);
+            if (recipe != null) {
+                pageContent.add(calculateRecipeMatch(recipe, canonicalUserIngredients));
             }
-            
-            matches.add(match);
         }
 
-        // Sort results
-        sortMatches(matches, searchRequest.getSortBy(), searchRequest.getSortDirection());
-
-        // Apply pagination
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), matches.size());
-        List<RecipeMatchDTO> pageContent = matches.subList(start, end);
-
-        return new PageImpl<>(pageContent, pageable, matches.size());
+        return new PageImpl<>(pageContent, pageable, totalMatches);
     }
 
     @Override
@@ -113,11 +130,9 @@ public class RecipeSearchServiceImpl implements RecipeSearchService {
             return 0.0;
         }
 
-        List<String> normalizedUserIngredients = availableIngredients.stream()
-                .map(ingredient -> ingredient.toLowerCase().trim())
-                .collect(Collectors.toList());
+        Set<String> canonicalUserIngredients = canonicalize(availableIngredients);
 
-        return calculateRecipeMatch(recipe, normalizedUserIngredients).getMatchPercentage();
+        return calculateRecipeMatch(recipe, canonicalUserIngredients).getMatchPercentage();
     }
 
     @Override
@@ -127,11 +142,9 @@ public class RecipeSearchServiceImpl implements RecipeSearchService {
             return Collections.emptyList();
         }
 
-        List<String> normalizedUserIngredients = availableIngredients.stream()
-                .map(ingredient -> ingredient.toLowerCase().trim())
-                .collect(Collectors.toList());
+        Set<String> canonicalUserIngredients = canonicalize(availableIngredients);
 
-        return calculateRecipeMatch(recipe, normalizedUserIngredients).getMissingIngredients();
+        return calculateRecipeMatch(recipe, canonicalUserIngredients).getMissingIngredients();
     }
 
     @Override
@@ -141,29 +154,32 @@ public class RecipeSearchServiceImpl implements RecipeSearchService {
             return Collections.emptyList();
         }
 
-        List<String> normalizedUserIngredients = userIngredients.stream()
-                .map(ingredient -> ingredient.toLowerCase().trim())
-                .collect(Collectors.toList());
+        Set<String> canonicalUserIngredients = canonicalize(userIngredients);
 
-        return calculateRecipeMatch(recipe, normalizedUserIngredients).getAvailableIngredients();
+        return calculateRecipeMatch(recipe, canonicalUserIngredients).getAvailableIngredients();
     }
 
-    private RecipeMatchDTO calculateRecipeMatch(Recipe recipe, List<String> normalizedUserIngredients) {
-        List<String> recipeIngredients = recipe.getIngredients().stream()
-                .map(ingredient -> ingredient.getName().toLowerCase().trim())
-                .collect(Collectors.toList());
-
-        // Calculate matches
-        List<String> availableIngredients = recipeIngredients.stream()
-                .filter(normalizedUserIngredients::contains)
-                .collect(Collectors.toList());
-
-        List<String> missingIngredients = recipeIngredients.stream()
-                .filter(ingredient -> !normalizedUserIngredients.contains(ingredient))
-                .collect(Collectors.toList());
+    private RecipeMatchDTO calculateRecipeMatch(Recipe recipe, Set<String> canonicalUserIngredients) {
+        // Single pass over the recipe's distinct canonical ingredients, as the index counts them
+        Set<String> availableIngredients = new LinkedHashSet<>();
+        Set<String> missingIngredients = new LinkedHashSet<>();
+        for (Ingredient ingredient : recipe.getIngredients()) {
+            String name = ingredient.getCanonicalName() != null
+                    ? ingredient.getCanonicalName()
+                    : ingredientCanonicalizer.canonicalize(ingredient.getName());
+            if (name == null) {
+                continue;
+            }
+            if (canonicalUserIngredients.contains(name)) {
+                availableIngredients.add(name);
+            } else {
+                missingIngredients.add(name);
+            }
+        }
 
-        double matchPercentage = recipeIngredients.isEmpty() ? 0.0 : 
-                (double) availableIngredients.size() / recipeIngredients.size() * 100.0;
+        int totalIngredients = availableIngredients.size() + missingIngredients.size();
+        double matchPercentage = totalIngredients == 0 ? 0.0 :
+                (double) availableIngredients.size() / totalIngredients * 100.0;
 
         // Get primary image
         String primaryImageUrl = recipe.getImages().stream()
@@ -193,38 +209,55 @@ public class RecipeSearchServiceImpl implements RecipeSearchService {
                 .authorDisplayName(recipe.getUser().getDisplayName())
                 .primaryImageUrl(primaryImageUrl)
                 .matchPercentage(matchPercentage)
-                .totalIngredients(recipeIngredients.size())
+                .totalIngredients(totalIngredients)
                 .matchedIngredients(availableIngredients.size())
-                .missingIngredients(missingIngredients)
-                .availableIngredients(availableIngredients)
+                .missingIngredients(new ArrayList<>(missingIngredients))
+                .availableIngredients(new ArrayList<>(availableIngredients))
                 .categories(categories)
                 .build();
     }
 
-    private void sortMatches(List<RecipeMatchDTO> matches, String sortBy, String sortDirection) {
-        Comparator<RecipeMatchDTO> comparator;
-
-        switch (sortBy.toLowerCase()) {
-            case "rating":
-                comparator = Comparator.comparing(RecipeMatchDTO::getAverageRating, 
-                        Comparator.nullsLast(Comparator.naturalOrder()));
-                break;
-            case "viewcount":
-                comparator = Comparator.comparing(RecipeMatchDTO::getViewCount);
-                break;
-            case "createdat":
-                comparator = Comparator.comparing(RecipeMatchDTO::getCreatedAt);
-                break;
-            case "matchpercentage":
-            default:
-                comparator = Comparator.comparing(RecipeMatchDTO::getMatchPercentage);
-                break;
+    private List<IngredientSearchDTO> toIngredientSearchDTOs(List<IngredientCount> ingredientCounts) {
+        return ingredientCounts.stream()
+                .map(ingredient -> IngredientSearchDTO.builder()
+                        .name(ingredient.name())
+                        .recipeCount((long) ingredient.recipeCount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private Set<String> canonicalize(Collection<String> ingredientNames) {
+        Set<String> canonicalNames = new HashSet<>();
+        for (String name : ingredientNames) {
+            String canonicalName = ingredientCanonicalizer.canonicalize(name);
+            if (canonicalName != null) {
+                canonicalNames.add(canonicalName);
+            }
         }
+        return canonicalNames;
+    }
 
-        if ("desc".equalsIgnoreCase(sortDirection)) {
-            comparator = comparator.reversed();
+    private Comparator<RankedMatch> rankingOrder(boolean bySortKey, String sortDirection) {
+        boolean descending = "desc".equalsIgnoreCase(sortDirection);
+        Comparator<RankedMatch> comparator;
+        if (bySortKey) {
+            // Recipes without a key (e.g. unrated) go last in either direction
+            Comparator<Comparable<Object>> keyOrder = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            comparator = Comparator.comparing(RankedMatch::sortKey, Comparator.nullsLast(keyOrder));
+        } else {
+            comparator = Comparator.comparingDouble(RankedMatch::matchPercentage);
+            if (descending) {
+                comparator = comparator.reversed();
+            }
         }
 
-        matches.sort(comparator);
+        // Keep ties in a stable order
+        return comparator.thenComparingLong(RankedMatch::recipeId);
+    }
+
+    /**
+     * A qualifying recipe reduced to what is needed to rank it
+     */
+    private record RankedMatch(long recipeId, double matchPercentage, Comparable<Object> sortKey) {
     }
 }
@@ -1,5 +1,7 @@
 package com.javarecipe.backend.recipe.service;
 
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
+import com.javarecipe.backend.recipe.dto.RecipeCursorPage;
 import com.javarecipe.backend.recipe.dto.RecipeRequest;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.user.entity.User;
@@ -11,17 +13,22 @@ public interface RecipeService {
     /**
      * Get all published recipes with pagination
      */
-    Page<Recipe> getAllPublishedRecipes(Pageable pageable);
+    Page<RecipeCardDTO> getAllPublishedRecipes(Pageable pageable);
     
+    /**
+     * Get published recipes with keyset (cursor) pagination
+     */
+    RecipeCursorPage getAllPublishedRecipes(String cursor, int size, String sortBy, String direction, boolean includeTotal);
+
     /**
      * Search recipes by title or description
      */
-    Page<Recipe> searchRecipes(String query, Pageable pageable);
+    Page<RecipeCardDTO> searchRecipes(String query, Pageable pageable);
     
     /**
-     * Get recipe by ID if published
+     * Get the JSON detail view of a published recipe, served from the detail cache when possible
      */
-    Recipe getRecipeById(Long id);
+    byte[] getRecipeDetailJson(Long id);
     
     /**
      * Create a new recipe
@@ -41,12 +48,24 @@ public interface RecipeService {
     /**
      * Get all recipes by a specific user
      */
-    Page<Recipe> getRecipesByUser(User user, Pageable pageable);
+    Page<RecipeCardDTO> getRecipesByUser(User user, Pageable pageable);
+
+    /**
+     * Get all recipes by a specific user with keyset (cursor) pagination
+     */
+    RecipeCursorPage getRecipesByUser(User user, String cursor, int size, String sortBy, String direction,
+                                      boolean includeTotal);
     
     /**
      * Get recipes by category name
      */
-    Page<Recipe> getRecipesByCategory(String categoryName, Pageable pageable);
+    Page<RecipeCardDTO> getRecipesByCategory(String categoryName, Pageable pageable);
+
+    /**
+     * Get recipes by category name with keyset (cursor) pagination
+     */
+    RecipeCursorPage getRecipesByCategory(String categoryName, String cursor, int size, String sortBy,
+                                          String direction, boolean includeTotal);
     
     /**
      * Check if user is authorized to modify the recipe
@@ -56,12 +75,12 @@ public interface RecipeService {
     /**
      * Get all recipes (admin only)
      */
-    Page<Recipe> getAllRecipes(Pageable pageable);
+    Page<RecipeCardDTO> getAllRecipes(Pageable pageable);
     
     /**
      * Get recipes by published status (admin only)
      */
-    Page<Recipe> getAllRecipesByPublishedStatus(boolean published, Pageable pageable);
+    Page<RecipeCardDTO> getAllRecipesByPublishedStatus(boolean published, Pageable pageable);
     
     /**
      * Set recipe published status (admin only)
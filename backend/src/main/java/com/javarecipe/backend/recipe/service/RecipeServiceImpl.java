@@ -1,21 +1,31 @@
 package com.javarecipe.backend.recipe.service;
 
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
+import com.javarecipe.backend.recipe.dto.RecipeCursorPage;
 import com.javarecipe.backend.recipe.dto.RecipeRequest;
 import com.javarecipe.backend.recipe.entity.*;
+import com.javarecipe.backend.recipe.event.RecipeChangedEvent;
 import com.javarecipe.backend.recipe.repository.*;
 import com.javarecipe.backend.user.entity.User;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.function.LongSupplier;
 
 @Service
 public class RecipeServiceImpl implements RecipeService {
@@ -27,6 +37,12 @@ public class RecipeServiceImpl implements RecipeService {
     private final InstructionRepository instructionRepository;
     private final RecipeImageRepository recipeImageRepository;
     private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IngredientCanonicalizer ingredientCanonicalizer;
+    private final RecipeTextIndex recipeTextIndex;
+    private final RecipeDetailCache recipeDetailCache;
+    private final RecipeViewCounter recipeViewCounter;
+    private final TransactionTemplate readOnlyTransaction;
 
     @Autowired
     public RecipeServiceImpl(
@@ -36,7 +52,13 @@ public class RecipeServiceImpl implements RecipeService {
             IngredientRepository ingredientRepository,
             InstructionRepository instructionRepository,
             RecipeImageRepository recipeImageRepository,
-            EntityManager entityManager) {
+            EntityManager entityManager,
+            ApplicationEventPublisher eventPublisher,
+            IngredientCanonicalizer ingredientCanonicalizer,
+            RecipeTextIndex recipeTextIndex,
+            RecipeDetailCache recipeDetailCache,
+            RecipeViewCounter recipeViewCounter,
+            PlatformTransactionManager transactionManager) {
         this.recipeRepository = recipeRepository;
         this.categoryRepository = categoryRepository;
         this.consumerWarningRepository = consumerWarningRepository;
@@ -44,31 +66,77 @@ public class RecipeServiceImpl implements RecipeService {
         this.instructionRepository = instructionRepository;
         this.recipeImageRepository = recipeImageRepository;
         this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.ingredientCanonicalizer = ingredientCanonicalizer;
+        this.recipeTextIndex = recipeTextIndex;
+        this.recipeDetailCache = recipeDetailCache;
+        this.recipeViewCounter = recipeViewCounter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
-    public Page<Recipe> getAllPublishedRecipes(Pageable pageable) {
-        return recipeRepository.findAllByIsPublishedTrue(pageable);
+    public Page<RecipeCardDTO> getAllPublishedRecipes(Pageable pageable) {
+        return recipeRepository.findCardsByPublished(true, pageable);
     }
 
     @Override
-    public Page<Recipe> searchRecipes(String query, Pageable pageable) {
-        return recipeRepository.searchByTitleOrDescription(query, pageable);
+    public RecipeCursorPage getAllPublishedRecipes(String cursor, int size, String sortBy, String direction,
+                                                   boolean includeTotal) {
+        return scrollRecipes(cursor, size, sortBy, direction,
+                (position, sort, limit) -> recipeRepository.findByIsPublishedTrue(position, sort, limit),
+                includeTotal ? recipeRepository::countByIsPublishedTrue : null);
     }
 
     @Override
-    @Transactional
-    public Recipe getRecipeById(Long id) {
-        Optional<Recipe> recipe = recipeRepository.findById(id);
-        
-        if (recipe.isPresent() && recipe.get().isPublished()) {
-            // Increment view count
-            Recipe foundRecipe = recipe.get();
-            foundRecipe.setViewCount(foundRecipe.getViewCount() + 1);
-            return recipeRepository.save(foundRecipe);
-        } else {
-            throw new EntityNotFoundException("Recipe not found with id: " + id);
+    public Page<RecipeCardDTO> searchRecipes(String query, Pageable pageable) {
+        // Fall back to the database until the full-text index has been built
+        if (!recipeTextIndex.isReady()) {
+            return recipeRepository.searchCardsByTitleOrDescription(query, pageable);
         }
+
+        RecipeTextIndex.SearchHits hits = recipeTextIndex.search(query, pageable.getOffset(), pageable.getPageSize());
+        if (hits.recipeIds().isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, hits.totalHits());
+        }
+
+        // Keep the relevance order
+        return new PageImpl<>(findCardsInOrder(hits.recipeIds()), pageable, hits.totalHits());
+    }
+
+    // Recipe cards for the given ids, in the order of the ids
+    private List<RecipeCardDTO> findCardsInOrder(List<Long> recipeIds) {
+        if (recipeIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, RecipeCardDTO> cardsById = new HashMap<>();
+        for (RecipeCardDTO card : recipeRepository.findCardsByIds(recipeIds)) {
+            cardsById.put(card.getId(), card);
+        }
+        List<RecipeCardDTO> cards = new ArrayList<>(recipeIds.size());
+        for (Long recipeId : recipeIds) {
+            RecipeCardDTO card = cardsById.get(recipeId);
+            if (card != null) {
+                cards.add(card);
+            }
+        }
+        return cards;
+    }
+
+    @Override
+    public byte[] getRecipeDetailJson(Long id) {
+        // Not transactional: a cache hit must not borrow a connection, only a miss opens a transaction
+        byte[] json = recipeDetailCache.get(id, recipeId ->
+                readOnlyTransaction.execute(status -> loadPublishedRecipe(recipeId)));
+        // Counted on every view and written behind; the cached JSON shows the count as of when it was loaded
+        recipeViewCounter.recordView(id);
+        return json;
+    }
+
+    private Recipe loadPublishedRecipe(Long id) {
+        return recipeRepository.findDetailById(id)
+                .filter(Recipe::isPublished)
+                .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + id));
     }
 
     @Override
@@ -113,6 +181,7 @@ public class RecipeServiceImpl implements RecipeService {
             for (RecipeRequest.IngredientRequest ingredientReq : recipeRequest.getIngredients()) {
                 Ingredient ingredient = Ingredient.builder()
                     .name(ingredientReq.getName())
+                    .canonicalName(ingredientCanonicalizer.canonicalize(ingredientReq.getName()))
                     .quantity(ingredientReq.getQuantity())
                     .unit(ingredientReq.getUnit())
                     .displayOrder(ingredientReq.getDisplayOrder())
@@ -158,6 +227,8 @@ public class RecipeServiceImpl implements RecipeService {
         savedRecipe.getConsumerWarnings().size();
         savedRecipe.getImages().size();
 
+        eventPublisher.publishEvent(new RecipeChangedEvent(savedRecipe.getId()));
+
         return savedRecipe;
     }
 
@@ -209,6 +280,7 @@ public class RecipeServiceImpl implements RecipeService {
             for (RecipeRequest.IngredientRequest ingredientReq : recipeRequest.getIngredients()) {
                 Ingredient ingredient = Ingredient.builder()
                     .name(ingredientReq.getName())
+                    .canonicalName(ingredientCanonicalizer.canonicalize(ingredientReq.getName()))
                     .quantity(ingredientReq.getQuantity())
                     .unit(ingredientReq.getUnit())
                     .displayOrder(ingredientReq.getDisplayOrder())
@@ -244,6 +316,8 @@ public class RecipeServiceImpl implements RecipeService {
                 recipeImageRepository.save(image);
             }
         }
+
+        eventPublisher.publishEvent(new RecipeChangedEvent(savedRecipe.getId()));
         
         return savedRecipe;
     }
@@ -259,16 +333,65 @@ public class RecipeServiceImpl implements RecipeService {
         }
         
         recipeRepository.delete(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(id));
     }
 
     @Override
-    public Page<Recipe> getRecipesByUser(User user, Pageable pageable) {
-        return recipeRepository.findAllByUser(user, pageable);
+    public Page<RecipeCardDTO> getRecipesByUser(User user, Pageable pageable) {
+        return recipeRepository.findCardsByUser(user, pageable);
     }
 
     @Override
-    public Page<Recipe> getRecipesByCategory(String categoryName, Pageable pageable) {
-        return recipeRepository.findByCategoryName(categoryName, pageable);
+    public RecipeCursorPage getRecipesByUser(User user, String cursor, int size, String sortBy, String direction,
+                                             boolean includeTotal) {
+        return scrollRecipes(cursor, size, sortBy, direction,
+                (position, sort, limit) -> recipeRepository.findByUser(user, position, sort, limit),
+                includeTotal ? () -> recipeRepository.countByUser(user) : null);
+    }
+
+    @Override
+    public Page<RecipeCardDTO> getRecipesByCategory(String categoryName, Pageable pageable) {
+        return recipeRepository.findCardsByCategoryName(categoryName, pageable);
+    }
+
+    @Override
+    public RecipeCursorPage getRecipesByCategory(String categoryName, String cursor, int size, String sortBy,
+                                                 String direction, boolean includeTotal) {
+        return scrollRecipes(cursor, size, sortBy, direction,
+                (position, sort, limit) -> recipeRepository.findByIsPublishedTrueAndCategoriesNameIgnoreCase(
+                        categoryName, position, sort, limit),
+                includeTotal ? () -> recipeRepository.countByIsPublishedTrueAndCategoriesNameIgnoreCase(categoryName) : null);
+    }
+
+    // One keyset page: whitelisted sort field plus id, starting after the cursor; the count is optional
+    private RecipeCursorPage scrollRecipes(String cursor, int size, String sortBy, String direction,
+                                           RecipeWindowQuery query, LongSupplier totalCount) {
+        RecipeSortField field = RecipeSortField.fromProperty(sortBy);
+        Sort.Direction sortDirection = "asc".equalsIgnoreCase(direction) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        ScrollPosition position = RecipeCursor.decode(cursor, field, sortDirection);
+
+        Window<Recipe> window = query.find(position, RecipeCursor.sort(field, sortDirection), Limit.of(size));
+        List<Recipe> recipes = window.getContent();
+        String nextCursor = window.hasNext() && !recipes.isEmpty()
+                ? RecipeCursor.encode(field, sortDirection, recipes.get(recipes.size() - 1))
+                : null;
+
+        List<Long> recipeIds = new ArrayList<>(recipes.size());
+        for (Recipe recipe : recipes) {
+            recipeIds.add(recipe.getId());
+        }
+
+        return RecipeCursorPage.builder()
+                .recipes(findCardsInOrder(recipeIds))
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .totalItems(totalCount != null ? totalCount.getAsLong() : null)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface RecipeWindowQuery {
+        Window<Recipe> find(ScrollPosition position, Sort sort, Limit limit);
     }
 
     @Override
@@ -279,17 +402,13 @@ public class RecipeServiceImpl implements RecipeService {
     // Admin-specific methods
     
     @Override
-    public Page<Recipe> getAllRecipes(Pageable pageable) {
-        return recipeRepository.findAll(pageable);
+    public Page<RecipeCardDTO> getAllRecipes(Pageable pageable) {
+        return recipeRepository.findAllCards(pageable);
     }
     
     @Override
-    public Page<Recipe> getAllRecipesByPublishedStatus(boolean published, Pageable pageable) {
-        if (published) {
-            return recipeRepository.findAllByIsPublishedTrue(pageable);
-        } else {
-            return recipeRepository.findAllByIsPublishedFalse(pageable);
-        }
+    public Page<RecipeCardDTO> getAllRecipesByPublishedStatus(boolean published, Pageable pageable) {
+        return recipeRepository.findCardsByPublished(published, pageable);
     }
     
     @Override
@@ -299,7 +418,9 @@ public class RecipeServiceImpl implements RecipeService {
                 .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + id));
 
         recipe.setPublished(publish);
-        return recipeRepository.save(recipe);
+        Recipe savedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(id));
+        return savedRecipe;
     }
 
     @Override
@@ -314,7 +435,9 @@ public class RecipeServiceImpl implements RecipeService {
         }
 
         recipe.setPublished(publish);
-        return recipeRepository.save(recipe);
+        Recipe savedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(id));
+        return savedRecipe;
     }
     
     @Override
@@ -324,5 +447,6 @@ public class RecipeServiceImpl implements RecipeService {
                 .orElseThrow(() -> new EntityNotFoundException("Recipe not found with id: " + id));
         
         recipeRepository.delete(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(id));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.entity.Recipe;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Sort fields allowed in cursor pagination. For the published and per-user scopes
+ * each one is backed by a composite (is_published or user_id, field, id) index on
+ * the recipes table, so a page is an index range scan. The category scope filters
+ * through the recipe_categories join table, which no recipes index can cover: a
+ * page either walks the published index skipping recipes outside the category, or
+ * reads all of the category's recipes and sorts them, so it is not bounded by the
+ * page size.
+ */
+public enum RecipeSortField {
+
+    CREATED_AT("createdAt", Recipe::getCreatedAt, LocalDateTime::parse),
+    VIEW_COUNT("viewCount", Recipe::getViewCount, Long::valueOf),
+    TITLE("title", Recipe::getTitle, value -> value);
+
+    private final String property;
+    private final Function<Recipe, Object> extractor;
+    private final Function<String, Object> parser;
+
+    RecipeSortField(String property, Function<Recipe, Object> extractor, Function<String, Object> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    Object valueOf(Recipe recipe) {
+        return extractor.apply(recipe);
+    }
+
+    Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    /**
+     * Look up a sort field by its request name
+     * @throws IllegalArgumentException if the field is not sortable in cursor mode
+     */
+    public static RecipeSortField fromProperty(String property) {
+        for (RecipeSortField field : values()) {
+            if (field.property.equalsIgnoreCase(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field for cursor pagination: " + property);
+    }
+}
@@ -0,0 +1,76 @@
+package com.javarecipe.backend.recipe.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * The values the ingredient search can sort by (average rating, view count and
+ * creation date), kept in primitive arrays indexed by recipe slot.
+ * Not thread-safe; {@link RecipeIngredientIndex} guards it with its lock.
+ */
+public class RecipeSortKeys {
+
+    public enum Field {
+        RATING, VIEW_COUNT, CREATED_AT
+    }
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private double[] ratings = new double[0];
+    private long[] viewCounts = new long[0];
+    private long[] createdAt = new long[0];
+
+    /**
+     * Store the keys of one recipe from a {@code (id, averageRating, viewCount, createdAt)} row
+     */
+    public void put(int slot, Object[] row) {
+        ensureCapacity(slot);
+        Double rating = (Double) row[1];
+        Long viewCount = (Long) row[2];
+        LocalDateTime created = (LocalDateTime) row[3];
+        ratings[slot] = rating != null ? rating : Double.NaN;
+        viewCounts[slot] = viewCount != null ? viewCount : 0L;
+        createdAt[slot] = created != null ? created.toInstant(ZoneOffset.UTC).toEpochMilli() : NO_DATE;
+    }
+
+    /**
+     * Forget the keys of a slot, so the next recipe given the slot starts without any
+     */
+    public void clear(int slot) {
+        if (slot < ratings.length) {
+            ratings[slot] = Double.NaN;
+            viewCounts[slot] = 0L;
+            createdAt[slot] = NO_DATE;
+        }
+    }
+
+    /**
+     * The key of a recipe, or null if it has none (unrated, or never stored)
+     */
+    @SuppressWarnings("unchecked")
+    public Comparable<Object> get(int slot, Field field) {
+        if (slot >= ratings.length) {
+            return null;
+        }
+        Comparable<?> key = switch (field) {
+            case RATING -> Double.isNaN(ratings[slot]) ? null : ratings[slot];
+            case VIEW_COUNT -> viewCounts[slot];
+            case CREATED_AT -> createdAt[slot] == NO_DATE ? null : createdAt[slot];
+        };
+        return (Comparable<Object>) key;
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot < ratings.length) {
+            return;
+        }
+        int length = Math.max(slot + 1, ratings.length * 2);
+        int oldLength = ratings.length;
+        ratings = Arrays.copyOf(ratings, length);
+        viewCounts = Arrays.copyOf(viewCounts, length);
+        createdAt = Arrays.copyOf(createdAt, length);
+        Arrays.fill(ratings, oldLength, length, Double.NaN);
+        Arrays.fill(createdAt, oldLength, length, NO_DATE);
+    }
+}
@@ -0,0 +1,301 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.event.RecipeChangedEvent;
+import com.javarecipe.backend.recipe.repository.IngredientRepository;
+import com.javarecipe.backend.recipe.repository.InstructionRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * On-disk Lucene index over the title, description, ingredients and instructions
+ * of published recipes. Text is analyzed with the English analyzer (tokenizing,
+ * stop words, Porter stemming) and ranked with BM25. Title and ingredient matches
+ * are boosted over description and instruction matches.
+ * Kept current through {@link RecipeChangedEvent}; rebuilt from the database at startup.
+ * <p>
+ * A recipe change becomes searchable through a near-real-time reader refresh and is
+ * only committed (fsynced) to disk periodically, off the request thread. Changes lost
+ * in a crash are restored by the rebuild at the next startup.
+ */
+@Component
+public class RecipeTextIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecipeTextIndex.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // Hits are counted exactly up to here; beyond it the total is a lower bound and collection can stop early
+    static final int TOTAL_HITS_THRESHOLD = 1000;
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_TITLE = "title";
+    static final String FIELD_DESCRIPTION = "description";
+    static final String FIELD_INGREDIENTS = "ingredients";
+    static final String FIELD_INSTRUCTIONS = "instructions";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            FIELD_TITLE, 3.0f,
+            FIELD_INGREDIENTS, 1.5f,
+            FIELD_DESCRIPTION, 1.0f,
+            FIELD_INSTRUCTIONS, 0.5f);
+
+    private final RecipeRepository recipeRepository;
+    private final IngredientRepository ingredientRepository;
+    private final InstructionRepository instructionRepository;
+    private final Path indexDirectory;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean ready = false;
+
+    @Autowired
+    public RecipeTextIndex(RecipeRepository recipeRepository,
+                           IngredientRepository ingredientRepository,
+                           InstructionRepository instructionRepository,
+                           @Value("${recipe.search.index-dir:data/recipe-index}") String indexDirectory) {
+        this.recipeRepository = recipeRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.instructionRepository = instructionRepository;
+        this.indexDirectory = Path.of(indexDirectory);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(indexDirectory);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        ready = false;
+        if (searcherManager != null) {
+            searcherManager.close();
+        }
+        if (writer != null) {
+            writer.close();
+        }
+        if (directory != null) {
+            directory.close();
+        }
+    }
+
+    /**
+     * Whether the index has been built and can serve searches
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Re-index every published recipe, reading the database in id-ordered batches
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            writer.deleteAll();
+
+            int indexed = 0;
+            long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = recipeRepository.findPublishedTextAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                if (!rows.isEmpty()) {
+                    indexRows(rows);
+                    indexed += rows.size();
+                    afterId = (Long) rows.get(rows.size() - 1)[0];
+                }
+            } while (rows.size() == REBUILD_BATCH_SIZE);
+
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            logger.info("Recipe text index built: {} recipes in {} ms", indexed, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            logger.error("Failed to build recipe text index, search falls back to the database", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        refreshRecipe(event.recipeId());
+    }
+
+    /**
+     * Re-read a single recipe and replace (or remove) its document
+     */
+    public synchronized void refreshRecipe(Long recipeId) {
+        if (!ready) {
+            return;
+        }
+        try {
+            List<Object[]> rows = recipeRepository.findPublishedTextById(recipeId);
+            if (rows.isEmpty()) {
+                writer.deleteDocuments(new Term(FIELD_ID, recipeId.toString()));
+            } else {
+                indexRows(rows);
+            }
+            // Visible to searches now; committed with the next periodic commit
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.error("Failed to update recipe {} in the text index", recipeId, e);
+        }
+    }
+
+    /**
+     * Commit the recipe changes indexed since the last commit
+     */
+    @Scheduled(fixedDelayString = "${recipe.search.index-commit-ms:30000}")
+    public void commitPending() {
+        if (!ready || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            logger.error("Failed to commit the recipe text index", e);
+        }
+    }
+
+    /**
+     * Search published recipes, best match first
+     *
+     * @return the ids of the requested page and the total number of hits, exact up to
+     *         {@link #TOTAL_HITS_THRESHOLD} and a lower bound beyond
+     * @throws IllegalArgumentException if the page starts past the last indexed recipe
+     */
+    public SearchHits search(String queryText, long offset, int limit) {
+        Query query = parse(queryText);
+        if (query == null) {
+            return new SearchHits(Collections.emptyList(), 0);
+        }
+
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+
+            // The page size comes from the client: never collect more hits than there are documents
+            int maxDoc = searcher.getIndexReader().maxDoc();
+            if (offset > 0 && offset >= maxDoc) {
+                throw new IllegalArgumentException("Search page is past the last result");
+            }
+            int numHits = (int) Math.max(1, Math.min(offset + Math.max(0, limit), maxDoc));
+
+            TopDocs topDocs = searcher.search(query, new TopScoreDocCollectorManager(numHits, TOTAL_HITS_THRESHOLD));
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+
+            int start = (int) offset;
+            int end = Math.min(scoreDocs.length, numHits);
+            List<Long> recipeIds = new ArrayList<>(Math.max(0, end - start));
+            for (int i = start; i < end; i++) {
+                Document document = searcher.storedFields().document(scoreDocs[i].doc, Set.of(FIELD_ID));
+                recipeIds.add(Long.valueOf(document.get(FIELD_ID)));
+            }
+            return new SearchHits(recipeIds, topDocs.totalHits.value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Recipe text search failed", e);
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    logger.warn("Failed to release recipe text index searcher", e);
+                }
+            }
+        }
+    }
+
+    private Query parse(String queryText) {
+        if (queryText == null || queryText.isBlank()) {
+            return null;
+        }
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                FIELD_BOOSTS.keySet().toArray(new String[0]), analyzer, FIELD_BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            // User input is plain text, not Lucene syntax
+            return parser.parse(QueryParser.escape(queryText.trim()));
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    // rows are (id, title, description) of published recipes
+    private void indexRows(List<Object[]> rows) throws IOException {
+        List<Long> recipeIds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            recipeIds.add((Long) row[0]);
+        }
+
+        Map<Long, StringBuilder> ingredients = groupText(ingredientRepository.findNamesByRecipeIds(recipeIds));
+        Map<Long, StringBuilder> instructions = groupText(instructionRepository.findDescriptionsByRecipeIds(recipeIds));
+
+        for (Object[] row : rows) {
+            Long recipeId = (Long) row[0];
+            Document document = new Document();
+            document.add(new StringField(FIELD_ID, recipeId.toString(), Field.Store.YES));
+            document.add(new TextField(FIELD_TITLE, Objects.toString(row[1], ""), Field.Store.NO));
+            document.add(new TextField(FIELD_DESCRIPTION, Objects.toString(row[2], ""), Field.Store.NO));
+            document.add(new TextField(FIELD_INGREDIENTS, Objects.toString(ingredients.get(recipeId), ""), Field.Store.NO));
+            document.add(new TextField(FIELD_INSTRUCTIONS, Objects.toString(instructions.get(recipeId), ""), Field.Store.NO));
+            writer.updateDocument(new Term(FIELD_ID, recipeId.toString()), document);
+        }
+    }
+
+    private static Map<Long, StringBuilder> groupText(List<Object[]> rows) {
+        Map<Long, StringBuilder> text = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                text.computeIfAbsent((Long) row[0], key -> new StringBuilder()).append(row[1]).append('\n');
+            }
+        }
+        return text;
+    }
+
+    /**
+     * One page of recipe ids in rank order, plus the total number of matching recipes
+     */
+    public record SearchHits(List<Long> recipeIds, long totalHits) {
+    }
+}
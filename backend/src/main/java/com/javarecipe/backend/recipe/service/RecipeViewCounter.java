@@ -0,0 +1,47 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.common.service.WriteBehindCounter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Write-behind recipe view counter. Views are added to a striped in-memory counter
+ * per recipe and periodically flushed as one JDBC batch of relative
+ * {@code view_count = view_count + ?} updates, so reading a recipe never writes
+ * its row. Views recorded since the last flush are lost if the process dies,
+ * which bounds the loss by the flush interval.
+ */
+@Component
+public class RecipeViewCounter {
+
+    static final String INCREMENT_SQL = "UPDATE recipes SET view_count = view_count + ? WHERE id = ?";
+
+    private final WriteBehindCounter views;
+
+    @Autowired
+    public RecipeViewCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.views = new WriteBehindCounter(jdbcTemplate, transactionManager, INCREMENT_SQL, "view counts");
+    }
+
+    public void recordView(Long recipeId) {
+        views.add(recipeId, 1);
+    }
+
+    /**
+     * Write the pending views to the database
+     * @return number of recipes updated
+     */
+    @Scheduled(fixedDelayString = "${recipe.view-count.flush-interval-ms:5000}")
+    public int flush() {
+        return views.flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
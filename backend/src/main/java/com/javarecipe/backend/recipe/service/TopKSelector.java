@@ -0,0 +1,69 @@
+package com.javarecipe.backend.recipe.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the first {@code limit} elements, in the given order, out of everything
+ * offered to it. The elements are held in a bounded heap whose head is the worst
+ * one kept, so memory stays O(limit) and each offer costs O(log limit).
+ */
+public class TopKSelector<T> {
+
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    private final int limit;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+    private long offered = 0;
+
+    public TopKSelector(int limit, Comparator<? super T> order) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        this.limit = limit;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.min(limit, MAX_INITIAL_CAPACITY) + 1, order.reversed());
+    }
+
+    public void offer(T element) {
+        offered++;
+        if (limit == 0) {
+            return;
+        }
+        if (heap.size() < limit) {
+            heap.add(element);
+        } else if (order.compare(element, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    /**
+     * Offer everything another selector kept, and count everything it was offered
+     */
+    public void mergeFrom(TopKSelector<T> other) {
+        for (T element : other.heap) {
+            offer(element);
+        }
+        offered += other.offered - other.heap.size();
+    }
+
+    /**
+     * Total number of elements offered, including the ones that were dropped
+     */
+    public long getOfferedCount() {
+        return offered;
+    }
+
+    /**
+     * The kept elements, best first
+     */
+    public List<T> toSortedList() {
+        List<T> kept = new ArrayList<>(heap);
+        kept.sort(order);
+        return kept;
+    }
+}
@@ -0,0 +1,154 @@
+package com.javarecipe.backend.admin.service;
+
+import com.javarecipe.backend.admin.dto.IngredientSynonymDTO;
+import com.javarecipe.backend.admin.dto.IngredientSynonymRequest;
+import com.javarecipe.backend.recipe.entity.IngredientSynonym;
+import com.javarecipe.backend.recipe.repository.IngredientRepository;
+import com.javarecipe.backend.recipe.repository.IngredientSynonymRepository;
+import com.javarecipe.backend.recipe.service.IngredientCanonicalizer;
+import com.javarecipe.backend.recipe.service.RecipeIngredientIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminIngredientSynonymServiceTest {
+
+    @Mock
+    private IngredientSynonymRepository ingredientSynonymRepository;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    private AdminIngredientSynonymServiceImpl adminIngredientSynonymService;
+
+    @BeforeEach
+    void setUp() {
+        IngredientCanonicalizer ingredientCanonicalizer = new IngredientCanonicalizer(ingredientRepository, ingredientSynonymRepository);
+        adminIngredientSynonymService = new AdminIngredientSynonymServiceImpl(ingredientSynonymRepository,
+                ingredientCanonicalizer, recipeIngredientIndex);
+    }
+
+    @Test
+    void testCreateSynonym_RejectsCycle() {
+        // Given - "scallion" -> "green onion" exists
+        when(ingredientSynonymRepository.findByVariant("scallion"))
+                .thenReturn(Optional.of(synonym(1L, "scallion", "green onion")));
+
+        // When / Then - "green onion" -> "scallion" would loop back
+        assertThrows(IllegalArgumentException.class,
+                () -> adminIngredientSynonymService.createSynonym(request("Green Onions", "Scallions")));
+        verify(ingredientSynonymRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateSynonym_RejectsChainThroughAnotherVariant() {
+        // Given - "roma tomato" -> "tomato" exists
+        when(ingredientSynonymRepository.findByVariant("roma tomato"))
+                .thenReturn(Optional.of(synonym(1L, "roma tomato", "tomato")));
+
+        // When / Then - "plum tomato" -> "roma tomato" would need two lookups
+        assertThrows(IllegalArgumentException.class,
+                () -> adminIngredientSynonymService.createSynonym(request("plum tomato", "roma tomato")));
+        verify(ingredientSynonymRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateSynonym_CanReverseItsOwnDirection() {
+        // Given - the row being edited is the only one using these names
+        IngredientSynonym existing = synonym(1L, "scallion", "green onion");
+        when(ingredientSynonymRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(ingredientSynonymRepository.findByVariant("scallion")).thenReturn(Optional.of(existing));
+        when(ingredientSynonymRepository.findByCanonicalName("green onion")).thenReturn(List.of(existing));
+        when(ingredientSynonymRepository.save(existing)).thenReturn(existing);
+        when(ingredientSynonymRepository.findAll()).thenAnswer(invocation -> List.of(existing));
+        // Both variants are stored under the old canonical name
+        when(ingredientRepository.findNamesByCanonicalNameIn(Set.of("green onion"))).thenReturn(List.of(
+                new Object[]{1L, 10L, "Scallions", "green onion"},
+                new Object[]{2L, 11L, "Green Onions", "green onion"}));
+
+        // When
+        IngredientSynonymDTO result = adminIngredientSynonymService.updateSynonym(1L, request("green onion", "scallion"));
+
+        // Then - the rows of both variants are rewritten and only their recipes re-indexed
+        assertEquals("green onion", result.getVariant());
+        assertEquals("scallion", result.getCanonicalName());
+        verify(ingredientRepository).updateCanonicalNameByIdIn(List.of(1L, 2L), "scallion");
+        verify(recipeIngredientIndex).refreshRecipe(10L);
+        verify(recipeIngredientIndex).refreshRecipe(11L);
+        verify(recipeIngredientIndex, never()).rebuild();
+    }
+
+    @Test
+    void testDeleteSynonym_RecanonicalizesOnlyTheVariant() {
+        // Given - "roma tomato" -> "tomato" is removed, plain tomatoes share the canonical name
+        when(ingredientSynonymRepository.findById(1L)).thenReturn(Optional.of(synonym(1L, "roma tomato", "tomato")));
+        when(ingredientSynonymRepository.findAll()).thenReturn(Collections.emptyList());
+        when(ingredientRepository.findNamesByCanonicalNameIn(Set.of("tomato"))).thenReturn(List.of(
+                new Object[]{1L, 10L, "Roma Tomatoes", "tomato"},
+                new Object[]{2L, 11L, "Tomatoes", "tomato"}));
+
+        // When
+        adminIngredientSynonymService.deleteSynonym(1L);
+
+        // Then
+        verify(ingredientRepository).updateCanonicalNameByIdIn(List.of(1L), "roma tomato");
+        verify(ingredientRepository, times(1)).updateCanonicalNameByIdIn(any(), any());
+        verify(recipeIngredientIndex).refreshRecipe(10L);
+        verify(recipeIngredientIndex, never()).refreshRecipe(11L);
+    }
+
+    @Test
+    void testCreateSynonym_RecanonicalizesOnlyAfterCommit() {
+        // Given
+        when(ingredientSynonymRepository.findByVariant("tomato")).thenReturn(Optional.empty());
+        when(ingredientSynonymRepository.findByCanonicalName("roma tomato")).thenReturn(Collections.emptyList());
+        when(ingredientSynonymRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ingredientSynonymRepository.findAll()).thenReturn(Collections.emptyList());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            adminIngredientSynonymService.createSynonym(request("Roma Tomatoes", "tomato"));
+
+            // Then - nothing is recomputed until the synonym is committed
+            verify(ingredientRepository, never()).findNamesByCanonicalNameIn(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(ingredientRepository).findNamesByCanonicalNameIn(Set.of("roma tomato"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static IngredientSynonym synonym(Long id, String variant, String canonicalName) {
+        return IngredientSynonym.builder()
+                .id(id)
+                .variant(variant)
+                .canonicalName(canonicalName)
+                .build();
+    }
+
+    private static IngredientSynonymRequest request(String variant, String canonicalName) {
+        IngredientSynonymRequest request = new IngredientSynonymRequest();
+        request.setVariant(variant);
+        request.setCanonicalName(canonicalName);
+        return request;
+    }
+}
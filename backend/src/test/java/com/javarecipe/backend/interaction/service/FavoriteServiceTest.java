@@ -2,6 +2,7 @@ package com.javarecipe.backend.interaction.service;
 
 import com.javarecipe.backend.interaction.entity.Favorite;
 import com.javarecipe.backend.interaction.repository.FavoriteRepository;
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
 import com.javarecipe.backend.user.entity.User;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -36,6 +38,12 @@ class FavoriteServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
+    @Spy
+    private InteractionCounters interactionCounters = new InteractionCounters(null, null);
+
+    @Mock
+    private UserInteractionFilters userInteractionFilters;
+
     @InjectMocks
     private FavoriteServiceImpl favoriteService;
 
@@ -67,6 +75,8 @@ class FavoriteServiceTest {
         assertTrue(result, "Should return true when adding to favorites");
         verify(favoriteRepository).save(any(Favorite.class));
         verify(favoriteRepository, never()).delete(any(Favorite.class));
+        verify(interactionCounters).addRecipeFavorite(1L, 1);
+        verify(userInteractionFilters).recordFavorite(1L, 1L);
     }
 
     @Test
@@ -87,14 +97,14 @@ class FavoriteServiceTest {
         assertFalse(result, "Should return false when removing from favorites");
         verify(favoriteRepository).delete(existingFavorite);
         verify(favoriteRepository, never()).save(any(Favorite.class));
+        verify(interactionCounters).addRecipeFavorite(1L, -1);
     }
 
     @Test
     void testIsRecipeFavorited_ShouldReturnTrueWhenFavorited() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
-        when(favoriteRepository.existsByUserAndRecipe(testUser, testRecipe)).thenReturn(true);
+        when(userInteractionFilters.mightHaveFavorited(1L, 1L)).thenReturn(true);
+        when(favoriteRepository.existsByUserIdAndRecipeId(1L, 1L)).thenReturn(true);
 
         // When
         boolean result = favoriteService.isRecipeFavorited(1L, 1L);
@@ -106,49 +116,44 @@ class FavoriteServiceTest {
     @Test
     void testIsRecipeFavorited_ShouldReturnFalseWhenNotFavorited() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
-        when(favoriteRepository.existsByUserAndRecipe(testUser, testRecipe)).thenReturn(false);
+        when(userInteractionFilters.mightHaveFavorited(1L, 1L)).thenReturn(false);
 
         // When
         boolean result = favoriteService.isRecipeFavorited(1L, 1L);
 
         // Then
         assertFalse(result, "Should return false when recipe is not favorited");
+        verifyNoInteractions(favoriteRepository, userRepository, recipeRepository);
     }
 
     @Test
     void testCountRecipeFavorites() {
         // Given
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
-        when(favoriteRepository.countByRecipe(testRecipe)).thenReturn(3L);
+        when(recipeRepository.findFavoriteCountById(1L)).thenReturn(Optional.of(4));
+        interactionCounters.addRecipeFavorite(1L, -1);
 
         // When
         long result = favoriteService.countRecipeFavorites(1L);
 
         // Then
-        assertEquals(3L, result, "Should return correct favorite count");
+        assertEquals(3L, result, "Should add the unflushed favorites to the stored count");
+        verify(favoriteRepository, never()).countByRecipe(any(Recipe.class));
     }
 
     @Test
     void testGetFavoriteRecipes() {
         // Given
-        Recipe recipe1 = new Recipe();
-        recipe1.setId(1L);
-        recipe1.setTitle("Recipe 1");
-        
-        Recipe recipe2 = new Recipe();
-        recipe2.setId(2L);
-        recipe2.setTitle("Recipe 2");
-
-        Page<Recipe> expectedPage = new PageImpl<>(Arrays.asList(recipe1, recipe2));
+        RecipeCardDTO recipe1 = RecipeCardDTO.builder().id(1L).title("Recipe 1").build();
+        RecipeCardDTO recipe2 = RecipeCardDTO.builder().id(2L).title("Recipe 2").build();
+
+        Page<RecipeCardDTO> expectedPage = new PageImpl<>(Arrays.asList(recipe1, recipe2));
         Pageable pageable = PageRequest.of(0, 10);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(favoriteRepository.findFavoriteRecipesByUserId(1L, pageable)).thenReturn(expectedPage);
+        when(favoriteRepository.findFavoriteRecipeCardsByUserId(1L, pageable)).thenReturn(expectedPage);
 
         // When
-        Page<Recipe> result = favoriteService.getFavoriteRecipes(1L, pageable);
+        Page<RecipeCardDTO> result = favoriteService.getFavoriteRecipes(1L, pageable);
 
         // Then
         assertEquals(2, result.getContent().size(), "Should return correct number of favorite recipes");
@@ -0,0 +1,103 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.comment.entity.Comment;
+import com.javarecipe.backend.comment.repository.CommentRepository;
+import com.javarecipe.backend.common.config.HibernateCacheConfig;
+import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import com.javarecipe.backend.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class InteractionCountColumnsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private Long recipeId;
+    private Long commentId;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User();
+        author.setEmail("cook@example.com");
+        author.setUsername("cook");
+        author.setPassword("secret");
+        author.setFirstName("Test");
+        author.setLastName("Cook");
+        entityManager.persist(author);
+
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Pancakes");
+        recipe.setUser(author);
+        entityManager.persist(recipe);
+
+        Comment comment = new Comment();
+        comment.setContent("Nice");
+        comment.setUser(author);
+        comment.setRecipe(recipe);
+        comment.setLikeCount(0);
+        entityManager.persist(comment);
+        entityManager.flush();
+        recipeId = recipe.getId();
+        commentId = comment.getId();
+    }
+
+    @Test
+    void testRecipeSave_DoesNotOverwriteFlushedCounters() {
+        Recipe loaded = recipeRepository.findById(recipeId).orElseThrow();
+
+        // A counter flush lands between load and save
+        jdbcTemplate.update(InteractionCounters.RECIPE_LIKE_SQL, 3, recipeId);
+        jdbcTemplate.update(InteractionCounters.RECIPE_FAVORITE_SQL, 2, recipeId);
+
+        loaded.setTitle("Fluffy pancakes");
+        recipeRepository.save(loaded);
+        entityManager.flush();
+        entityManager.clear();
+
+        Recipe recipe = entityManager.find(Recipe.class, recipeId);
+        assertEquals("Fluffy pancakes", recipe.getTitle());
+        assertEquals(3, recipe.getLikeCount());
+        assertEquals(2, recipe.getFavoriteCount());
+    }
+
+    @Test
+    void testCommentSave_DoesNotOverwriteFlushedLikeCount() {
+        Comment loaded = commentRepository.findById(commentId).orElseThrow();
+
+        jdbcTemplate.update(InteractionCounters.COMMENT_LIKE_SQL, 4, commentId);
+
+        loaded.setContent("Very nice");
+        commentRepository.save(loaded);
+        entityManager.flush();
+        entityManager.clear();
+
+        Comment comment = entityManager.find(Comment.class, commentId);
+        assertEquals("Very nice", comment.getContent());
+        assertEquals(4, comment.getLikeCount());
+    }
+}
@@ -0,0 +1,130 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.comment.repository.CommentRepository;
+import com.javarecipe.backend.interaction.repository.FavoriteRepository;
+import com.javarecipe.backend.interaction.repository.LikeRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InteractionCountReconcilerTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private FavoriteRepository favoriteRepository;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private InteractionCounters interactionCounters;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InteractionCountReconciler interactionCountReconciler;
+
+    @BeforeEach
+    void setUp() {
+        interactionCountReconciler = new InteractionCountReconciler(likeRepository, favoriteRepository,
+                recipeRepository, commentRepository, interactionCounters, transactionManager, 3);
+    }
+
+    @Test
+    void testReconcile_CorrectsOnlyDriftedRowsChunkByChunk() {
+        runChunksDirectly();
+        when(recipeRepository.findInteractionCountsAfter(0L, PageRequest.of(0, 3))).thenReturn(Arrays.asList(
+                // In sync
+                new Object[]{1L, 3, 2},
+                // Written before the counters existed
+                new Object[]{2L, 0, 0},
+                // Never liked or favorited
+                new Object[]{3L, 0, 0}));
+        when(recipeRepository.findInteractionCountsAfter(3L, PageRequest.of(0, 3))).thenReturn(List.of());
+        when(likeRepository.countLikesPerRecipe(List.of(1L, 2L, 3L))).thenReturn(Arrays.asList(
+                new Object[]{1L, 3L},
+                new Object[]{2L, 1L}));
+        when(favoriteRepository.countFavoritesPerRecipe(List.of(1L, 2L, 3L))).thenReturn(Collections.singletonList(
+                new Object[]{1L, 2L}));
+        when(commentRepository.findLikeCountsAfter(0L, PageRequest.of(0, 3))).thenReturn(Arrays.asList(
+                new Object[]{10L, 4},
+                // Stale counter, its likes are gone
+                new Object[]{11L, 2}));
+        when(likeRepository.countLikesPerComment(List.of(10L, 11L))).thenReturn(Collections.singletonList(
+                new Object[]{10L, 4L}));
+
+        assertEquals(2, interactionCountReconciler.reconcile());
+
+        verify(recipeRepository).setInteractionCounts(2L, 1, 0);
+        verify(recipeRepository, times(1)).setInteractionCounts(anyLong(), anyInt(), anyInt());
+        verify(commentRepository).setLikeCount(11L, 0);
+        verify(commentRepository, times(1)).setLikeCount(anyLong(), anyInt());
+        // One paused flush window per chunk: a full recipe chunk, the empty one after it, and the comment chunk
+        verify(interactionCounters, times(3)).withFlushesPaused(any());
+    }
+
+    @Test
+    void testReconcile_LeavesPendingDeltasForTheNextFlush() {
+        runChunksDirectly();
+        when(recipeRepository.findInteractionCountsAfter(0L, PageRequest.of(0, 3))).thenReturn(
+                Collections.singletonList(new Object[]{1L, 0, 0}));
+        when(likeRepository.countLikesPerRecipe(List.of(1L))).thenReturn(
+                Collections.singletonList(new Object[]{1L, 5L}));
+        when(favoriteRepository.countFavoritesPerRecipe(List.of(1L))).thenReturn(List.of());
+        when(commentRepository.findLikeCountsAfter(0L, PageRequest.of(0, 3))).thenReturn(List.of());
+        // Two of the five likes are still waiting to be flushed
+        when(interactionCounters.pendingRecipeLikes(1L)).thenReturn(2L);
+
+        assertEquals(1, interactionCountReconciler.reconcile());
+
+        verify(recipeRepository).setInteractionCounts(1L, 3, 0);
+    }
+
+    @Test
+    void testNeedsBackfill_OnlyWhileNoCounterWasEverFilled() {
+        when(likeRepository.existsByRecipeIsNotNull()).thenReturn(true);
+        when(recipeRepository.existsByLikeCountGreaterThanOrFavoriteCountGreaterThan(0, 0)).thenReturn(false);
+        when(commentRepository.existsByLikeCountGreaterThan(0)).thenReturn(false);
+
+        assertTrue(interactionCountReconciler.needsBackfill());
+
+        when(recipeRepository.existsByLikeCountGreaterThanOrFavoriteCountGreaterThan(0, 0)).thenReturn(true);
+
+        assertFalse(interactionCountReconciler.needsBackfill());
+    }
+
+    @Test
+    void testNeedsBackfill_NothingToBackfillWithoutInteractions() {
+        assertFalse(interactionCountReconciler.needsBackfill());
+
+        verify(recipeRepository, never()).existsByLikeCountGreaterThanOrFavoriteCountGreaterThan(anyInt(), anyInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runChunksDirectly() {
+        when(interactionCounters.withFlushesPaused(any()))
+                .thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(0)).get());
+    }
+}
@@ -0,0 +1,123 @@
+package com.javarecipe.backend.interaction.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InteractionCountersTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InteractionCounters interactionCounters;
+
+    @BeforeEach
+    void setUp() {
+        interactionCounters = new InteractionCounters(jdbcTemplate, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_WritesNetDeltasPerCounter() {
+        interactionCounters.addRecipeLike(1L, 1);
+        interactionCounters.addRecipeLike(1L, 1);
+        interactionCounters.addRecipeLike(2L, -1);
+        interactionCounters.addCommentLike(5L, 1);
+        // Liked and unliked again, nothing to write
+        interactionCounters.addRecipeFavorite(1L, 1);
+        interactionCounters.addRecipeFavorite(1L, -1);
+
+        assertEquals(3, interactionCounters.flush());
+
+        ArgumentCaptor<List<Object[]>> recipeBatch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(InteractionCounters.RECIPE_LIKE_SQL), recipeBatch.capture());
+        assertEquals(2, recipeBatch.getValue().size());
+        verify(jdbcTemplate).batchUpdate(eq(InteractionCounters.COMMENT_LIKE_SQL), anyList());
+        verify(jdbcTemplate, never()).batchUpdate(eq(InteractionCounters.RECIPE_FAVORITE_SQL), anyList());
+        assertEquals(10, interactionCounters.recipeLikeCount(1L, 10));
+    }
+
+    @Test
+    void testRecipeLikeCount_AddsPendingDeltaToStoredCount() {
+        interactionCounters.addRecipeLike(1L, 1);
+        interactionCounters.addRecipeLike(1L, 1);
+        interactionCounters.addCommentLike(1L, -1);
+
+        assertEquals(12, interactionCounters.recipeLikeCount(1L, 10));
+        assertEquals(0, interactionCounters.commentLikeCount(1L, 0));
+        assertEquals(3, interactionCounters.recipeFavoriteCount(1L, 3));
+    }
+
+    @Test
+    void testAdd_InTransactionAppliesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        interactionCounters.addRecipeLike(1L, 1);
+
+        assertEquals(0, interactionCounters.recipeLikeCount(1L, 0));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals(1, interactionCounters.recipeLikeCount(1L, 0));
+    }
+
+    @Test
+    void testAdd_RolledBackTransactionLeavesCountUnchanged() {
+        TransactionSynchronizationManager.initSynchronization();
+        interactionCounters.addRecipeFavorite(1L, 1);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        assertEquals(0, interactionCounters.recipeFavoriteCount(1L, 0));
+    }
+
+    @Test
+    void testFlush_SkippedWhileFlushesArePaused() throws Exception {
+        interactionCounters.addRecipeLike(1L, 1);
+
+        int flushedWhilePaused = interactionCounters.withFlushesPaused(() -> {
+            // The scheduler's flush comes from another thread and must not wait for the pause
+            FutureTask<Integer> flush = new FutureTask<>(interactionCounters::flush);
+            Thread thread = new Thread(flush);
+            thread.start();
+            try {
+                return flush.get();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(0, flushedWhilePaused);
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(1, interactionCounters.pendingRecipeLikes(1L));
+        assertEquals(1, interactionCounters.flush());
+    }
+}
@@ -0,0 +1,98 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.interaction.dto.RecipeInteractionStateDTO;
+import com.javarecipe.backend.interaction.repository.FavoriteRepository;
+import com.javarecipe.backend.interaction.repository.LikeRepository;
+import com.javarecipe.backend.interaction.repository.ReviewRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InteractionStateServiceTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private FavoriteRepository favoriteRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    private InteractionCounters interactionCounters;
+    private InteractionStateServiceImpl interactionStateService;
+
+    @BeforeEach
+    void setUp() {
+        interactionCounters = new InteractionCounters(null, null);
+        interactionStateService = new InteractionStateServiceImpl(
+                recipeRepository, likeRepository, favoriteRepository, reviewRepository, interactionCounters);
+    }
+
+    @Test
+    void testGetRecipeInteractionStates_CombinesInListQueriesInRequestOrder() {
+        when(recipeRepository.findInteractionCountsByIds(anyCollection())).thenReturn(Arrays.asList(
+                new Object[]{1L, 4, 1},
+                new Object[]{3L, 0, 2}));
+        when(likeRepository.findLikedRecipeIds(eq(7L), anyCollection())).thenReturn(List.of(3L));
+        when(favoriteRepository.findFavoritedRecipeIds(eq(7L), anyCollection())).thenReturn(List.of(1L, 3L));
+        when(reviewRepository.findRatingsByUserIdAndRecipeIds(eq(7L), anyCollection()))
+                .thenReturn(Collections.singletonList(new Object[]{1L, 5}));
+        interactionCounters.addRecipeLike(3L, 1);
+
+        // Recipe 2 does not exist, recipe 3 is asked for twice
+        List<RecipeInteractionStateDTO> states =
+                interactionStateService.getRecipeInteractionStates(7L, Arrays.asList(3L, 2L, 1L, 3L));
+
+        assertEquals(Arrays.asList(3L, 1L),
+                states.stream().map(RecipeInteractionStateDTO::getRecipeId).collect(Collectors.toList()));
+
+        RecipeInteractionStateDTO first = states.get(0);
+        assertTrue(first.isLiked());
+        assertTrue(first.isFavorited());
+        assertEquals(1, first.getLikeCount());
+        assertEquals(2, first.getFavoriteCount());
+        assertNull(first.getUserRating());
+
+        RecipeInteractionStateDTO second = states.get(1);
+        assertFalse(second.isLiked());
+        assertEquals(4, second.getLikeCount());
+        assertEquals(5, second.getUserRating());
+
+        verify(recipeRepository).findInteractionCountsByIds(new LinkedHashSet<>(List.of(3L, 2L, 1L)));
+    }
+
+    @Test
+    void testGetRecipeInteractionStates_EmptyRequestSkipsDatabase() {
+        assertTrue(interactionStateService.getRecipeInteractionStates(7L, Collections.emptyList()).isEmpty());
+
+        verifyNoInteractions(recipeRepository, likeRepository, favoriteRepository, reviewRepository);
+    }
+
+    @Test
+    void testGetRecipeInteractionStates_RejectsTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, InteractionStateServiceImpl.MAX_RECIPE_IDS + 1)
+                .boxed().collect(Collectors.toList());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> interactionStateService.getRecipeInteractionStates(7L, ids));
+        verify(likeRepository, never()).findLikedRecipeIds(anyLong(), anyCollection());
+    }
+}
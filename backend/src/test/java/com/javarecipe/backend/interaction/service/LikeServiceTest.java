@@ -2,7 +2,8 @@ package com.javarecipe.backend.interaction.service;
 
 import com.javarecipe.backend.interaction.entity.Like;
 import com.javarecipe.backend.interaction.repository.LikeRepository;
-import com.javarecipe.backend.notification.service.NotificationService;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.notification.service.NotificationOutbox;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
 import com.javarecipe.backend.user.entity.User;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
@@ -33,7 +35,13 @@ class LikeServiceTest {
     private RecipeRepository recipeRepository;
 
     @Mock
-    private NotificationService notificationService;
+    private NotificationOutbox notificationOutbox;
+
+    @Spy
+    private InteractionCounters interactionCounters = new InteractionCounters(null, null);
+
+    @Mock
+    private UserInteractionFilters userInteractionFilters;
 
     @InjectMocks
     private LikeServiceImpl likeService;
@@ -65,6 +73,9 @@ class LikeServiceTest {
         // Then
         assertTrue(result, "Should return true when liking a recipe");
         verify(likeRepository).save(any(Like.class));
+        verify(interactionCounters).addRecipeLike(1L, 1);
+        verify(userInteractionFilters).recordLike(1L, 1L);
+        verify(notificationOutbox).enqueue(NotificationType.RECIPE_LIKE, 1L, 1L);
         verify(likeRepository, never()).delete(any(Like.class));
     }
 
@@ -85,15 +96,15 @@ class LikeServiceTest {
         // Then
         assertFalse(result, "Should return false when unliking a recipe");
         verify(likeRepository).delete(existingLike);
+        verify(interactionCounters).addRecipeLike(1L, -1);
         verify(likeRepository, never()).save(any(Like.class));
     }
 
     @Test
     void testHasUserLikedRecipe_ShouldReturnTrueWhenLiked() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
-        when(likeRepository.existsByUserAndRecipe(testUser, testRecipe)).thenReturn(true);
+        when(userInteractionFilters.mightHaveLiked(1L, 1L)).thenReturn(true);
+        when(likeRepository.existsByUserIdAndRecipeId(1L, 1L)).thenReturn(true);
 
         // When
         boolean result = likeService.hasUserLikedRecipe(1L, 1L);
@@ -105,27 +116,27 @@ class LikeServiceTest {
     @Test
     void testHasUserLikedRecipe_ShouldReturnFalseWhenNotLiked() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
-        when(likeRepository.existsByUserAndRecipe(testUser, testRecipe)).thenReturn(false);
+        when(userInteractionFilters.mightHaveLiked(1L, 1L)).thenReturn(false);
 
         // When
         boolean result = likeService.hasUserLikedRecipe(1L, 1L);
 
         // Then
         assertFalse(result, "Should return false when user has not liked the recipe");
+        verifyNoInteractions(likeRepository, userRepository, recipeRepository);
     }
 
     @Test
     void testCountRecipeLikes() {
         // Given
-        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
-        when(likeRepository.countByRecipe(testRecipe)).thenReturn(5L);
+        when(recipeRepository.findLikeCountById(1L)).thenReturn(Optional.of(4));
+        interactionCounters.addRecipeLike(1L, 1);
 
         // When
         long result = likeService.countRecipeLikes(1L);
 
         // Then
-        assertEquals(5L, result, "Should return correct like count");
+        assertEquals(5L, result, "Should add the unflushed likes to the stored count");
+        verify(likeRepository, never()).countByRecipe(any(Recipe.class));
     }
 }
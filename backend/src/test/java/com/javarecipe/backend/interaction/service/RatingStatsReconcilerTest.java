@@ -0,0 +1,108 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.interaction.repository.ReviewRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingStatsReconcilerTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private ReviewService reviewService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RatingStatsReconciler ratingStatsReconciler;
+
+    @BeforeEach
+    void setUp() {
+        ratingStatsReconciler = new RatingStatsReconciler(reviewRepository, recipeRepository, reviewService,
+                transactionManager, 4);
+    }
+
+    @Test
+    void testReconcile_RecomputesOnlyDriftedRecipes() {
+        when(recipeRepository.findRatingStatsAfter(0L, PageRequest.of(0, 4))).thenReturn(Arrays.asList(
+                // In sync: two 5-star and one 4-star review
+                new Object[]{1L, 3, 14L, 0, 0, 0, 1, 2},
+                // Written before the aggregates existed
+                new Object[]{2L, 1, 0L, 0, 0, 0, 0, 0},
+                // Stale counters, no reviews left
+                new Object[]{3L, 1, 2L, 0, 1, 0, 0, 0},
+                // Never reviewed
+                new Object[]{4L, null, 0L, 0, 0, 0, 0, 0}));
+        when(recipeRepository.findRatingStatsAfter(4L, PageRequest.of(0, 4))).thenReturn(List.of());
+        when(reviewRepository.countReviewsPerRecipeAndRating(List.of(1L, 2L, 3L, 4L))).thenReturn(Arrays.asList(
+                new Object[]{1L, 5, 2L},
+                new Object[]{1L, 4, 1L},
+                new Object[]{2L, 3, 1L}));
+
+        int corrected = ratingStatsReconciler.reconcile();
+
+        assertEquals(2, corrected);
+        verify(reviewService).updateRecipeRatingStats(2L);
+        verify(reviewService).updateRecipeRatingStats(3L);
+        verifyNoMoreInteractions(reviewService);
+        // Each recompute commits on its own rather than joining a long reconcile transaction
+        verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void testReconcile_SkipsRecipeDeletedSinceTheChunkWasRead() {
+        when(recipeRepository.findRatingStatsAfter(0L, PageRequest.of(0, 4))).thenReturn(Arrays.asList(
+                new Object[]{5L, 1, 4L, 0, 0, 0, 1, 0},
+                new Object[]{6L, 1, 4L, 0, 0, 0, 1, 0}));
+        when(reviewRepository.countReviewsPerRecipeAndRating(List.of(5L, 6L))).thenReturn(Collections.emptyList());
+        doThrow(new EntityNotFoundException("Recipe not found with id: 5"))
+                .when(reviewService).updateRecipeRatingStats(5L);
+
+        assertEquals(1, ratingStatsReconciler.reconcile());
+
+        verify(reviewService).updateRecipeRatingStats(6L);
+    }
+
+    @Test
+    void testNeedsBackfill_OnlyWhileHistogramsDoNotMatchReviewCounts() {
+        when(recipeRepository.existsRatingStatsOutOfSync()).thenReturn(true);
+
+        assertTrue(ratingStatsReconciler.needsBackfill());
+
+        when(recipeRepository.existsRatingStatsOutOfSync()).thenReturn(false);
+
+        assertFalse(ratingStatsReconciler.needsBackfill());
+    }
+
+    @Test
+    void testRatingHistogram_DerivesCountSumAndAverage() {
+        RatingHistogram histogram = new RatingHistogram().add(5, 2).add(4, 1).add(7, 1);
+
+        assertEquals(3, histogram.count());
+        assertEquals(14, histogram.sum());
+        assertEquals(14.0 / 3, histogram.average(), 1e-9);
+        assertNull(new RatingHistogram().average());
+    }
+}
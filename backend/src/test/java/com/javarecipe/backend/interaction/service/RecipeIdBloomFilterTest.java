@@ -0,0 +1,61 @@
+package com.javarecipe.backend.interaction.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeIdBloomFilterTest {
+
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        List<Long> ids = LongStream.range(0, 1000).map(i -> i * 7 + 3).boxed().collect(Collectors.toList());
+
+        RecipeIdBloomFilter filter = RecipeIdBloomFilter.of(ids, 64, 0.01);
+
+        for (Long id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+        assertEquals(1000, filter.getAddedCount());
+        assertEquals(2000, filter.getCapacity());
+        assertFalse(filter.isOverCapacity());
+    }
+
+    @Test
+    void testMightContain_FalsePositiveRateNearTarget() {
+        RecipeIdBloomFilter filter = new RecipeIdBloomFilter(10_000, 0.01);
+        for (long id = 1; id <= 10_000; id++) {
+            filter.add(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = 1_000_001; id <= 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positive rate too high: " + falsePositives + " in 100000");
+    }
+
+    @Test
+    void testGetSizeInBytes_FollowsCapacityAndRate() {
+        // About 9.6 bits per entry at 1%
+        RecipeIdBloomFilter filter = new RecipeIdBloomFilter(1000, 0.01);
+
+        assertTrue(filter.getSizeInBytes() >= 1198 && filter.getSizeInBytes() <= 1208);
+    }
+
+    @Test
+    void testIsOverCapacity_AfterTooManyAdds() {
+        RecipeIdBloomFilter filter = new RecipeIdBloomFilter(2, 0.01);
+        filter.add(1);
+        filter.add(2);
+        assertFalse(filter.isOverCapacity());
+
+        filter.add(3);
+        assertTrue(filter.isOverCapacity());
+    }
+}
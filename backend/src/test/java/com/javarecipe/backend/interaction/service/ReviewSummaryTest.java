@@ -0,0 +1,126 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.common.config.HibernateCacheConfig;
+import com.javarecipe.backend.interaction.dto.ReviewSummaryDTO;
+import com.javarecipe.backend.interaction.entity.Review;
+import com.javarecipe.backend.interaction.repository.ReviewRepository;
+import com.javarecipe.backend.notification.service.NotificationOutbox;
+import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import com.javarecipe.backend.user.entity.User;
+import com.javarecipe.backend.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class ReviewSummaryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    private ReviewServiceImpl reviewService;
+    private Long recipeId;
+
+    @BeforeEach
+    void setUp() {
+        reviewService = new ReviewServiceImpl(reviewRepository, userRepository, recipeRepository,
+                mock(NotificationOutbox.class), mock(ApplicationEventPublisher.class));
+
+        User author = persistUser("author");
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Pancakes");
+        recipe.setUser(author);
+        entityManager.persist(recipe);
+        persistReview(persistUser("first"), recipe, 5);
+        persistReview(persistUser("second"), recipe, 4);
+        entityManager.flush();
+        recipeId = recipe.getId();
+
+        // Reviewed before the migration: review count and average were kept, the histogram columns start at 0
+        recipeRepository.setRatingStats(recipeId, 4.5, 2, 0L, 0, 0, 0, 0, 0);
+        entityManager.clear();
+    }
+
+    @Test
+    void testGetReviewSummary_CountsReviewsUntilTheHistogramIsBackfilled() {
+        ReviewSummaryDTO summary = reviewService.getReviewSummary(recipeId);
+
+        assertEquals(2, summary.getTotalReviews());
+        assertEquals(4.5, summary.getAverageRating(), 1e-9);
+        assertArrayEquals(new Integer[] {0, 0, 0, 1, 1}, summary.getRatingDistribution());
+    }
+
+    @Test
+    void testGetReviewSummary_ReadsTheBackfilledHistogram() {
+        reviewService.updateRecipeRatingStats(recipeId);
+        entityManager.clear();
+
+        Recipe recipe = entityManager.find(Recipe.class, recipeId);
+        assertEquals(1, recipe.getFourStarCount());
+        assertEquals(1, recipe.getFiveStarCount());
+        assertEquals(9L, recipe.getRatingSum());
+
+        ReviewSummaryDTO summary = reviewService.getReviewSummary(recipeId);
+        assertEquals(2, summary.getTotalReviews());
+        assertEquals(4.5, summary.getAverageRating(), 1e-9);
+        assertArrayEquals(new Integer[] {0, 0, 0, 1, 1}, summary.getRatingDistribution());
+    }
+
+    @Test
+    void testCreateReview_RecomputesAggregatesNotYetBackfilled() {
+        User third = persistUser("third");
+        entityManager.flush();
+
+        reviewService.createReview(recipeId, 3, "Fine", third.getId());
+        entityManager.clear();
+
+        Recipe recipe = entityManager.find(Recipe.class, recipeId);
+        assertEquals(3, recipe.getReviewCount());
+        assertEquals(12L, recipe.getRatingSum());
+        assertEquals(4.0, recipe.getAverageRating(), 1e-9);
+        assertEquals(1, recipe.getThreeStarCount());
+        assertEquals(1, recipe.getFourStarCount());
+        assertEquals(1, recipe.getFiveStarCount());
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setEmail(username + "@example.com");
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setFirstName("Test");
+        user.setLastName("User");
+        return entityManager.persist(user);
+    }
+
+    private void persistReview(User user, Recipe recipe, int rating) {
+        Review review = new Review();
+        review.setUser(user);
+        review.setRecipe(recipe);
+        review.setRating(rating);
+        entityManager.persist(review);
+    }
+}
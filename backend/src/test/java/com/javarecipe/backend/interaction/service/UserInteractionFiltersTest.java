@@ -0,0 +1,95 @@
+package com.javarecipe.backend.interaction.service;
+
+import com.javarecipe.backend.interaction.repository.FavoriteRepository;
+import com.javarecipe.backend.interaction.repository.LikeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserInteractionFiltersTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private FavoriteRepository favoriteRepository;
+
+    private UserInteractionFilters userInteractionFilters;
+
+    @BeforeEach
+    void setUp() {
+        userInteractionFilters = new UserInteractionFilters(likeRepository, favoriteRepository, 1 << 20, 0.01, 30);
+    }
+
+    @Test
+    void testMightHaveLiked_BuildsFiltersOncePerUser() {
+        when(likeRepository.findLikedRecipeIdsByUserId(1L)).thenReturn(List.of(10L, 20L));
+        when(favoriteRepository.findFavoritedRecipeIdsByUserId(1L)).thenReturn(List.of(30L));
+
+        assertTrue(userInteractionFilters.mightHaveLiked(1L, 10L));
+        assertTrue(userInteractionFilters.mightHaveLiked(1L, 20L));
+        assertTrue(userInteractionFilters.mightHaveFavorited(1L, 30L));
+
+        verify(likeRepository, times(1)).findLikedRecipeIdsByUserId(1L);
+        verify(favoriteRepository, times(1)).findFavoritedRecipeIdsByUserId(1L);
+    }
+
+    @Test
+    void testRecordLike_UpdatesHeldFilter() {
+        when(likeRepository.findLikedRecipeIdsByUserId(1L)).thenReturn(List.of());
+        when(favoriteRepository.findFavoritedRecipeIdsByUserId(1L)).thenReturn(List.of());
+        assertFalse(userInteractionFilters.mightHaveLiked(1L, 10L));
+
+        userInteractionFilters.recordLike(1L, 10L);
+        userInteractionFilters.recordFavorite(1L, 11L);
+
+        assertTrue(userInteractionFilters.mightHaveLiked(1L, 10L));
+        assertTrue(userInteractionFilters.mightHaveFavorited(1L, 11L));
+        verify(likeRepository, times(1)).findLikedRecipeIdsByUserId(1L);
+    }
+
+    @Test
+    void testRecordLike_OverCapacityRebuildsFromDatabase() {
+        List<Long> liked = LongStream.rangeClosed(1, 65).boxed().collect(Collectors.toList());
+        when(likeRepository.findLikedRecipeIdsByUserId(1L)).thenReturn(List.of()).thenReturn(liked);
+        when(favoriteRepository.findFavoritedRecipeIdsByUserId(1L)).thenReturn(List.of());
+        userInteractionFilters.mightHaveLiked(1L, 1L);
+
+        // The filter was sized for 64 likes
+        for (long recipeId = 1; recipeId <= 65; recipeId++) {
+            userInteractionFilters.recordLike(1L, recipeId);
+        }
+
+        assertTrue(userInteractionFilters.mightHaveLiked(1L, 65L));
+        verify(likeRepository, times(2)).findLikedRecipeIdsByUserId(1L);
+        Map<?, ?> likedStats = (Map<?, ?>) userInteractionFilters.getUserStats(1L).orElseThrow().get("liked");
+        assertEquals(130, likedStats.get("capacity"));
+    }
+
+    @Test
+    void testGetStats_ReportsMemoryPerUser() {
+        when(likeRepository.findLikedRecipeIdsByUserId(anyLong())).thenReturn(List.of(1L));
+        when(favoriteRepository.findFavoritedRecipeIdsByUserId(anyLong())).thenReturn(List.of());
+        userInteractionFilters.mightHaveLiked(1L, 1L);
+        userInteractionFilters.mightHaveLiked(2L, 1L);
+
+        Map<String, Object> stats = userInteractionFilters.getStats();
+        Map<String, Object> userStats = userInteractionFilters.getUserStats(1L).orElseThrow();
+
+        assertEquals(2L, stats.get("users"));
+        assertEquals(2 * (long) userStats.get("totalBytes"), stats.get("totalBytes"));
+        assertEquals(userStats.get("totalBytes"), stats.get("averageBytesPerUser"));
+        assertTrue(userInteractionFilters.getUserStats(3L).isEmpty());
+    }
+}
@@ -0,0 +1,97 @@
+package com.javarecipe.backend.notification.repository;
+
+import com.javarecipe.backend.common.config.HibernateCacheConfig;
+import com.javarecipe.backend.notification.entity.NotificationOutboxEvent;
+import com.javarecipe.backend.notification.entity.NotificationOutboxLease;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class NotificationOutboxRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+
+    @Autowired
+    private NotificationOutboxLeaseRepository leaseRepository;
+
+    @Test
+    void testFindDeliverable_HoldsLikesBackUntilTheWindowCloses() {
+        Long comment = persist(NotificationType.RECIPE_COMMENT, 10L, 0);
+        Long like1 = persist(NotificationType.RECIPE_LIKE, 10L, 0);
+        Long like2 = persist(NotificationType.RECIPE_LIKE, 10L, 0);
+        persist(NotificationType.COMMENT_REPLY, 20L, 5);
+
+        // Window still open: only the comment event is deliverable
+        List<NotificationOutboxEvent> open = outboxRepository.findDeliverable(
+                5, NotificationType.RECIPE_LIKE, LocalDateTime.now().minusMinutes(1), PageRequest.of(0, 10));
+        assertEquals(List.of(comment), ids(open));
+
+        // Window closed: every like of the recipe comes out together
+        List<NotificationOutboxEvent> closed = outboxRepository.findDeliverable(
+                5, NotificationType.RECIPE_LIKE, LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10));
+        assertEquals(List.of(comment, like1, like2), ids(closed));
+    }
+
+    @Test
+    void testLease_HeldByOneInstanceUntilItExpires() {
+        LocalDateTime now = LocalDateTime.now();
+        leaseRepository.saveAndFlush(new NotificationOutboxLease(1, "instance-a", now.plusSeconds(30)));
+
+        // The owner renews, another instance has to wait for expiry
+        assertEquals(1, leaseRepository.acquire(1, "instance-a", now.plusSeconds(31), now.plusSeconds(1)));
+        assertEquals(0, leaseRepository.acquire(1, "instance-b", now.plusSeconds(32), now.plusSeconds(2)));
+        assertEquals(1, leaseRepository.acquire(1, "instance-b", now.plusSeconds(62), now.plusSeconds(32)));
+
+        // A released lease is free at once
+        assertEquals(1, leaseRepository.release(1, "instance-b", now.plusSeconds(33)));
+        assertEquals(1, leaseRepository.acquire(1, "instance-a", now.plusSeconds(64), now.plusSeconds(34)));
+    }
+
+    @Test
+    void testRecordFailure_CountsAttempts() {
+        Long id = persist(NotificationType.RECIPE_REVIEW, 10L, 0);
+
+        outboxRepository.recordFailure(id, "database down");
+        entityManager.clear();
+
+        NotificationOutboxEvent event = entityManager.find(NotificationOutboxEvent.class, id);
+        assertEquals(1, event.getAttempts());
+        assertEquals("database down", event.getLastError());
+    }
+
+    private Long persist(NotificationType type, Long entityId, int attempts) {
+        NotificationOutboxEvent event = NotificationOutboxEvent.builder()
+                .notificationType(type)
+                .entityId(entityId)
+                .actorUserId(2L)
+                .attempts(attempts)
+                .build();
+        entityManager.persist(event);
+        entityManager.flush();
+        return event.getId();
+    }
+
+    private static List<Long> ids(List<NotificationOutboxEvent> events) {
+        return events.stream().map(NotificationOutboxEvent::getId).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.javarecipe.backend.notification.repository;
+
+import com.javarecipe.backend.common.config.HibernateCacheConfig;
+import com.javarecipe.backend.notification.entity.Notification;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class NotificationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("cook@example.com");
+        user.setUsername("cook");
+        user.setPassword("secret");
+        user.setFirstName("Test");
+        user.setLastName("Cook");
+        entityManager.persist(user);
+    }
+
+    @Test
+    void testMarkUnreadAsRead_OnlyChangesUnreadNotifications() {
+        Long id = persist(false);
+        persist(false);
+        assertEquals(2, notificationRepository.countByUserIdAndIsReadFalse(user.getId()));
+
+        assertEquals(1, notificationRepository.markUnreadAsRead(id, user.getId()));
+        assertEquals(0, notificationRepository.markUnreadAsRead(id, user.getId()));
+        assertEquals(0, notificationRepository.markUnreadAsRead(id, user.getId() + 1));
+
+        assertEquals(1, notificationRepository.countByUserIdAndIsReadFalse(user.getId()));
+        assertTrue(notificationRepository.existsByIdAndUserId(id, user.getId()));
+        assertFalse(notificationRepository.existsByIdAndUserId(id, user.getId() + 1));
+    }
+
+    @Test
+    void testRetentionQueries_WalkOldRowsInIdOrder() {
+        Long oldRead1 = persist(true);
+        Long oldUnread = persist(false);
+        Long oldRead2 = persist(true);
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+
+        assertEquals(List.of(oldRead1), notificationRepository.findIdsCreatedBefore(
+                true, cutoff, 0L, PageRequest.of(0, 1)));
+        assertEquals(List.of(oldRead2), notificationRepository.findIdsCreatedBefore(
+                true, cutoff, oldRead1, PageRequest.of(0, 1)));
+        assertTrue(notificationRepository.findIdsCreatedBefore(
+                true, LocalDateTime.now().minusDays(1), 0L, PageRequest.of(0, 10)).isEmpty());
+
+        // The read flag is rechecked on delete
+        assertEquals(1, notificationRepository.deleteByIdIn(List.of(oldRead1, oldUnread), true));
+        entityManager.clear();
+        assertNull(entityManager.find(Notification.class, oldRead1));
+        assertNotNull(entityManager.find(Notification.class, oldUnread));
+    }
+
+    @Test
+    void testUpdateBatchedNotification_MakesReadNotificationUnreadAtItsNewPosition() {
+        Long id = persist(true);
+
+        assertEquals(1, notificationRepository.updateBatchedNotification(
+                id, 2, "cook2,cook3", "cook2 and cook3 liked your recipe", 9L));
+        entityManager.clear();
+
+        Notification notification = entityManager.find(Notification.class, id);
+        assertFalse(notification.isRead());
+        assertNull(notification.getReadAt());
+        assertEquals(9L, notification.getStreamSequence());
+        assertEquals(Optional.of(9L), notificationRepository.findMaxStreamSequence());
+    }
+
+    private Long persist(boolean read) {
+        Notification notification = new Notification();
+        notification.setUser(user);
+        notification.setMessage("cook2 liked your recipe");
+        notification.setNotificationType(NotificationType.RECIPE_LIKE);
+        notification.setEntityId(1L);
+        notification.setRead(read);
+        entityManager.persist(notification);
+        entityManager.flush();
+        return notification.getId();
+    }
+}
@@ -14,8 +14,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -36,6 +38,18 @@ class NotificationBatchingTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private NotificationStreamPositions streamPositions;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private NotificationRetentionJob notificationRetentionJob;
+
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
@@ -84,7 +98,7 @@ class NotificationBatchingTest {
                 notification.getBatchKey().equals("RECIPE_LIKE_1") &&
                 notification.getBatchActors().equals("actor1")
         ));
-        verify(notificationRepository, never()).updateBatchedNotification(anyLong(), anyInt(), anyString(), anyString());
+        verify(notificationRepository, never()).updateBatchedNotification(anyLong(), anyInt(), anyString(), anyString(), anyLong());
     }
 
     @Test
@@ -110,7 +124,8 @@ class NotificationBatchingTest {
                 eq(100L), 
                 eq(2), 
                 eq("actor1,actor2"), 
-                eq("actor1 and actor2 liked your recipe \"Test Recipe\"")
+                eq("actor1 and actor2 liked your recipe \"Test Recipe\""),
+                anyLong()
         );
         verify(notificationRepository, never()).save(any(Notification.class));
     }
@@ -142,7 +157,8 @@ class NotificationBatchingTest {
                 eq(100L), 
                 eq(3), 
                 eq("actor1,actor2,actor3"), 
-                eq("actor1 and 2 others liked your recipe \"Test Recipe\"")
+                eq("actor1 and 2 others liked your recipe \"Test Recipe\""),
+                anyLong()
         );
     }
 
@@ -169,7 +185,8 @@ class NotificationBatchingTest {
                 eq(100L), 
                 eq(1), 
                 eq("actor1"), 
-                eq("actor1 liked your recipe \"Test Recipe\"")
+                eq("actor1 liked your recipe \"Test Recipe\""),
+                anyLong()
         );
     }
 
@@ -189,7 +206,96 @@ class NotificationBatchingTest {
 
         // Then
         verify(notificationRepository).save(any(Notification.class));
-        verify(notificationRepository, never()).updateBatchedNotification(anyLong(), anyInt(), anyString(), anyString());
+        verify(notificationRepository, never()).updateBatchedNotification(anyLong(), anyInt(), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void testCoalescedLikes_ShouldWriteOnceForAllActors() {
+        // Given - actor1 already in an existing notification, the owner liked too
+        Notification existingNotification = new Notification();
+        existingNotification.setId(100L);
+        existingNotification.setBatchCount(1);
+        existingNotification.setBatchActors("actor1");
+        existingNotification.setNotificationType(NotificationType.RECIPE_LIKE);
+
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+        when(userRepository.findAllById(List.of(3L, 1L, 2L))).thenReturn(List.of(recipeOwner, actor1, actor2));
+        when(notificationRepository.findRecentBatchedNotification(
+                eq(recipeOwner), eq("RECIPE_LIKE_1"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(existingNotification));
+
+        // When
+        notificationService.createRecipeLikeNotifications(1L, List.of(3L, 1L, 2L));
+
+        // Then
+        verify(notificationRepository, times(1)).updateBatchedNotification(
+                eq(100L),
+                eq(2),
+                eq("actor1,actor2"),
+                eq("actor1 and actor2 liked your recipe \"Test Recipe\""),
+                anyLong()
+        );
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+
+    @Test
+    void testRebatchedNotification_MovesToTheEndOfTheStream() {
+        // Given - the first like was created at position 5, other notifications have been created since
+        Notification existingNotification = new Notification();
+        existingNotification.setId(100L);
+        existingNotification.setUser(recipeOwner);
+        existingNotification.setBatchCount(1);
+        existingNotification.setBatchActors("actor1");
+        existingNotification.setNotificationType(NotificationType.RECIPE_LIKE);
+        existingNotification.setStreamSequence(5L);
+
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+        when(userRepository.findById(3L)).thenReturn(Optional.of(actor2));
+        when(streamPositions.next()).thenReturn(7L);
+        when(notificationRepository.findRecentBatchedNotification(
+                eq(recipeOwner), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(existingNotification));
+
+        // When
+        notificationService.createRecipeLikeNotification(1L, 3L);
+
+        // Then - the re-batch takes the next position, so Last-Event-ID never moves backwards
+        verify(notificationRepository).updateBatchedNotification(
+                eq(100L), eq(2), anyString(), anyString(), eq(7L));
+        verifyNoInteractions(unreadNotificationCounter);
+    }
+
+    @Test
+    void testRebatchedReadNotification_CountsAsUnreadAgain() {
+        Notification existingNotification = new Notification();
+        existingNotification.setId(100L);
+        existingNotification.setUser(recipeOwner);
+        existingNotification.setBatchCount(1);
+        existingNotification.setBatchActors("actor1");
+        existingNotification.setNotificationType(NotificationType.RECIPE_LIKE);
+        existingNotification.setRead(true);
+
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+        when(userRepository.findById(3L)).thenReturn(Optional.of(actor2));
+        when(notificationRepository.findRecentBatchedNotification(
+                eq(recipeOwner), anyString(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(existingNotification));
+
+        notificationService.createRecipeLikeNotification(1L, 3L);
+
+        // The update clears the read flag, and the owner's unread count follows
+        verify(unreadNotificationCounter).increment(1L);
+    }
+
+    @Test
+    void testCoalescedLikes_OnlyOwnerShouldNotCreateNotification() {
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+        when(userRepository.findAllById(List.of(1L))).thenReturn(List.of(recipeOwner));
+
+        notificationService.createRecipeLikeNotifications(1L, List.of(1L));
+
+        verify(notificationRepository, never()).findRecentBatchedNotification(any(), anyString(), any());
+        verify(notificationRepository, never()).save(any(Notification.class));
     }
 
     @Test
@@ -203,7 +309,7 @@ class NotificationBatchingTest {
 
         // Then
         verify(notificationRepository, never()).save(any(Notification.class));
-        verify(notificationRepository, never()).updateBatchedNotification(anyLong(), anyInt(), anyString(), anyString());
+        verify(notificationRepository, never()).updateBatchedNotification(anyLong(), anyInt(), anyString(), anyString(), anyLong());
         verify(notificationRepository, never()).findRecentBatchedNotification(any(), anyString(), any());
     }
 }
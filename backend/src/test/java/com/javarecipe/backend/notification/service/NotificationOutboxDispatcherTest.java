@@ -0,0 +1,196 @@
+package com.javarecipe.backend.notification.service;
+
+import com.javarecipe.backend.notification.entity.NotificationOutboxEvent;
+import com.javarecipe.backend.notification.entity.NotificationOutboxLease;
+import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.notification.repository.NotificationOutboxLeaseRepository;
+import com.javarecipe.backend.notification.repository.NotificationOutboxRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @Mock
+    private NotificationOutboxLeaseRepository leaseRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new NotificationOutboxDispatcher(outboxRepository, leaseRepository, notificationService,
+                transactionManager, 10, 5, 60, 2, 30);
+        // This instance holds the outbox lease unless a test says otherwise
+        lenient().when(leaseRepository.acquire(eq(NotificationOutboxDispatcher.LEASE_ID), anyString(),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testDispatch_CreatesNotificationsAndDeletesEvents() {
+        when(findDeliverable()).thenReturn(Arrays.asList(
+                event(1L, NotificationType.RECIPE_COMMENT, 10L, 3L),
+                event(2L, NotificationType.COMMENT_REPLY, 20L, 2L),
+                event(3L, NotificationType.COMMENT_REPLY, 20L, 4L)));
+
+        assertEquals(3, dispatcher.dispatch());
+
+        verify(notificationService).createRecipeCommentNotification(10L, 3L);
+        // Events about the same comment are handled in order
+        InOrder replies = inOrder(notificationService);
+        replies.verify(notificationService).createCommentReplyNotification(20L, 2L);
+        replies.verify(notificationService).createCommentReplyNotification(20L, 4L);
+        for (long id = 1; id <= 3; id++) {
+            verify(outboxRepository).deleteAllByIdInBatch(List.of(id));
+        }
+    }
+
+    @Test
+    void testDispatch_CoalescesLikesOfOneRecipeIntoOneWrite() {
+        when(findDeliverable()).thenReturn(Arrays.asList(
+                event(1L, NotificationType.RECIPE_LIKE, 10L, 2L),
+                event(2L, NotificationType.RECIPE_LIKE, 10L, 3L),
+                event(3L, NotificationType.RECIPE_LIKE, 11L, 2L),
+                // Liked, unliked and liked again
+                event(4L, NotificationType.RECIPE_LIKE, 10L, 2L)));
+
+        assertEquals(4, dispatcher.dispatch());
+
+        verify(notificationService).createRecipeLikeNotifications(10L, List.of(2L, 3L));
+        verify(notificationService).createRecipeLikeNotifications(11L, List.of(2L));
+        verify(notificationService, never()).createRecipeLikeNotification(anyLong(), anyLong());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 4L));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    void testDispatch_DropsEventsWhoseTargetIsGone() {
+        when(findDeliverable()).thenReturn(Collections.singletonList(
+                event(1L, NotificationType.RECIPE_REVIEW, 10L, 2L)));
+        doThrow(new EntityNotFoundException("Recipe not found with id: 10"))
+                .when(notificationService).createRecipeReviewNotification(10L, 2L);
+
+        assertEquals(1, dispatcher.dispatch());
+
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(outboxRepository, never()).recordFailure(anyLong(), anyString());
+    }
+
+    @Test
+    void testDispatch_FailureKeepsEventForRetry() {
+        when(findDeliverable()).thenReturn(Collections.singletonList(
+                event(1L, NotificationType.COMMENT_LIKE, 20L, 2L)));
+        doThrow(new IllegalStateException("database down"))
+                .when(notificationService).createCommentLikeNotification(20L, 2L);
+
+        assertEquals(0, dispatcher.dispatch());
+
+        verify(outboxRepository).recordFailure(1L, "database down");
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void testDispatch_KeepsDrainingFullBatches() {
+        List<NotificationOutboxEvent> fullBatch = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            fullBatch.add(event(id, NotificationType.RECIPE_LIKE, id, 2L));
+        }
+        when(findDeliverable()).thenReturn(fullBatch)
+                .thenReturn(Collections.singletonList(event(11L, NotificationType.RECIPE_LIKE, 11L, 2L)));
+
+        assertEquals(11, dispatcher.dispatch());
+
+        verify(outboxRepository, times(2))
+                .findDeliverable(eq(5), eq(NotificationType.RECIPE_LIKE), any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    void testDispatch_HandlesAtMostTheConfiguredNumberOfTargetsAtOnce() {
+        when(findDeliverable()).thenReturn(Arrays.asList(
+                event(1L, NotificationType.RECIPE_REVIEW, 10L, 2L),
+                event(2L, NotificationType.RECIPE_REVIEW, 11L, 2L),
+                event(3L, NotificationType.RECIPE_REVIEW, 12L, 2L),
+                event(4L, NotificationType.RECIPE_REVIEW, 13L, 2L),
+                event(5L, NotificationType.RECIPE_REVIEW, 14L, 2L)));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return null;
+        }).when(notificationService).createRecipeReviewNotification(anyLong(), anyLong());
+
+        assertEquals(5, dispatcher.dispatch());
+
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    void testDispatch_SkippedWhileAnotherInstanceHoldsTheLease() {
+        when(leaseRepository.acquire(eq(NotificationOutboxDispatcher.LEASE_ID), anyString(),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+        when(leaseRepository.existsById(NotificationOutboxDispatcher.LEASE_ID)).thenReturn(true);
+
+        assertEquals(0, dispatcher.dispatch());
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void testHoldLease_CreatesTheLeaseOnFirstUse() {
+        when(leaseRepository.acquire(eq(NotificationOutboxDispatcher.LEASE_ID), anyString(),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+
+        assertTrue(dispatcher.holdLease());
+
+        verify(leaseRepository).saveAndFlush(any(NotificationOutboxLease.class));
+    }
+
+    private List<NotificationOutboxEvent> findDeliverable() {
+        return outboxRepository.findDeliverable(eq(5), eq(NotificationType.RECIPE_LIKE), any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    private static NotificationOutboxEvent event(Long id, NotificationType type, Long entityId, Long actorUserId) {
+        return NotificationOutboxEvent.builder()
+                .id(id)
+                .notificationType(type)
+                .entityId(entityId)
+                .actorUserId(actorUserId)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.javarecipe.backend.notification.service;
+
+import com.javarecipe.backend.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionJobTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationRetentionJob retentionJob;
+
+    @BeforeEach
+    void setUp() {
+        retentionJob = new NotificationRetentionJob(notificationRepository, unreadNotificationCounter,
+                transactionManager, 90, 365, 2, 0);
+    }
+
+    @Test
+    void testPurgeRead_DeletesChunkByChunkUntilAShortChunk() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        when(notificationRepository.findIdsCreatedBefore(true, cutoff, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(1L, 2L));
+        when(notificationRepository.findIdsCreatedBefore(true, cutoff, 2L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(5L));
+        when(notificationRepository.deleteByIdIn(List.of(1L, 2L), true)).thenReturn(2);
+        when(notificationRepository.deleteByIdIn(List.of(5L), true)).thenReturn(1);
+
+        int purged = retentionJob.purgeRead(cutoff);
+
+        assertEquals(3, purged);
+        // One transaction per chunk
+        verify(transactionManager, times(2)).commit(any());
+        verify(notificationRepository, times(2)).findIdsCreatedBefore(anyBoolean(), any(), anyLong(), any());
+        verifyNoInteractions(unreadNotificationCounter);
+    }
+
+    @Test
+    void testPurgeUnread_InvalidatesUnreadCounts() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        when(notificationRepository.findIdsCreatedBefore(false, cutoff, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(3L));
+        when(notificationRepository.deleteByIdIn(List.of(3L), false)).thenReturn(1);
+
+        assertEquals(1, retentionJob.purgeUnread(cutoff));
+        verify(unreadNotificationCounter).invalidateAll();
+    }
+
+    @Test
+    void testPurge_UsesSeparateRetentionForUnread() {
+        when(notificationRepository.findIdsCreatedBefore(anyBoolean(), any(), eq(0L), any()))
+                .thenReturn(Collections.emptyList());
+
+        NotificationRetentionJob.PurgeResult result = retentionJob.purge();
+
+        assertEquals(0, result.readPurged());
+        assertEquals(0, result.unreadPurged());
+        verify(notificationRepository).findIdsCreatedBefore(eq(true),
+                argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(89))), eq(0L), any());
+        verify(notificationRepository).findIdsCreatedBefore(eq(false),
+                argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(364))), eq(0L), any());
+        verify(notificationRepository, never()).deleteByIdIn(any(), anyBoolean());
+        verifyNoInteractions(unreadNotificationCounter);
+    }
+
+    @Test
+    void testStartPurge_RunsOffTheCallingThreadOneAtATime() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        when(notificationRepository.findIdsCreatedBefore(anyBoolean(), any(), eq(0L), any())).thenAnswer(invocation -> {
+            assertNotSame(caller, Thread.currentThread());
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+
+        assertTrue(retentionJob.startPurge());
+        assertTrue(querying.await(5, TimeUnit.SECONDS));
+        // Still running, so the next trigger is skipped
+        assertFalse(retentionJob.startPurge());
+
+        release.countDown();
+        verify(notificationRepository, timeout(5000).times(2))
+                .findIdsCreatedBefore(anyBoolean(), any(), eq(0L), any());
+        retentionJob.shutdown();
+    }
+}
@@ -2,8 +2,11 @@ package com.javarecipe.backend.notification.service;
 
 import com.javarecipe.backend.comment.entity.Comment;
 import com.javarecipe.backend.comment.repository.CommentRepository;
+import com.javarecipe.backend.notification.dto.NotificationDTO;
 import com.javarecipe.backend.notification.entity.Notification;
 import com.javarecipe.backend.notification.entity.NotificationType;
+import com.javarecipe.backend.notification.event.NotificationChangedEvent;
+import com.javarecipe.backend.notification.event.NotificationsReadEvent;
 import com.javarecipe.backend.notification.repository.NotificationRepository;
 import com.javarecipe.backend.recipe.entity.Recipe;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
@@ -15,8 +18,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,6 +49,18 @@ class NotificationServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private NotificationStreamPositions streamPositions;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private NotificationRetentionJob notificationRetentionJob;
+
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
@@ -154,33 +177,50 @@ class NotificationServiceTest {
 
         // Then
         verify(notificationRepository).save(any(Notification.class));
+        verify(unreadNotificationCounter).increment(1L);
+        verify(eventPublisher).publishEvent(any(NotificationChangedEvent.class));
     }
 
     @Test
     void testGetUnreadCount() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(recipeOwner));
-        when(notificationRepository.countByUserAndIsReadFalse(recipeOwner)).thenReturn(5L);
+        when(unreadNotificationCounter.get(1L)).thenReturn(5L);
 
         // When
         long unreadCount = notificationService.getUnreadCount(1L);
 
         // Then
         assertEquals(5L, unreadCount);
+        verifyNoInteractions(notificationRepository, userRepository);
     }
 
     @Test
     void testMarkAsRead() {
         // Given
-        when(userRepository.findById(1L)).thenReturn(Optional.of(recipeOwner));
-        when(notificationRepository.markAsRead(1L, recipeOwner)).thenReturn(1);
+        when(notificationRepository.markUnreadAsRead(1L, 1L)).thenReturn(1);
+
+        // When
+        boolean result = notificationService.markAsRead(1L, 1L);
+
+        // Then
+        assertTrue(result);
+        verify(notificationRepository).markUnreadAsRead(1L, 1L);
+        verify(unreadNotificationCounter).decrement(1L);
+        verify(eventPublisher).publishEvent(new NotificationsReadEvent(1L));
+    }
+
+    @Test
+    void testMarkAsRead_AlreadyReadShouldNotDecrement() {
+        // Given
+        when(notificationRepository.markUnreadAsRead(1L, 1L)).thenReturn(0);
+        when(notificationRepository.existsByIdAndUserId(1L, 1L)).thenReturn(true);
 
         // When
         boolean result = notificationService.markAsRead(1L, 1L);
 
         // Then
         assertTrue(result);
-        verify(notificationRepository).markAsRead(1L, recipeOwner);
+        verify(unreadNotificationCounter, never()).decrement(any());
     }
 
     @Test
@@ -195,5 +235,57 @@ class NotificationServiceTest {
         // Then
         assertEquals(3, markedCount);
         verify(notificationRepository).markAllAsRead(recipeOwner);
+        verify(unreadNotificationCounter).reset(1L);
+    }
+
+    @Test
+    void testDeleteOldNotifications_ShouldPurgeReadNotificationsPastTheAge() {
+        // Given
+        when(notificationRetentionJob.purgeRead(any(LocalDateTime.class))).thenReturn(12);
+
+        // When
+        int deleted = notificationService.deleteOldNotifications(30);
+
+        // Then
+        assertEquals(12, deleted);
+        verify(notificationRetentionJob).purgeRead(argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(29))));
+    }
+
+    @Test
+    void testConvertToDTOs_ShouldLoadContextWithOneQueryPerEntityType() {
+        // Given - two recipe notifications, a comment notification and a system notification
+        Notification like = notification(10L, NotificationType.RECIPE_LIKE, 1L);
+        Notification review = notification(11L, NotificationType.RECIPE_REVIEW, 3L);
+        Notification reply = notification(12L, NotificationType.COMMENT_REPLY, 5L);
+        Notification system = notification(13L, NotificationType.SYSTEM_NOTIFICATION, 1L);
+        Page<Notification> page = new PageImpl<>(List.of(like, review, reply, system), PageRequest.of(0, 20), 4);
+
+        when(recipeRepository.findTitlesByIds(Set.of(1L, 3L)))
+                .thenReturn(Collections.singletonList(new Object[]{1L, "Test Recipe"}));
+        when(commentRepository.findRecipeTitlesByCommentIds(Set.of(5L)))
+                .thenReturn(Collections.singletonList(new Object[]{5L, 1L, "Test Recipe"}));
+
+        // When
+        List<NotificationDTO> result = notificationService.convertToDTOs(page).getContent();
+
+        // Then
+        assertEquals(4, result.size());
+        assertEquals("Test Recipe", result.get(0).getEntityTitle());
+        assertEquals("/recipes/1", result.get(0).getEntityUrl());
+        assertNull(result.get(1).getEntityTitle()); // recipe 3 no longer exists
+        assertEquals("/recipes/1#comment-5", result.get(2).getEntityUrl());
+        assertNull(result.get(3).getEntityUrl());
+        verify(recipeRepository, never()).findById(any());
+        verify(commentRepository, never()).findById(any());
+    }
+
+    private Notification notification(Long id, NotificationType type, Long entityId) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setUser(recipeOwner);
+        notification.setNotificationType(type);
+        notification.setEntityId(entityId);
+        notification.setMessage("message");
+        return notification;
     }
 }
@@ -0,0 +1,54 @@
+package com.javarecipe.backend.notification.service;
+
+import com.javarecipe.backend.notification.entity.NotificationStreamSequence;
+import com.javarecipe.backend.notification.repository.NotificationRepository;
+import com.javarecipe.backend.notification.repository.NotificationStreamSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStreamPositionsTest {
+
+    @Mock
+    private NotificationStreamSequenceRepository sequenceRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationStreamPositions streamPositions;
+
+    @BeforeEach
+    void setUp() {
+        streamPositions = new NotificationStreamPositions(sequenceRepository, notificationRepository,
+                transactionManager, 3);
+    }
+
+    @Test
+    void testNext_HandsOutReservedBlocksInOrder() {
+        // No sequence row yet; notifications already went up to position 41
+        when(sequenceRepository.advance(NotificationStreamPositions.SEQUENCE_ID, 3)).thenReturn(0).thenReturn(1);
+        when(notificationRepository.findMaxStreamSequence()).thenReturn(Optional.of(41L));
+        when(sequenceRepository.findNextValueById(NotificationStreamPositions.SEQUENCE_ID)).thenReturn(Optional.of(48L));
+
+        assertEquals(42L, streamPositions.next());
+        assertEquals(43L, streamPositions.next());
+        assertEquals(44L, streamPositions.next());
+        assertEquals(45L, streamPositions.next());
+
+        verify(sequenceRepository).saveAndFlush(new NotificationStreamSequence(NotificationStreamPositions.SEQUENCE_ID, 45L));
+        // One short transaction per block, not per position
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+}
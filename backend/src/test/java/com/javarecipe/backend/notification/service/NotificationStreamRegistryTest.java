@@ -0,0 +1,137 @@
+package com.javarecipe.backend.notification.service;
+
+import com.javarecipe.backend.notification.dto.NotificationDTO;
+import com.javarecipe.backend.notification.entity.Notification;
+import com.javarecipe.backend.notification.event.NotificationChangedEvent;
+import com.javarecipe.backend.notification.event.NotificationsReadEvent;
+import com.javarecipe.backend.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStreamRegistryTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new NotificationStreamRegistry(notificationService, notificationRepository,
+                unreadNotificationCounter, transactionManager, 60_000, 50, 64);
+    }
+
+    @Test
+    void testSubscribe_SendsUnreadCountWithoutReplay() {
+        assertNotNull(registry.subscribe(1L, null));
+
+        assertEquals(1, registry.getSubscriberCount(1L));
+        verify(unreadNotificationCounter).get(1L);
+        verify(notificationRepository, never())
+                .findByUserIdAndStreamSequenceGreaterThanOrderByStreamSequenceAsc(any(), any(), any());
+    }
+
+    @Test
+    void testSubscribe_ReplaysNotificationsChangedAfterLastEventId() {
+        // A notification created at position 3 and re-batched at position 8
+        Notification missed = new Notification();
+        missed.setId(2L);
+        missed.setStreamSequence(8L);
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(2L);
+        when(notificationRepository.findByUserIdAndStreamSequenceGreaterThanOrderByStreamSequenceAsc(
+                1L, 7L, PageRequest.of(0, 50)))
+                .thenReturn(List.of(missed));
+        when(notificationService.convertToDTOs(any())).thenReturn(new PageImpl<>(List.of(dto)));
+
+        registry.subscribe(1L, 7L);
+
+        verify(notificationService).convertToDTOs(new PageImpl<>(List.of(missed)));
+    }
+
+    @Test
+    void testNotificationChanged_WithoutSubscribersDoesNothing() {
+        registry.onNotificationChanged(new NotificationChangedEvent(1L, 8L));
+        registry.onNotificationsRead(new NotificationsReadEvent(1L));
+
+        verifyNoInteractions(notificationRepository, notificationService, unreadNotificationCounter);
+    }
+
+    @Test
+    void testNotificationChanged_IsPushedToSubscribers() {
+        Notification notification = new Notification();
+        notification.setId(8L);
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(8L);
+        when(notificationRepository.findById(8L)).thenReturn(Optional.of(notification));
+        when(notificationService.convertToDTO(notification)).thenReturn(dto);
+        registry.subscribe(1L, null);
+        registry.subscribe(1L, null);
+
+        registry.onNotificationChanged(new NotificationChangedEvent(1L, 8L));
+
+        // Loaded once, in a transaction of its own, and sent to both streams, each followed by the unread count
+        verify(notificationRepository, times(1)).findById(8L);
+        verify(transactionManager).getTransaction(argThat(definition -> definition.getPropagationBehavior()
+                == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(unreadNotificationCounter, times(4)).get(1L);
+        assertEquals(2, registry.getSubscriberCount(1L));
+        assertEquals(1, registry.getStats().get("users"));
+    }
+
+    @Test
+    void testSubscriber_SlowClientIsDroppedWithoutBlockingTheSender() throws Exception {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        SseEmitter emitter = mock(SseEmitter.class);
+        doAnswer(invocation -> {
+            writeStarted.countDown();
+            releaseWrite.await();
+            return null;
+        }).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        AtomicInteger dropped = new AtomicInteger();
+        NotificationStreamRegistry.Subscriber subscriber =
+                new NotificationStreamRegistry.Subscriber(1L, emitter, 1, stream -> dropped.incrementAndGet());
+
+        // The first write is stuck on the client, the second waits in the queue, the third overflows it
+        subscriber.send(SseEmitter.event().comment("first"));
+        assertTrue(writeStarted.await(5, TimeUnit.SECONDS));
+        subscriber.send(SseEmitter.event().comment("second"));
+        subscriber.send(SseEmitter.event().comment("third"));
+
+        assertEquals(1, dropped.get());
+        releaseWrite.countDown();
+        subscriber.close();
+    }
+}
@@ -0,0 +1,81 @@
+package com.javarecipe.backend.notification.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.javarecipe.backend.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCounterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnreadNotificationCounter(notificationRepository, 100, 10);
+    }
+
+    @Test
+    void testGet_CountsOnceThenServesFromMemory() {
+        when(notificationRepository.countByUserIdAndIsReadFalse(1L)).thenReturn(4L);
+
+        assertEquals(4L, counter.get(1L));
+        assertEquals(4L, counter.get(1L));
+
+        verify(notificationRepository, times(1)).countByUserIdAndIsReadFalse(1L);
+    }
+
+    @Test
+    void testChanges_AreAppliedToTheHeldCount() {
+        when(notificationRepository.countByUserIdAndIsReadFalse(1L)).thenReturn(1L);
+        counter.get(1L);
+
+        counter.increment(1L);
+        counter.increment(1L);
+        assertEquals(3L, counter.get(1L));
+
+        counter.decrement(1L);
+        assertEquals(2L, counter.get(1L));
+
+        counter.reset(1L);
+        counter.decrement(1L);
+        assertEquals(0L, counter.get(1L));
+    }
+
+    @Test
+    void testChanges_ForUserNotHeldAreDropped() {
+        counter.increment(2L);
+
+        when(notificationRepository.countByUserIdAndIsReadFalse(2L)).thenReturn(7L);
+        assertEquals(7L, counter.get(2L));
+    }
+
+    @Test
+    void testChanges_DoNotExtendTheEntryLifetime() {
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = nanos::get;
+        counter = new UnreadNotificationCounter(notificationRepository, 100, 10, ticker);
+        when(notificationRepository.countByUserIdAndIsReadFalse(1L)).thenReturn(1L, 5L);
+        counter.get(1L);
+
+        // A steady stream of changes must not keep a drifted count alive past the TTL
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        counter.increment(1L);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(5));
+
+        assertEquals(5L, counter.get(1L));
+        verify(notificationRepository, times(2)).countByUserIdAndIsReadFalse(1L);
+    }
+}
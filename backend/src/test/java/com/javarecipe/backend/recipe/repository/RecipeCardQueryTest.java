@@ -0,0 +1,161 @@
+package com.javarecipe.backend.recipe.repository;
+
+import com.javarecipe.backend.common.config.HibernateCacheConfig;
+import com.javarecipe.backend.interaction.entity.Favorite;
+import com.javarecipe.backend.interaction.repository.FavoriteRepository;
+import com.javarecipe.backend.recipe.dto.RecipeCardDTO;
+import com.javarecipe.backend.recipe.entity.Category;
+import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.recipe.entity.RecipeImage;
+import com.javarecipe.backend.user.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class RecipeCardQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    private User author;
+    private Recipe soup;
+    private Recipe salad;
+
+    @BeforeEach
+    void setUp() {
+        author = new User();
+        author.setEmail("cook@example.com");
+        author.setUsername("cook");
+        author.setPassword("secret");
+        author.setFirstName("Test");
+        author.setLastName("Cook");
+        author.setDisplayName("The Cook");
+        entityManager.persist(author);
+
+        Category dinner = new Category();
+        dinner.setName("Dinner");
+        entityManager.persist(dinner);
+
+        soup = givenRecipe("Tomato soup", true);
+        soup.getCategories().add(dinner);
+        givenImage(soup, "https://img/soup-side.jpg", false);
+        givenImage(soup, "https://img/soup-main.jpg", true);
+
+        salad = givenRecipe("Green salad", true);
+        givenImage(salad, "https://img/salad.jpg", false);
+
+        givenRecipe("Draft stew", false);
+
+        Favorite favorite = new Favorite();
+        favorite.setUser(author);
+        favorite.setRecipe(salad);
+        entityManager.persist(favorite);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindCardsByPublished_LoadsPageInOneStatement() {
+        Statistics statistics = statistics();
+
+        Page<RecipeCardDTO> page = recipeRepository.findCardsByPublished(true,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "title")));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of("Green salad", "Tomato soup"), page.getContent().stream().map(RecipeCardDTO::getTitle).toList());
+        // The page fits, so no separate count query is needed
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        RecipeCardDTO soupCard = page.getContent().get(1);
+        assertEquals("cook", soupCard.getAuthorUsername());
+        assertEquals("The Cook", soupCard.getAuthorDisplayName());
+        assertEquals("https://img/soup-main.jpg", soupCard.getPrimaryImageUrl());
+        assertTrue(soupCard.isPublished());
+    }
+
+    @Test
+    void testFindCardsByPublished_FallsBackToAnyImage() {
+        List<RecipeCardDTO> cards = recipeRepository.findCardsByIds(List.of(salad.getId()));
+
+        assertEquals(1, cards.size());
+        assertEquals("https://img/salad.jpg", cards.get(0).getPrimaryImageUrl());
+    }
+
+    @Test
+    void testFindCardsByCategoryName_IgnoresCase() {
+        Page<RecipeCardDTO> page = recipeRepository.findCardsByCategoryName("dinner", PageRequest.of(0, 10));
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals(soup.getId(), page.getContent().get(0).getId());
+    }
+
+    @Test
+    void testFindCardsByUser_IncludesDrafts() {
+        Page<RecipeCardDTO> page = recipeRepository.findCardsByUser(author, PageRequest.of(0, 10));
+
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void testFindFavoriteRecipeCardsByUserId() {
+        Page<RecipeCardDTO> page = favoriteRepository.findFavoriteRecipeCardsByUserId(author.getId(),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Green salad", page.getContent().get(0).getTitle());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Recipe givenRecipe(String title, boolean published) {
+        Recipe recipe = new Recipe();
+        recipe.setTitle(title);
+        recipe.setPublished(published);
+        recipe.setUser(author);
+        entityManager.persist(recipe);
+        return recipe;
+    }
+
+    private void givenImage(Recipe recipe, String url, boolean primary) {
+        RecipeImage image = new RecipeImage();
+        image.setRecipe(recipe);
+        image.setImageUrl(url);
+        image.setPrimary(primary);
+        entityManager.persist(image);
+    }
+}
@@ -0,0 +1,126 @@
+package com.javarecipe.backend.recipe.repository;
+
+import com.javarecipe.backend.common.config.HibernateCacheConfig;
+import com.javarecipe.backend.recipe.entity.Category;
+import com.javarecipe.backend.recipe.entity.ConsumerWarning;
+import com.javarecipe.backend.recipe.entity.Ingredient;
+import com.javarecipe.backend.recipe.entity.Instruction;
+import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.recipe.entity.RecipeImage;
+import com.javarecipe.backend.user.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class RecipeDetailFetchTest {
+
+    private static final int DETAIL_STATEMENTS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    private Long recipeId;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User();
+        author.setEmail("cook@example.com");
+        author.setUsername("cook");
+        author.setPassword("secret");
+        author.setFirstName("Test");
+        author.setLastName("Cook");
+        entityManager.persist(author);
+
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Tomato soup");
+        recipe.setPublished(true);
+        recipe.setUser(author);
+        for (int i = 0; i < 3; i++) {
+            Category category = new Category("Category " + i);
+            entityManager.persist(category);
+            recipe.getCategories().add(category);
+
+            ConsumerWarning warning = new ConsumerWarning();
+            warning.setName("Warning " + i);
+            entityManager.persist(warning);
+            recipe.getConsumerWarnings().add(warning);
+        }
+        entityManager.persist(recipe);
+
+        for (int i = 0; i < 4; i++) {
+            RecipeImage image = new RecipeImage();
+            image.setRecipe(recipe);
+            image.setImageUrl("https://img/" + i + ".jpg");
+            image.setPrimary(i == 0);
+            entityManager.persist(image);
+
+            Ingredient ingredient = new Ingredient();
+            ingredient.setRecipe(recipe);
+            ingredient.setName("Ingredient " + i);
+            entityManager.persist(ingredient);
+
+            Instruction instruction = new Instruction();
+            instruction.setRecipe(recipe);
+            instruction.setStepNumber(i + 1);
+            instruction.setDescription("Step " + i);
+            entityManager.persist(instruction);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        recipeId = recipe.getId();
+    }
+
+    @Test
+    void testFindDetailById_LoadsWholeGraphInFixedStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Recipe recipe = recipeRepository.findDetailById(recipeId).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(recipe.getUser()));
+        assertTrue(Hibernate.isInitialized(recipe.getUser().getRoles()));
+        assertTrue(Hibernate.isInitialized(recipe.getImages()));
+        assertTrue(Hibernate.isInitialized(recipe.getIngredients()));
+        assertTrue(Hibernate.isInitialized(recipe.getInstructions()));
+        assertTrue(Hibernate.isInitialized(recipe.getCategories()));
+        assertTrue(Hibernate.isInitialized(recipe.getConsumerWarnings()));
+
+        // No duplicates from joined rows
+        assertEquals(4, recipe.getImages().size());
+        assertEquals(4, recipe.getIngredients().size());
+        assertEquals(4, recipe.getInstructions().size());
+        assertEquals(3, recipe.getCategories().size());
+        assertEquals(3, recipe.getConsumerWarnings().size());
+
+        assertEquals(DETAIL_STATEMENTS, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindDetailById_MissingRecipe() {
+        assertTrue(recipeRepository.findDetailById(-1L).isEmpty());
+    }
+}
@@ -0,0 +1,151 @@
+package com.javarecipe.backend.recipe.repository;
+
+import com.javarecipe.backend.common.config.HibernateCacheConfig;
+import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class RecipeRatingStatsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    private Long recipeId;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User();
+        author.setEmail("rater@example.com");
+        author.setUsername("rater");
+        author.setPassword("secret");
+        author.setFirstName("Test");
+        author.setLastName("Rater");
+        entityManager.persist(author);
+
+        Recipe recipe = new Recipe();
+        recipe.setTitle("Pancakes");
+        recipe.setUser(author);
+        entityManager.persist(recipe);
+        entityManager.flush();
+        recipeId = recipe.getId();
+    }
+
+    @Test
+    void testApplyRatingDelta_MaintainsRunningAggregates() {
+        // Two new reviews: 5 and 3 stars
+        recipeRepository.applyRatingDelta(recipeId, 1, 5, 0, 0, 0, 0, 1);
+        recipeRepository.applyRatingDelta(recipeId, 1, 3, 0, 0, 1, 0, 0);
+        // The 3-star review becomes 4 stars
+        recipeRepository.applyRatingDelta(recipeId, 0, 1, 0, 0, -1, 1, 0);
+
+        Recipe recipe = reload();
+        assertEquals(2, recipe.getReviewCount());
+        assertEquals(9L, recipe.getRatingSum());
+        assertEquals(4.5, recipe.getAverageRating(), 1e-9);
+        assertEquals(0, recipe.getThreeStarCount());
+        assertEquals(1, recipe.getFourStarCount());
+        assertEquals(1, recipe.getFiveStarCount());
+
+        // Both reviews deleted
+        recipeRepository.applyRatingDelta(recipeId, -1, -5, 0, 0, 0, 0, -1);
+        recipeRepository.applyRatingDelta(recipeId, -1, -4, 0, 0, 0, -1, 0);
+
+        recipe = reload();
+        assertEquals(0, recipe.getReviewCount());
+        assertEquals(0L, recipe.getRatingSum());
+        assertNull(recipe.getAverageRating());
+    }
+
+    @Test
+    void testApplyRatingDelta_SkipsRowsWrittenBeforeTheHistogramColumns() {
+        // Two reviews averaging 4.5 from before the migration: the new columns are still zero
+        recipeRepository.setRatingStats(recipeId, 4.5, 2, 0L, 0, 0, 0, 0, 0);
+        assertTrue(recipeRepository.existsRatingStatsOutOfSync());
+
+        assertEquals(0, recipeRepository.applyRatingDelta(recipeId, 1, 1, 1, 0, 0, 0, 0));
+
+        Recipe recipe = reload();
+        assertEquals(2, recipe.getReviewCount());
+        assertEquals(4.5, recipe.getAverageRating(), 1e-9);
+        assertEquals(0, recipe.getOneStarCount());
+    }
+
+    @Test
+    void testExistsRatingStatsOutOfSync_FalseOnceHistogramsMatch() {
+        recipeRepository.applyRatingDelta(recipeId, 1, 5, 0, 0, 0, 0, 1);
+
+        assertFalse(recipeRepository.existsRatingStatsOutOfSync());
+    }
+
+    @Test
+    void testSetRatingStats_OverwritesAggregates() {
+        recipeRepository.applyRatingDelta(recipeId, 1, 5, 0, 0, 0, 0, 1);
+
+        recipeRepository.setRatingStats(recipeId, 2.0, 2, 4L, 1, 0, 1, 0, 0);
+
+        Recipe recipe = reload();
+        assertEquals(2, recipe.getReviewCount());
+        assertEquals(4L, recipe.getRatingSum());
+        assertEquals(2.0, recipe.getAverageRating(), 1e-9);
+        assertEquals(1, recipe.getOneStarCount());
+        assertEquals(0, recipe.getFiveStarCount());
+    }
+
+    @Test
+    void testFindRatingSummaryById_ReadsStoredHistogram() {
+        recipeRepository.setRatingStats(recipeId, 3.5, 4, 14L, 0, 1, 1, 1, 1);
+        entityManager.clear();
+
+        List<Object[]> rows = recipeRepository.findRatingSummaryById(recipeId);
+
+        assertEquals(1, rows.size());
+        assertArrayEquals(new Object[] {3.5, 4, 0, 1, 1, 1, 1}, rows.get(0));
+        assertTrue(recipeRepository.findRatingSummaryById(recipeId + 1).isEmpty());
+    }
+
+    @Test
+    void testRecipeSave_DoesNotOverwriteRatingThatLandedAfterLoad() {
+        // updateRecipe loads the recipe...
+        Recipe loaded = recipeRepository.findById(recipeId).orElseThrow();
+
+        // ...a review commits in between...
+        recipeRepository.applyRatingDelta(recipeId, 1, 4, 0, 0, 0, 1, 0);
+
+        // ...and the stale entity is saved with the edited fields
+        loaded.setTitle("Fluffy pancakes");
+        recipeRepository.save(loaded);
+        entityManager.flush();
+
+        Recipe recipe = reload();
+        assertEquals("Fluffy pancakes", recipe.getTitle());
+        assertEquals(1, recipe.getReviewCount());
+        assertEquals(4L, recipe.getRatingSum());
+        assertEquals(4.0, recipe.getAverageRating(), 1e-9);
+        assertEquals(1, recipe.getFourStarCount());
+    }
+
+    private Recipe reload() {
+        entityManager.clear();
+        return entityManager.find(Recipe.class, recipeId);
+    }
+}
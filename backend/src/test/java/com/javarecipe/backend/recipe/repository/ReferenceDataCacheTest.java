@@ -0,0 +1,122 @@
+package com.javarecipe.backend.recipe.repository;
+
+import com.javarecipe.backend.common.config.HibernateCacheConfig;
+import com.javarecipe.backend.recipe.entity.Category;
+import com.javarecipe.backend.user.entity.User;
+import com.javarecipe.backend.user.entity.UserRole;
+import com.javarecipe.backend.user.repository.UserRepository;
+import com.javarecipe.backend.user.repository.UserRoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+// Cache entries only become visible once the writing transaction commits, so each call runs in its own
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    private Statistics statistics;
+    private TransactionTemplate transaction;
+    private Category category;
+    private UserRole role;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            category = categoryRepository.save(new Category("Breakfast " + System.nanoTime()));
+            role = userRoleRepository.save(new UserRole("ROLE_TEST_" + System.nanoTime()));
+
+            String username = "cook" + System.nanoTime();
+            User newUser = new User();
+            newUser.setEmail(username + "@example.com");
+            newUser.setUsername(username);
+            newUser.setPassword("secret");
+            newUser.setFirstName("Test");
+            newUser.setLastName("Cook");
+            newUser.getRoles().add(role);
+            user = userRepository.save(newUser);
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            userRepository.deleteById(user.getId());
+            userRoleRepository.deleteById(role.getId());
+            categoryRepository.deleteById(category.getId());
+        });
+    }
+
+    @Test
+    void testFindById_SecondLookupServedFromCache() {
+        categoryRepository.findById(category.getId());
+        statistics.clear();
+
+        Category cached = categoryRepository.findById(category.getId()).orElseThrow();
+
+        assertEquals(category.getName(), cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void testFindAll_RepeatedQueryServedFromQueryCache() {
+        categoryRepository.findAll();
+        statistics.clear();
+
+        assertFalse(categoryRepository.findAll().isEmpty());
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testUserRoles_ServedFromCollectionCache() {
+        userRepository.findByUsername(user.getUsername());
+        statistics.clear();
+
+        User loaded = userRepository.findByUsername(user.getUsername()).orElseThrow();
+
+        assertEquals(1, loaded.getRoles().size());
+        // Only the user row itself is read
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
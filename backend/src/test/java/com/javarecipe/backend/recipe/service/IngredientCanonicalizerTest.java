@@ -0,0 +1,93 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.entity.IngredientSynonym;
+import com.javarecipe.backend.recipe.repository.IngredientRepository;
+import com.javarecipe.backend.recipe.repository.IngredientSynonymRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IngredientCanonicalizerTest {
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private IngredientSynonymRepository ingredientSynonymRepository;
+
+    private IngredientCanonicalizer ingredientCanonicalizer;
+
+    @BeforeEach
+    void setUp() {
+        ingredientCanonicalizer = new IngredientCanonicalizer(ingredientRepository, ingredientSynonymRepository);
+    }
+
+    @Test
+    void testCanonicalize_FoldsCaseWhitespaceAndAccents() {
+        assertEquals("tomato", ingredientCanonicalizer.canonicalize("Tomato "));
+        assertEquals("jalapeno", ingredientCanonicalizer.canonicalize("Jalapeño"));
+        assertEquals("creme fraiche", ingredientCanonicalizer.canonicalize("  Crème-Fraîche "));
+    }
+
+    @Test
+    void testCanonicalize_Singularizes() {
+        assertEquals("tomato", ingredientCanonicalizer.canonicalize("tomatoes"));
+        assertEquals("cherry", ingredientCanonicalizer.canonicalize("Cherries"));
+        assertEquals("green bean", ingredientCanonicalizer.canonicalize("Green Beans"));
+        assertEquals("peach", ingredientCanonicalizer.canonicalize("peaches"));
+        assertEquals("asparagus", ingredientCanonicalizer.canonicalize("Asparagus"));
+        assertEquals("egg", ingredientCanonicalizer.canonicalize("eggs"));
+    }
+
+    @Test
+    void testCanonicalize_IeSingularsMatchTheirPlurals() {
+        assertEquals("pie", ingredientCanonicalizer.canonicalize("pie"));
+        assertEquals("pie", ingredientCanonicalizer.canonicalize("Pies"));
+        assertEquals("cookie", ingredientCanonicalizer.canonicalize("cookie"));
+        assertEquals("cookie", ingredientCanonicalizer.canonicalize("Cookies"));
+        assertEquals("chocolate brownie", ingredientCanonicalizer.canonicalize("chocolate brownies"));
+        assertEquals("berry", ingredientCanonicalizer.canonicalize("berries"));
+    }
+
+    @Test
+    void testCanonicalize_BlankReturnsNull() {
+        assertNull(ingredientCanonicalizer.canonicalize(null));
+        assertNull(ingredientCanonicalizer.canonicalize("  -  "));
+    }
+
+    @Test
+    void testCanonicalize_ResolvesSynonyms() {
+        // Given
+        when(ingredientSynonymRepository.findAll()).thenReturn(Arrays.asList(
+                IngredientSynonym.builder().variant("roma tomato").canonicalName("tomato").build()));
+
+        // When / Then
+        assertEquals("tomato", ingredientCanonicalizer.canonicalize("Roma Tomatoes"));
+        assertEquals("cherry tomato", ingredientCanonicalizer.canonicalize("cherry tomatoes"));
+    }
+
+    @Test
+    void testBackfillCanonicalNames_UpdatesOncePerDistinctName() {
+        // Given
+        when(ingredientSynonymRepository.findAll()).thenReturn(Collections.emptyList());
+        when(ingredientRepository.findDistinctRawNamesWithoutCanonicalName())
+                .thenReturn(Arrays.asList("Onions", "  "));
+        when(ingredientRepository.updateCanonicalNameByName("Onions", "onion")).thenReturn(3);
+
+        // When
+        ingredientCanonicalizer.backfillCanonicalNames();
+
+        // Then
+        verify(ingredientRepository).updateCanonicalNameByName("Onions", "onion");
+        verify(ingredientRepository, never()).updateCanonicalNameByName(eq("  "), any());
+    }
+}
@@ -0,0 +1,66 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.entity.Recipe;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTripsSortKeyAndId() {
+        Recipe recipe = new Recipe();
+        recipe.setId(42L);
+        recipe.setCreatedAt(LocalDateTime.of(2024, 5, 1, 12, 30, 15));
+
+        String cursor = RecipeCursor.encode(RecipeSortField.CREATED_AT, Sort.Direction.DESC, recipe);
+        ScrollPosition position = RecipeCursor.decode(cursor, RecipeSortField.CREATED_AT, Sort.Direction.DESC);
+
+        KeysetScrollPosition keyset = assertInstanceOf(KeysetScrollPosition.class, position);
+        assertEquals(LocalDateTime.of(2024, 5, 1, 12, 30, 15), keyset.getKeys().get("createdAt"));
+        assertEquals(42L, keyset.getKeys().get("id"));
+    }
+
+    @Test
+    void testDecode_BlankCursorStartsAtFirstPage() {
+        ScrollPosition position = RecipeCursor.decode("", RecipeSortField.VIEW_COUNT, Sort.Direction.DESC);
+
+        assertTrue(position.isInitial());
+    }
+
+    @Test
+    void testDecode_RejectsCursorForAnotherSort() {
+        Recipe recipe = new Recipe();
+        recipe.setId(7L);
+        recipe.setViewCount(100L);
+
+        String cursor = RecipeCursor.encode(RecipeSortField.VIEW_COUNT, Sort.Direction.DESC, recipe);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> RecipeCursor.decode(cursor, RecipeSortField.VIEW_COUNT, Sort.Direction.ASC));
+        assertThrows(IllegalArgumentException.class,
+                () -> RecipeCursor.decode(cursor, RecipeSortField.TITLE, Sort.Direction.DESC));
+    }
+
+    @Test
+    void testDecode_RejectsTamperedCursor() {
+        String tampered = Base64.getUrlEncoder().encodeToString("v1\u001fVIEW_COUNT\u001fDESC\u001fabc\u001f7".getBytes());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> RecipeCursor.decode("not a cursor!", RecipeSortField.VIEW_COUNT, Sort.Direction.DESC));
+        assertThrows(IllegalArgumentException.class,
+                () -> RecipeCursor.decode(tampered, RecipeSortField.VIEW_COUNT, Sort.Direction.DESC));
+    }
+
+    @Test
+    void testFromProperty_RejectsUnsupportedField() {
+        assertEquals(RecipeSortField.VIEW_COUNT, RecipeSortField.fromProperty("viewCount"));
+        assertThrows(IllegalArgumentException.class, () -> RecipeSortField.fromProperty("description"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javarecipe.backend.recipe.event.RecipeChangedEvent;
+import com.javarecipe.backend.recipe.event.RecipeStatsChangedEvent;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeDetailCacheTest {
+
+    private RecipeDetailCache recipeDetailCache;
+    private AtomicInteger loads;
+    private Function<Long, Map<String, Object>> loader;
+
+    @BeforeEach
+    void setUp() {
+        recipeDetailCache = new RecipeDetailCache(new ObjectMapper(), 100, 10);
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return Map.of("id", id, "title", "Recipe " + id);
+        };
+    }
+
+    @Test
+    void testGet_SerializesOnMissAndServesHitsFromCache() {
+        byte[] first = recipeDetailCache.get(1L, loader);
+        byte[] second = recipeDetailCache.get(1L, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertTrue(new String(first, StandardCharsets.UTF_8).contains("\"title\":\"Recipe 1\""));
+
+        Map<String, Object> stats = recipeDetailCache.getStats();
+        assertEquals(1L, stats.get("hitCount"));
+        assertEquals(1L, stats.get("missCount"));
+    }
+
+    @Test
+    void testGet_LoaderFailureIsNotCached() {
+        Function<Long, Object> missing = id -> {
+            throw new EntityNotFoundException("Recipe not found with id: " + id);
+        };
+
+        assertThrows(EntityNotFoundException.class, () -> recipeDetailCache.get(2L, missing));
+
+        recipeDetailCache.get(2L, loader);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testRecipeChanges_InvalidateEntry() {
+        recipeDetailCache.get(1L, loader);
+        recipeDetailCache.onRecipeChanged(new RecipeChangedEvent(1L));
+        recipeDetailCache.get(1L, loader);
+
+        recipeDetailCache.onRecipeStatsChanged(new RecipeStatsChangedEvent(1L));
+        recipeDetailCache.get(1L, loader);
+
+        assertEquals(3, loads.get());
+    }
+}
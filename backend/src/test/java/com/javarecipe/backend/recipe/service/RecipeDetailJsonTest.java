@@ -0,0 +1,87 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javarecipe.backend.recipe.entity.Recipe;
+import com.javarecipe.backend.recipe.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeDetailJsonTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ConsumerWarningRepository consumerWarningRepository;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private InstructionRepository instructionRepository;
+
+    @Mock
+    private RecipeImageRepository recipeImageRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IngredientCanonicalizer ingredientCanonicalizer;
+
+    @Mock
+    private RecipeTextIndex recipeTextIndex;
+
+    @Mock
+    private RecipeViewCounter recipeViewCounter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private RecipeDetailCache recipeDetailCache = new RecipeDetailCache(new ObjectMapper(), 100, 10);
+
+    @InjectMocks
+    private RecipeServiceImpl recipeService;
+
+    @Test
+    void testGetRecipeDetailJson_OnlyAMissOpensATransaction() {
+        Recipe recipe = new Recipe();
+        recipe.setId(1L);
+        recipe.setTitle("Pancakes");
+        recipe.setPublished(true);
+        when(recipeRepository.findDetailById(1L)).thenReturn(Optional.of(recipe));
+
+        byte[] miss = recipeService.getRecipeDetailJson(1L);
+        byte[] hit = recipeService.getRecipeDetailJson(1L);
+
+        assertSame(miss, hit);
+        assertTrue(new String(miss).contains("\"title\":\"Pancakes\""));
+        verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(1)).commit(any());
+        verify(recipeViewCounter, times(2)).recordView(1L);
+    }
+}
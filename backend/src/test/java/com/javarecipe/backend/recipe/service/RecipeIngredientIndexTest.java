@@ -0,0 +1,103 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.repository.IngredientRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeIngredientIndexTest {
+
+    // Far apart and past the int range, as ids get after years of created and deleted recipes
+    private static final long FIRST = 7L;
+    private static final long SECOND = 5_000_000_000L;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    private RecipeIngredientIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(recipeRepository.findPublishedRecipeIds()).thenReturn(List.of(FIRST, SECOND));
+        when(recipeRepository.findPublishedSortKeys()).thenReturn(List.of(
+                new Object[]{FIRST, 4.0, 10L, LocalDateTime.of(2024, 1, 1, 0, 0)},
+                new Object[]{SECOND, 3.0, 20L, LocalDateTime.of(2024, 2, 1, 0, 0)}));
+        when(ingredientRepository.findPublishedRecipeIngredientNames()).thenReturn(List.of(
+                new Object[]{FIRST, "egg"},
+                new Object[]{FIRST, "flour"},
+                new Object[]{SECOND, "egg"}));
+        when(recipeRepository.findPublishedRecipeCategoryIds()).thenReturn(Collections.singletonList(
+                new Object[]{SECOND, 3L}));
+
+        index = new RecipeIngredientIndex(ingredientRepository, recipeRepository);
+        index.rebuild();
+    }
+
+    @Test
+    void testScore_ReportsRecipeIdsOfSparseRecipes() {
+        Map<Long, int[]> scores = score(index.encodePantry(List.of("egg")), null);
+
+        assertEquals(Set.of(FIRST, SECOND), scores.keySet());
+        assertArrayEquals(new int[]{1, 2}, scores.get(FIRST));
+        assertArrayEquals(new int[]{1, 1}, scores.get(SECOND));
+        assertEquals(Set.of(SECOND), score(index.encodePantry(List.of("egg")), List.of(3L)).keySet());
+    }
+
+    @Test
+    void testSortKey_LooksUpTheRecipesSlot() {
+        Map<Long, Comparable<Object>> views = new HashMap<>();
+        index.withCandidates(index.encodePantry(List.of("egg")), null, false, candidates -> {
+            candidates.score(0, candidates.slotLimit(), (recipeId, matched, total) ->
+                    views.put(recipeId, candidates.sortKey(recipeId, RecipeSortKeys.Field.VIEW_COUNT)));
+            return null;
+        });
+
+        assertEquals(Map.of(FIRST, 10L, SECOND, 20L), views);
+    }
+
+    @Test
+    void testRefreshRecipe_ReusesTheSlotOfAnUnpublishedRecipe() {
+        long third = 9_000_000_000L;
+        when(recipeRepository.findPublishedFlagById(FIRST)).thenReturn(Optional.of(false));
+        when(recipeRepository.findPublishedFlagById(third)).thenReturn(Optional.of(true));
+        when(ingredientRepository.findNormalizedNamesByRecipeId(third)).thenReturn(List.of("milk"));
+        when(recipeRepository.findCategoryIdsByRecipeId(third)).thenReturn(List.of());
+        when(recipeRepository.findSortKeysById(third)).thenReturn(Collections.singletonList(
+                new Object[]{third, null, 5L, null}));
+
+        index.refreshRecipe(FIRST);
+        index.refreshRecipe(third);
+
+        Map<Long, int[]> scores = score(index.encodePantry(List.of("egg", "milk")), null);
+        assertEquals(Set.of(SECOND, third), scores.keySet());
+        index.withCandidates(new BitSet(), null, false, candidates -> {
+            // Two published recipes still fit in two slots
+            assertEquals(2, candidates.slotLimit());
+            assertEquals(5L, candidates.sortKey(third, RecipeSortKeys.Field.VIEW_COUNT));
+            assertNull(candidates.sortKey(third, RecipeSortKeys.Field.RATING));
+            assertNull(candidates.sortKey(FIRST, RecipeSortKeys.Field.VIEW_COUNT));
+            return null;
+        });
+        assertEquals(List.of(new RecipeIngredientIndex.IngredientCount("egg", 1)), index.suggest("eg"));
+    }
+
+    private Map<Long, int[]> score(BitSet pantry, Collection<Long> categoryIds) {
+        Map<Long, int[]> scores = new HashMap<>();
+        index.score(pantry, categoryIds, false,
+                (recipeId, matched, total) -> scores.put(recipeId, new int[]{matched, total}));
+        return scores;
+    }
+}
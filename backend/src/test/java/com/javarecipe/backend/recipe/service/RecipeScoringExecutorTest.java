@@ -0,0 +1,78 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.repository.IngredientRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeScoringExecutorTest {
+
+    private static final Comparator<long[]> BY_MATCHED_DESC =
+            Comparator.<long[]>comparingLong(match -> match[1]).reversed().thenComparingLong(match -> match[0]);
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Test
+    void testSelectTopK_ParallelMatchesSequential() {
+        // Given
+        RecipeIngredientIndex index = givenSyntheticIndex(5_000, 40, 8);
+        BitSet pantry = index.encodePantry(Arrays.asList("ingredient 1", "ingredient 2", "ingredient 3", "ingredient 5"));
+        RecipeScoringExecutor sequential = new RecipeScoringExecutor(1, 0, 256);
+        RecipeScoringExecutor parallel = new RecipeScoringExecutor(4, 0, 256);
+
+        try {
+            // When
+            TopKSelector<long[]> expected = topK(index, sequential, pantry, 50);
+            TopKSelector<long[]> actual = topK(index, parallel, pantry, 50);
+
+            // Then
+            assertEquals(expected.getOfferedCount(), actual.getOfferedCount());
+            List<long[]> expectedList = expected.toSortedList();
+            List<long[]> actualList = actual.toSortedList();
+            assertEquals(expectedList.size(), actualList.size());
+            for (int i = 0; i < expectedList.size(); i++) {
+                assertArrayEquals(expectedList.get(i), actualList.get(i));
+            }
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    private TopKSelector<long[]> topK(RecipeIngredientIndex index, RecipeScoringExecutor executor,
+                                      BitSet pantry, int limit) {
+        return index.withCandidates(pantry, null, false, candidates ->
+                executor.selectTopK(candidates, limit, BY_MATCHED_DESC,
+                        (recipeId, matched, total) -> matched == 0 ? null : new long[]{recipeId, matched, total}));
+    }
+
+    private RecipeIngredientIndex givenSyntheticIndex(int recipes, int distinctIngredients, int ingredientsPerRecipe) {
+        Random random = new Random(42);
+        List<Long> recipeIds = new ArrayList<>(recipes);
+        List<Object[]> rows = new ArrayList<>(recipes * ingredientsPerRecipe);
+        for (long recipeId = 1; recipeId <= recipes; recipeId++) {
+            recipeIds.add(recipeId);
+            for (int i = 0; i < ingredientsPerRecipe; i++) {
+                rows.add(new Object[]{recipeId, "ingredient " + random.nextInt(distinctIngredients)});
+            }
+        }
+        lenient().when(recipeRepository.findPublishedRecipeIds()).thenReturn(recipeIds);
+        lenient().when(ingredientRepository.findPublishedRecipeIngredientNames()).thenReturn(rows);
+        lenient().when(recipeRepository.findPublishedRecipeCategoryIds()).thenReturn(Collections.emptyList());
+
+        RecipeIngredientIndex index = new RecipeIngredientIndex(ingredientRepository, recipeRepository);
+        index.rebuild();
+        return index;
+    }
+}
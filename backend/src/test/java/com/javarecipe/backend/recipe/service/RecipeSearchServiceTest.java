@@ -5,12 +5,12 @@ import com.javarecipe.backend.recipe.dto.RecipeMatchDTO;
 import com.javarecipe.backend.recipe.dto.RecipeSearchRequest;
 import com.javarecipe.backend.recipe.entity.*;
 import com.javarecipe.backend.recipe.repository.IngredientRepository;
+import com.javarecipe.backend.recipe.repository.IngredientSynonymRepository;
 import com.javarecipe.backend.recipe.repository.RecipeRepository;
 import com.javarecipe.backend.user.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -32,7 +32,9 @@ class RecipeSearchServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
-    @InjectMocks
+    @Mock
+    private IngredientSynonymRepository ingredientSynonymRepository;
+
     private RecipeSearchServiceImpl recipeSearchService;
 
     private Recipe testRecipe;
@@ -40,6 +42,11 @@ class RecipeSearchServiceTest {
 
     @BeforeEach
     void setUp() {
+        RecipeIngredientIndex recipeIngredientIndex = new RecipeIngredientIndex(ingredientRepository, recipeRepository);
+        IngredientCanonicalizer ingredientCanonicalizer = new IngredientCanonicalizer(ingredientRepository, ingredientSynonymRepository);
+        recipeSearchService = new RecipeSearchServiceImpl(recipeRepository, recipeIngredientIndex,
+                ingredientCanonicalizer, new RecipeScoringExecutor(1, 50000, 16384));
+
         testUser = User.builder()
                 .id(1L)
                 .username("testuser")
@@ -107,38 +114,65 @@ class RecipeSearchServiceTest {
     @Test
     void testSearchIngredients() {
         // Given
-        List<String> ingredientNames = Arrays.asList("chicken", "rice", "onion");
-        when(ingredientRepository.searchIngredientNames("chi")).thenReturn(Arrays.asList("chicken"));
-        when(ingredientRepository.countRecipesByIngredientName("chicken")).thenReturn(5L);
+        givenIndexedIngredientCatalog();
 
         // When
-        List<IngredientSearchDTO> result = recipeSearchService.searchIngredients("chi");
+        List<IngredientSearchDTO> result = recipeSearchService.searchIngredients("Ch");
 
-        // Then
+        // Then - most used first, matched on any word start
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(2, result.size());
         assertEquals("chicken", result.get(0).getName());
-        assertEquals(5L, result.get(0).getRecipeCount());
-        verify(ingredientRepository).searchIngredientNames("chi");
-        verify(ingredientRepository).countRecipesByIngredientName("chicken");
+        assertEquals(2L, result.get(0).getRecipeCount());
+        assertEquals("cherry tomato", result.get(1).getName());
+        assertEquals(1L, result.get(1).getRecipeCount());
+    }
+
+    @Test
+    void testSearchIngredients_MatchesLaterWord() {
+        // Given
+        givenIndexedIngredientCatalog();
+
+        // When
+        List<IngredientSearchDTO> result = recipeSearchService.searchIngredients("tomatoes");
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("cherry tomato", result.get(0).getName());
     }
 
     @Test
     void testGetAllIngredients() {
         // Given
-        List<String> ingredientNames = Arrays.asList("chicken", "rice", "onion");
-        when(ingredientRepository.findDistinctIngredientNames()).thenReturn(ingredientNames);
-        when(ingredientRepository.countRecipesByIngredientName("chicken")).thenReturn(5L);
-        when(ingredientRepository.countRecipesByIngredientName("rice")).thenReturn(8L);
-        when(ingredientRepository.countRecipesByIngredientName("onion")).thenReturn(12L);
+        givenIndexedIngredientCatalog();
 
         // When
         List<IngredientSearchDTO> result = recipeSearchService.getAllIngredients();
 
-        // Then
+        // Then - sorted by name, counts from the index, no per-name queries
         assertNotNull(result);
+        assertEquals(4, result.size());
+        assertEquals("cherry tomato", result.get(0).getName());
+        assertEquals("rice", result.get(3).getName());
+        assertEquals(3L, result.get(3).getRecipeCount());
+        verify(ingredientRepository, times(1)).findPublishedRecipeIngredientNames();
+    }
+
+    @Test
+    void testGetPopularIngredients() {
+        // Given
+        givenIndexedIngredientCatalog();
+
+        // When
+        List<IngredientSearchDTO> result = recipeSearchService.getPopularIngredients(3);
+
+        // Then - most used first, ties by name, counts from the index
         assertEquals(3, result.size());
-        verify(ingredientRepository).findDistinctIngredientNames();
+        assertEquals("rice", result.get(0).getName());
+        assertEquals(3L, result.get(0).getRecipeCount());
+        assertEquals("chicken", result.get(1).getName());
+        assertEquals("cherry tomato", result.get(2).getName());
+        assertEquals(1L, result.get(2).getRecipeCount());
     }
 
     @Test
@@ -149,7 +183,7 @@ class RecipeSearchServiceTest {
         searchRequest.setMinMatchPercentage(0.0);
         searchRequest.setExactMatchOnly(false);
 
-        when(recipeRepository.findAll()).thenReturn(Arrays.asList(testRecipe));
+        givenIndexedTestRecipe();
 
         Pageable pageable = PageRequest.of(0, 10);
 
@@ -178,7 +212,7 @@ class RecipeSearchServiceTest {
         searchRequest.setMinMatchPercentage(0.0);
         searchRequest.setExactMatchOnly(false);
 
-        when(recipeRepository.findAll()).thenReturn(Arrays.asList(testRecipe));
+        givenIndexedTestRecipe();
 
         Pageable pageable = PageRequest.of(0, 10);
 
@@ -206,7 +240,7 @@ class RecipeSearchServiceTest {
         searchRequest.setMinMatchPercentage(0.0);
         searchRequest.setExactMatchOnly(true); // Only exact matches
 
-        when(recipeRepository.findAll()).thenReturn(Arrays.asList(testRecipe));
+        givenIndexedTestRecipe();
 
         Pageable pageable = PageRequest.of(0, 10);
 
@@ -226,7 +260,7 @@ class RecipeSearchServiceTest {
         searchRequest.setMinMatchPercentage(50.0); // Require at least 50% match
         searchRequest.setExactMatchOnly(false);
 
-        when(recipeRepository.findAll()).thenReturn(Arrays.asList(testRecipe));
+        givenIndexedTestRecipe();
 
         Pageable pageable = PageRequest.of(0, 10);
 
@@ -251,6 +285,19 @@ class RecipeSearchServiceTest {
         verify(recipeRepository).findById(1L);
     }
 
+    @Test
+    void testCalculateMatchPercentage_CountsDuplicateIngredientsOnce() {
+        // Given - "Rice" listed twice (e.g. for the pot and the garnish), as "Rice" and "rice"
+        testRecipe.getIngredients().add(Ingredient.builder().id(4L).name("rice").recipe(testRecipe).build());
+        when(recipeRepository.findById(1L)).thenReturn(Optional.of(testRecipe));
+
+        // When
+        Double matchPercentage = recipeSearchService.calculateMatchPercentage(1L, Arrays.asList("Chicken", "Rice"));
+
+        // Then - same 2 of 3 distinct ingredients the index scores with
+        assertEquals(66.67, matchPercentage, 0.01);
+    }
+
     @Test
     void testGetMissingIngredients() {
         // Given
@@ -295,4 +342,178 @@ class RecipeSearchServiceTest {
         assertEquals(0.0, matchPercentage);
         verify(recipeRepository).findById(999L);
     }
+
+    @Test
+    void testFindRecipesByIngredients_LoadsOnlyRequestedPage() {
+        // Given - a second published recipe that only needs rice
+        Recipe riceRecipe = Recipe.builder()
+                .id(2L)
+                .title("Plain Rice")
+                .isPublished(true)
+                .user(testUser)
+                .viewCount(5L)
+                .createdAt(LocalDateTime.now())
+                .ingredients(new ArrayList<>())
+                .images(new ArrayList<>())
+                .categories(new HashSet<>())
+                .build();
+        riceRecipe.getIngredients().add(Ingredient.builder().id(4L).name("Rice").recipe(riceRecipe).build());
+
+        when(recipeRepository.findPublishedRecipeIds()).thenReturn(Arrays.asList(1L, 2L));
+        when(ingredientRepository.findPublishedRecipeIngredientNames()).thenReturn(Arrays.asList(
+                new Object[]{1L, "chicken"},
+                new Object[]{1L, "rice"},
+                new Object[]{1L, "onion"},
+                new Object[]{2L, "rice"}));
+        when(recipeRepository.findPublishedRecipeCategoryIds()).thenReturn(Collections.emptyList());
+        when(recipeRepository.findAllById(Arrays.asList(2L))).thenReturn(Arrays.asList(riceRecipe));
+
+        RecipeSearchRequest searchRequest = new RecipeSearchRequest();
+        searchRequest.setAvailableIngredients(Arrays.asList("Rice"));
+
+        // When - page size 1, so only the best match is materialized
+        Page<RecipeMatchDTO> result = recipeSearchService.findRecipesByIngredients(searchRequest, PageRequest.of(0, 1));
+
+        // Then
+        assertEquals(2, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        assertEquals(2L, result.getContent().get(0).getId());
+        assertEquals(100.0, result.getContent().get(0).getMatchPercentage());
+        verify(recipeRepository, never()).findAll();
+        verify(recipeRepository).findAllById(Arrays.asList(2L));
+    }
+
+    @Test
+    void testFindRecipesByIngredients_SecondPageFromTopK() {
+        // Given - three rice recipes with 1, 2 and 3 ingredients
+        when(recipeRepository.findPublishedRecipeIds()).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(ingredientRepository.findPublishedRecipeIngredientNames()).thenReturn(Arrays.asList(
+                new Object[]{1L, "rice"},
+                new Object[]{2L, "rice"},
+                new Object[]{2L, "salt"},
+                new Object[]{3L, "rice"},
+                new Object[]{3L, "salt"},
+                new Object[]{3L, "onion"}));
+        when(recipeRepository.findPublishedRecipeCategoryIds()).thenReturn(Collections.emptyList());
+        Recipe secondRecipe = Recipe.builder()
+                .id(2L)
+                .title("Salted Rice")
+                .isPublished(true)
+                .user(testUser)
+                .ingredients(new ArrayList<>())
+                .images(new ArrayList<>())
+                .categories(new HashSet<>())
+                .build();
+        when(recipeRepository.findAllById(Arrays.asList(2L))).thenReturn(Arrays.asList(secondRecipe));
+
+        RecipeSearchRequest searchRequest = new RecipeSearchRequest();
+        searchRequest.setAvailableIngredients(Arrays.asList("Rice"));
+
+        // When - second page of size 1
+        Page<RecipeMatchDTO> result = recipeSearchService.findRecipesByIngredients(searchRequest, PageRequest.of(1, 1));
+
+        // Then - 100% > 50% > 33%, so recipe 2 is the second best
+        assertEquals(3, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        assertEquals(2L, result.getContent().get(0).getId());
+        verify(recipeRepository).findAllById(Arrays.asList(2L));
+    }
+
+    @Test
+    void testFindRecipesByIngredients_SortsByRatingFromTheIndex() {
+        // Given - three rice recipes rated 4.0, unrated and 5.0
+        when(recipeRepository.findPublishedRecipeIds()).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(recipeRepository.findPublishedSortKeys()).thenReturn(Arrays.asList(
+                new Object[]{1L, 4.0, 10L, LocalDateTime.now()},
+                new Object[]{2L, null, 20L, LocalDateTime.now()},
+                new Object[]{3L, 5.0, 30L, LocalDateTime.now()}));
+        when(ingredientRepository.findPublishedRecipeIngredientNames()).thenReturn(Arrays.asList(
+                new Object[]{1L, "rice"},
+                new Object[]{2L, "rice"},
+                new Object[]{3L, "rice"}));
+        when(recipeRepository.findPublishedRecipeCategoryIds()).thenReturn(Collections.emptyList());
+        when(recipeRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Recipe> recipes = new ArrayList<>();
+            for (Long id : invocation.<List<Long>>getArgument(0)) {
+                recipes.add(Recipe.builder()
+                        .id(id)
+                        .title("Rice " + id)
+                        .user(testUser)
+                        .ingredients(new ArrayList<>())
+                        .images(new ArrayList<>())
+                        .categories(new HashSet<>())
+                        .build());
+            }
+            return recipes;
+        });
+
+        RecipeSearchRequest searchRequest = new RecipeSearchRequest();
+        searchRequest.setAvailableIngredients(Arrays.asList("Rice"));
+        searchRequest.setSortBy("rating");
+
+        // When - searched twice
+        recipeSearchService.findRecipesByIngredients(searchRequest, PageRequest.of(0, 10));
+        Page<RecipeMatchDTO> result = recipeSearchService.findRecipesByIngredients(searchRequest, PageRequest.of(0, 10));
+
+        // Then - best rated first, unrated last, and the keys were read once when the index was built
+        assertEquals(Arrays.asList(3L, 1L, 2L), result.getContent().stream().map(RecipeMatchDTO::getId).toList());
+        verify(recipeRepository, times(1)).findPublishedSortKeys();
+    }
+
+    @Test
+    void testFindRecipesByIngredients_MatchesPluralAndAccentVariants() {
+        // Given
+        givenIndexedTestRecipe();
+
+        RecipeSearchRequest searchRequest = new RecipeSearchRequest();
+        searchRequest.setAvailableIngredients(Arrays.asList(" Chickens", "RICE", "Onións"));
+
+        // When
+        Page<RecipeMatchDTO> result = recipeSearchService.findRecipesByIngredients(searchRequest, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        assertEquals(100.0, result.getContent().get(0).getMatchPercentage());
+    }
+
+    @Test
+    void testFindRecipesByIngredients_CategoryFilter() {
+        // Given - the test recipe belongs to category 1 only
+        givenIndexedTestRecipe();
+
+        RecipeSearchRequest searchRequest = new RecipeSearchRequest();
+        searchRequest.setAvailableIngredients(Arrays.asList("Chicken"));
+        searchRequest.setCategoryIds(Arrays.asList(2L));
+
+        // When
+        Page<RecipeMatchDTO> result = recipeSearchService.findRecipesByIngredients(searchRequest, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(0, result.getTotalElements());
+        verify(recipeRepository, never()).findAllById(any());
+    }
+
+    private void givenIndexedIngredientCatalog() {
+        when(recipeRepository.findPublishedRecipeIds()).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(ingredientRepository.findPublishedRecipeIngredientNames()).thenReturn(Arrays.asList(
+                new Object[]{1L, "chicken"},
+                new Object[]{1L, "rice"},
+                new Object[]{1L, "onion"},
+                new Object[]{2L, "chicken"},
+                new Object[]{2L, "rice"},
+                new Object[]{3L, "cherry tomato"},
+                new Object[]{3L, "rice"}));
+        when(recipeRepository.findPublishedRecipeCategoryIds()).thenReturn(Collections.emptyList());
+    }
+
+    private void givenIndexedTestRecipe() {
+        lenient().when(recipeRepository.findPublishedRecipeIds()).thenReturn(Arrays.asList(1L));
+        lenient().when(ingredientRepository.findPublishedRecipeIngredientNames()).thenReturn(Arrays.asList(
+                new Object[]{1L, "chicken"},
+                new Object[]{1L, "rice"},
+                new Object[]{1L, "onion"}));
+        lenient().when(recipeRepository.findPublishedRecipeCategoryIds()).thenReturn(Collections.singletonList(
+                new Object[]{1L, 1L}));
+        lenient().when(recipeRepository.findAllById(Arrays.asList(1L))).thenReturn(Arrays.asList(testRecipe));
+    }
 }
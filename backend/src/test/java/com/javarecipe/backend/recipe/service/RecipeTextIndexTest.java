@@ -0,0 +1,143 @@
+package com.javarecipe.backend.recipe.service;
+
+import com.javarecipe.backend.recipe.repository.IngredientRepository;
+import com.javarecipe.backend.recipe.repository.InstructionRepository;
+import com.javarecipe.backend.recipe.repository.RecipeRepository;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeTextIndexTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private InstructionRepository instructionRepository;
+
+    @TempDir
+    Path indexDirectory;
+
+    private RecipeTextIndex recipeTextIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recipeTextIndex = new RecipeTextIndex(recipeRepository, ingredientRepository, instructionRepository,
+                indexDirectory.toString());
+        recipeTextIndex.open();
+
+        when(recipeRepository.findPublishedTextAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(
+                new Object[]{1L, "Tomato Soup", "A warm soup"},
+                new Object[]{2L, "Garden Salad", "Fresh greens with a few tomatoes"},
+                new Object[]{3L, "Baked Chicken", "Crispy and juicy"}));
+        when(ingredientRepository.findNamesByRecipeIds(anyCollection())).thenReturn(Arrays.asList(
+                new Object[]{1L, "Tomatoes"},
+                new Object[]{2L, "Lettuce"},
+                new Object[]{3L, "Chicken thighs"}));
+        when(instructionRepository.findDescriptionsByRecipeIds(anyCollection())).thenReturn(Collections.singletonList(
+                new Object[]{3L, "Bake until golden"}));
+
+        recipeTextIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        recipeTextIndex.close();
+    }
+
+    @Test
+    void testSearch_StemsAndRanksTitleMatchesFirst() {
+        // When
+        RecipeTextIndex.SearchHits hits = recipeTextIndex.search("tomatoes", 0, 10);
+
+        // Then
+        assertTrue(recipeTextIndex.isReady());
+        assertEquals(2, hits.totalHits());
+        assertEquals(Arrays.asList(1L, 2L), hits.recipeIds());
+    }
+
+    @Test
+    void testSearch_MatchesIngredientsAndInstructions() {
+        assertEquals(Collections.singletonList(3L), recipeTextIndex.search("baking", 0, 10).recipeIds());
+        assertEquals(Collections.singletonList(3L), recipeTextIndex.search("thigh", 0, 10).recipeIds());
+    }
+
+    @Test
+    void testSearch_PagesAndIgnoresQuerySyntax() {
+        // When
+        RecipeTextIndex.SearchHits secondPage = recipeTextIndex.search("tomato", 1, 1);
+
+        // Then
+        assertEquals(2, secondPage.totalHits());
+        assertEquals(Collections.singletonList(2L), secondPage.recipeIds());
+        assertEquals(Collections.singletonList(1L), recipeTextIndex.search("soup AND (", 0, 10).recipeIds());
+    }
+
+    @Test
+    void testSearch_ClampsPageToTheIndexAndRejectsPagesPastIt() {
+        // A page far larger than the index collects at most every document
+        RecipeTextIndex.SearchHits hits = recipeTextIndex.search("tomato", 0, Integer.MAX_VALUE);
+        assertEquals(Arrays.asList(1L, 2L), hits.recipeIds());
+        assertEquals(2, hits.totalHits());
+
+        assertTrue(recipeTextIndex.search("tomato", 2, 10).recipeIds().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> recipeTextIndex.search("tomato", 3, 10));
+        assertThrows(IllegalArgumentException.class, () -> recipeTextIndex.search("tomato", Long.MAX_VALUE - 5, 10));
+    }
+
+    @Test
+    void testRefreshRecipe_SearchableAtOnceAndCommittedLater() throws Exception {
+        // Given
+        when(recipeRepository.findPublishedTextById(4L)).thenReturn(Collections.singletonList(
+                new Object[]{4L, "Tomato Tart", "Flaky pastry"}));
+
+        // When
+        recipeTextIndex.refreshRecipe(4L);
+
+        // Then - searchable right away, on disk only after the periodic commit
+        assertTrue(recipeTextIndex.search("tomato", 0, 10).recipeIds().contains(4L));
+        assertEquals(3, committedDocs());
+        recipeTextIndex.commitPending();
+        assertEquals(4, committedDocs());
+    }
+
+    @Test
+    void testRefreshRecipe_RemovesUnpublishedRecipe() {
+        // Given
+        when(recipeRepository.findPublishedTextById(1L)).thenReturn(List.of());
+
+        // When
+        recipeTextIndex.refreshRecipe(1L);
+
+        // Then
+        assertEquals(Collections.singletonList(2L), recipeTextIndex.search("tomato", 0, 10).recipeIds());
+    }
+
+    private int committedDocs() throws Exception {
+        try (Directory directory = FSDirectory.open(indexDirectory);
+             DirectoryReader reader = DirectoryReader.open(directory)) {
+            return reader.numDocs();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.javarecipe.backend.recipe.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeViewCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecipeViewCounter recipeViewCounter;
+
+    @BeforeEach
+    void setUp() {
+        recipeViewCounter = new RecipeViewCounter(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_WritesOneBatchOfRelativeIncrements() {
+        recipeViewCounter.recordView(1L);
+        recipeViewCounter.recordView(1L);
+        recipeViewCounter.recordView(2L);
+
+        assertEquals(2, recipeViewCounter.flush());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(RecipeViewCounter.INCREMENT_SQL), batch.capture());
+        assertEquals(Map.of(1L, 2L, 2L, 1L), increments(batch.getValue()));
+        // The whole batch commits or rolls back together
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+        assertEquals(0, recipeViewCounter.flush());
+    }
+
+    @Test
+    void testFlush_NothingPendingSkipsDatabase() {
+        assertEquals(0, recipeViewCounter.flush());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_FailureRollsBackAndKeepsViewsForNextFlush() {
+        when(jdbcTemplate.batchUpdate(eq(RecipeViewCounter.INCREMENT_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(new int[]{1});
+        recipeViewCounter.recordView(1L);
+        recipeViewCounter.recordView(1L);
+
+        assertEquals(0, recipeViewCounter.flush());
+        verify(transactionManager).rollback(any());
+
+        recipeViewCounter.recordView(1L);
+        assertEquals(1, recipeViewCounter.flush());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(RecipeViewCounter.INCREMENT_SQL), batch.capture());
+        assertEquals(Map.of(1L, 3L), increments(batch.getAllValues().get(1)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordView_ConcurrentViewsAreNotLost() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> recipeViewCounter.recordView(7L));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, recipeViewCounter.flush());
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(RecipeViewCounter.INCREMENT_SQL), batch.capture());
+        assertEquals(Map.of(7L, 10_000L), increments(batch.getValue()));
+    }
+
+    @Test
+    void testFlush_ConcurrentWithViewsLosesNothing() throws Exception {
+        AtomicLong flushed = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(eq(RecipeViewCounter.INCREMENT_SQL), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            for (Object[] row : batch) {
+                flushed.addAndGet((Long) row[0]);
+            }
+            return new int[batch.size()];
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean done = new AtomicBoolean();
+        Future<?> flusher = executor.submit(() -> {
+            while (!done.get()) {
+                recipeViewCounter.flush();
+            }
+        });
+        List<Future<?>> viewers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            long id = t;
+            viewers.add(executor.submit(() -> {
+                // One row per viewer with gaps, so entries keep going idle and being dropped by the flusher
+                for (int i = 0; i < 100_000; i++) {
+                    recipeViewCounter.recordView(id);
+                    if (i % 64 == 0) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (Future<?> viewer : viewers) {
+            viewer.get(30, TimeUnit.SECONDS);
+        }
+        done.set(true);
+        flusher.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+        recipeViewCounter.flush();
+
+        assertEquals(300_000, flushed.get());
+    }
+
+    private static Map<Long, Long> increments(List<Object[]> batch) {
+        Map<Long, Long> increments = new HashMap<>();
+        for (Object[] row : batch) {
+            increments.put((Long) row[1], (Long) row[0]);
+        }
+        return increments;
+    }
+}